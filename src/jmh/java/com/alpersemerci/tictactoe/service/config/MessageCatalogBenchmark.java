@@ -0,0 +1,48 @@
+package com.alpersemerci.tictactoe.service.config;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.text.MessageFormat;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks a turn prompt of command line menu: looking up its pattern and formatting it with {@link MessageFormat}
+ * against rendering precompiled template of {@link MessageCatalog} into a reused buffer.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MessageCatalogBenchmark {
+
+    private static final String KEY = "player.turn.message";
+
+    private static final String PARAMETER = "X";
+
+    private final ConfigService configService = ConfigService.getInstance();
+
+    private final MessageCatalog messageCatalog = MessageCatalog.getInstance();
+
+    private final StringBuilder buffer = new StringBuilder();
+
+    @Benchmark
+    public String formatWithMessageFormat() {
+        return MessageFormat.format(configService.getConfigValue(KEY), PARAMETER);
+    }
+
+    @Benchmark
+    public int renderFromCatalog() {
+        buffer.setLength(0);
+        return messageCatalog.render(KEY, buffer, PARAMETER).length();
+    }
+}
@@ -0,0 +1,60 @@
+package com.alpersemerci.tictactoe.service.game;
+
+import com.alpersemerci.tictactoe.model.Cell;
+import com.alpersemerci.tictactoe.model.Game;
+import com.alpersemerci.tictactoe.model.Player;
+import com.alpersemerci.tictactoe.model.PlayerType;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Builds reproducible benchmark positions. A game of given size is filled to given percentage with moves picked by
+ * a seeded random generator, moves finishing the game are skipped, so every position is still playable.
+ */
+public final class BenchmarkGames {
+
+    public static final long SEED = 20181018L;
+
+    private BenchmarkGames() {
+    }
+
+    /**
+     * Creates a human vs AI game filled with random moves.
+     *
+     * @param gameService
+     * @param boardSize
+     * @param fillPercent
+     * @return game
+     */
+    public static Game create(GameService gameService, int boardSize, int fillPercent) throws Exception {
+        Game game = gameService.createGame(boardSize);
+        gameService.addPlayerToGame(game, new Player(PlayerType.HUMAN, 'X'));
+        gameService.addPlayerToGame(game, new Player(PlayerType.AI, 'O'));
+
+        BoardService boardService = new BoardService();
+        Random random = new Random(SEED + boardSize * 100 + fillPercent);
+        int moves = boardSize * boardSize * fillPercent / 100;
+
+        while (game.getCurrentTurn() < moves) {
+            List<Cell> cells = boardService.getAvailableCells(game.getBoard());
+            boolean played = false;
+
+            while (!cells.isEmpty() && !played) {
+                Cell cell = cells.remove(random.nextInt(cells.size()));
+                gameService.play(game, cell);
+                if (gameService.isGameOver(game)) {
+                    gameService.undo(game, cell);
+                } else {
+                    played = true;
+                }
+            }
+
+            if (!played) {
+                break;
+            }
+        }
+
+        return game;
+    }
+}
@@ -0,0 +1,76 @@
+package com.alpersemerci.tictactoe.service.game;
+
+import com.alpersemerci.tictactoe.model.Cell;
+import com.alpersemerci.tictactoe.model.Game;
+import com.alpersemerci.tictactoe.model.Player;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of board and game service operations on reproducible positions.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameServiceBenchmark {
+
+    @Param({"3", "4", "5", "6", "7", "8", "9", "10"})
+    private int boardSize;
+
+    @Param({"0", "25", "50", "75"})
+    private int fillPercent;
+
+    private BoardService boardService;
+
+    private GameService gameService;
+
+    private Game game;
+
+    private Cell lastCell;
+
+    private Player lastPlayer;
+
+    @Setup
+    public void setUp() throws Exception {
+        boardService = new BoardService();
+        gameService = new GameService(boardService);
+        game = BenchmarkGames.create(gameService, boardSize, fillPercent);
+        lastCell = new Cell(boardSize / 2, boardSize / 2);
+        lastPlayer = game.getPlayerList().get(0);
+    }
+
+    @Benchmark
+    public Boolean isGameOver() {
+        return gameService.isGameOver(game);
+    }
+
+    @Benchmark
+    public Boolean isWinnerMove() {
+        return gameService.isWinnerMove(game, lastCell, lastPlayer);
+    }
+
+    @Benchmark
+    public List<Cell> getAvailableCells() {
+        return boardService.getAvailableCells(game.getBoard());
+    }
+
+    @Benchmark
+    public String printBoard() {
+        return boardService.printBoard(game.getBoard());
+    }
+}
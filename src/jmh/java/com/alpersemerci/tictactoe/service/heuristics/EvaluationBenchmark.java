@@ -0,0 +1,93 @@
+package com.alpersemerci.tictactoe.service.heuristics;
+
+import com.alpersemerci.tictactoe.model.Board;
+import com.alpersemerci.tictactoe.model.Game;
+import com.alpersemerci.tictactoe.service.game.BenchmarkGames;
+import com.alpersemerci.tictactoe.service.game.BoardService;
+import com.alpersemerci.tictactoe.service.game.GameService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of alpha beta board evaluation on reproducible positions. Compares reading incremental evaluation,
+ * updating it for a move and unmove, and evaluating whole board from scratch.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EvaluationBenchmark {
+
+    @Param({"3", "4", "5", "6", "7", "8", "9", "10"})
+    private int boardSize;
+
+    @Param({"0", "25", "50", "75"})
+    private int fillPercent;
+
+    private AlphaBetaPruningHeuristicStrategy strategy;
+
+    private AlphaBetaPruningHeuristicStrategy.SearchState state;
+
+    private BoardService boardService;
+
+    private Board board;
+
+    private int[] slots;
+
+    private BoardEvaluator evaluator;
+
+    private int move;
+
+    @Setup
+    public void setUp() throws Exception {
+        boardService = new BoardService();
+        GameService gameService = new GameService(boardService);
+        strategy = new AlphaBetaPruningHeuristicStrategy(boardService, gameService, new TranspositionTable(2));
+        Game game = BenchmarkGames.create(gameService, boardSize, fillPercent);
+        state = strategy.newSearchState(game);
+
+        board = game.getBoard();
+        slots = new int[game.getPlayerList().size()];
+        for (int p = 0; p < slots.length; p++) {
+            slots[p] = boardService.getPlayerSlot(board, game.getPlayerList().get(p));
+        }
+        evaluator = new BoardEvaluator(board, slots);
+        move = boardService.getAvailableCells(board).get(0).getRow() * boardSize
+                + boardService.getAvailableCells(board).get(0).getColumn();
+    }
+
+    @Benchmark
+    public long evaluateBoard() {
+        return strategy.evaluate(state);
+    }
+
+    @Benchmark
+    public long updateForMoveAndUnmove() {
+        evaluator.removeLines(move);
+        boardService.makeMove(board, move, slots[0]);
+        evaluator.addLines(move);
+        long score = evaluator.getScore(0);
+        evaluator.removeLines(move);
+        boardService.unmakeMove(board, move, slots[0]);
+        evaluator.addLines(move);
+        return score;
+    }
+
+    @Benchmark
+    public BoardEvaluator evaluateFromScratch() {
+        return new BoardEvaluator(board, slots);
+    }
+}
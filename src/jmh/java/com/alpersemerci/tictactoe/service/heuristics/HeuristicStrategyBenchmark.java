@@ -0,0 +1,89 @@
+package com.alpersemerci.tictactoe.service.heuristics;
+
+import com.alpersemerci.tictactoe.model.Cell;
+import com.alpersemerci.tictactoe.model.Game;
+import com.alpersemerci.tictactoe.service.game.BenchmarkGames;
+import com.alpersemerci.tictactoe.service.game.BoardService;
+import com.alpersemerci.tictactoe.service.game.GameService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of HeuristicStrategy.getMove for every strategy implementation on reproducible positions.
+ * Alpha beta search runs to a fixed depth without time budget and starts every invocation with an empty
+ * transposition table, so results don't depend on machine speed or previous invocations.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HeuristicStrategyBenchmark {
+
+    @Param({"RANDOM", "STAY_CLOSE_TO_CENTER", "ALPHA_BETA"})
+    private String strategyName;
+
+    @Param({"3", "4", "5", "6", "7", "8", "9", "10"})
+    private int boardSize;
+
+    @Param({"0", "25", "50", "75"})
+    private int fillPercent;
+
+    @Param({"3"})
+    private int searchDepth;
+
+    private Game game;
+
+    private HeuristicStrategy strategy;
+
+    private TranspositionTable transpositionTable;
+
+    @Setup
+    public void setUp() throws Exception {
+        BoardService boardService = new BoardService();
+        GameService gameService = new GameService(boardService);
+        game = BenchmarkGames.create(gameService, boardSize, fillPercent);
+
+        switch (strategyName) {
+            case "RANDOM":
+                strategy = new RandomHeuristicStrategy(boardService);
+                break;
+            case "STAY_CLOSE_TO_CENTER":
+                strategy = new StayCloseToCenterHeuristicStrategy(boardService);
+                break;
+            default:
+                transpositionTable = new TranspositionTable(1 << 16);
+                AlphaBetaPruningHeuristicStrategy alphaBeta = new AlphaBetaPruningHeuristicStrategy(boardService, gameService, transpositionTable);
+                alphaBeta.setTimeBudgetMillis(0);
+                alphaBeta.setNodeBudget(0);
+                alphaBeta.setMaxDepth(searchDepth);
+                alphaBeta.setForkJoinPool(null);
+                strategy = alphaBeta;
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void clearTranspositionTable() {
+        if (transpositionTable != null) {
+            transpositionTable.clear();
+        }
+    }
+
+    @Benchmark
+    public Cell getMove() throws Exception {
+        return strategy.getMove(game);
+    }
+}
@@ -0,0 +1,129 @@
+package com.alpersemerci.tictactoe.service.menu;
+
+import com.alpersemerci.tictactoe.model.Board;
+import com.alpersemerci.tictactoe.model.Game;
+import com.alpersemerci.tictactoe.service.game.BenchmarkGames;
+import com.alpersemerci.tictactoe.service.game.BoardService;
+import com.alpersemerci.tictactoe.service.game.GameService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks a dashboard frame of many live 10x10 boards where every board changes by a single move: printing every
+ * board as text against diff based ANSI rendering. Output goes to a stream which only counts bytes.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BoardRendererBenchmark {
+
+    private static final int BOARD_SIZE = 10;
+
+    @Param({"100", "500"})
+    private int boards;
+
+    private BoardService boardService;
+
+    private Board[] boardList;
+
+    private int[] moves;
+
+    private CountingOutputStream output;
+
+    private AnsiBoardRenderer renderer;
+
+    private AnsiBoardRenderer.View[] views;
+
+    private boolean moved;
+
+    @Setup
+    public void setUp() throws Exception {
+        boardService = new BoardService();
+        GameService gameService = new GameService(boardService);
+        boardList = new Board[boards];
+        moves = new int[boards];
+        output = new CountingOutputStream();
+        renderer = new AnsiBoardRenderer(output);
+        views = new AnsiBoardRenderer.View[boards];
+
+        for (int i = 0; i < boards; i++) {
+            Game game = BenchmarkGames.create(gameService, BOARD_SIZE, 25 + i % 50);
+            boardList[i] = game.getBoard();
+            moves[i] = boardService.nextAvailableCell(boardList[i], (i * 7) % (BOARD_SIZE * BOARD_SIZE));
+            if (moves[i] < 0) {
+                moves[i] = boardService.nextAvailableCell(boardList[i], 0);
+            }
+            views[i] = renderer.createView((i / 8) * AnsiBoardRenderer.getHeight(BOARD_SIZE),
+                    (i % 8) * AnsiBoardRenderer.getWidth(BOARD_SIZE), BOARD_SIZE);
+            renderer.draw(views[i], boardList[i]);
+        }
+        renderer.flush();
+    }
+
+    @Benchmark
+    public long printBoards() throws IOException {
+        toggleMoves();
+        for (Board board : boardList) {
+            byte[] text = boardService.printBoard(board).getBytes(StandardCharsets.UTF_8);
+            output.write(text, 0, text.length);
+        }
+        output.flush();
+        return output.count;
+    }
+
+    @Benchmark
+    public long renderChangedCells() throws IOException {
+        toggleMoves();
+        for (int i = 0; i < boards; i++) {
+            renderer.draw(views[i], boardList[i]);
+        }
+        renderer.flush();
+        return output.count;
+    }
+
+    /**
+     * Plays a move on every board on one frame and takes it back on next one.
+     */
+    private void toggleMoves() {
+        for (int i = 0; i < boards; i++) {
+            if (moved) {
+                boardService.unmakeMove(boardList[i], moves[i], 0);
+            } else {
+                boardService.makeMove(boardList[i], moves[i], 0);
+            }
+        }
+        moved = !moved;
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
@@ -5,18 +5,28 @@ import com.alpersemerci.tictactoe.model.Cell;
 import com.alpersemerci.tictactoe.model.Game;
 import com.alpersemerci.tictactoe.model.Player;
 import com.alpersemerci.tictactoe.model.PlayerType;
+import com.alpersemerci.tictactoe.service.config.ConfigService;
 import com.alpersemerci.tictactoe.service.game.BoardService;
+import com.alpersemerci.tictactoe.service.game.CellPool;
 import com.alpersemerci.tictactoe.service.game.GameService;
 import com.alpersemerci.tictactoe.service.heuristics.AlphaBetaPruningHeuristicStrategy;
 import com.alpersemerci.tictactoe.service.heuristics.HeuristicStrategy;
+import com.alpersemerci.tictactoe.service.heuristics.MonteCarloTreeSearchHeuristicStrategy;
+import com.alpersemerci.tictactoe.service.heuristics.PonderingHeuristicStrategy;
 import com.alpersemerci.tictactoe.service.heuristics.RandomHeuristicStrategy;
+import com.alpersemerci.tictactoe.service.heuristics.SolvedPositionHeuristicStrategy;
 import com.alpersemerci.tictactoe.service.heuristics.StayCloseToCenterHeuristicStrategy;
+import com.alpersemerci.tictactoe.service.heuristics.TablebaseHeuristicStrategy;
 import com.alpersemerci.tictactoe.service.menu.CommandLineInterfaceGameMenu;
 import com.alpersemerci.tictactoe.service.menu.GameMenu;
+import com.alpersemerci.tictactoe.service.record.GameRecordWriter;
 import lombok.extern.slf4j.Slf4j;
 
+import java.io.IOException;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 @Slf4j
 public class TicTacToeApp {
@@ -35,7 +45,7 @@ public class TicTacToeApp {
 
     private static Game game;
 
-    public static void main(String[] args) throws InvalidBoardSizeException, GameAlreadyStartedException, NoPlayerInGameException, InvalidMoveException, InterruptedException {
+    public static void main(String[] args) throws InvalidBoardSizeException, InvalidWinLengthException, GameAlreadyStartedException, NoPlayerInGameException, InvalidMoveException, InterruptedException {
 
         //Game setup and game play flow
         selectUserInterface();
@@ -61,6 +71,16 @@ public class TicTacToeApp {
         //and action...
         startGame();
 
+        //Game is over, nothing to ponder
+        if (strategy instanceof PonderingHeuristicStrategy) {
+            ((PonderingHeuristicStrategy) strategy).shutdown();
+        }
+
+        //Archive finished game
+        recordGame();
+
+        menu.close();
+
     }
 
     /**
@@ -93,12 +113,16 @@ public class TicTacToeApp {
     }
 
     /**
-     * Initializes game from user inputs
+     * Initializes game from user inputs. Win length is read from configuration, 0 means a full row, column or
+     * diagonal wins.
      *
      * @throws InvalidBoardSizeException
+     * @throws InvalidWinLengthException
      */
-    public static void createGame() throws InvalidBoardSizeException {
-        game = gameService.createGame(boardSize);
+    public static void createGame() throws InvalidBoardSizeException, InvalidWinLengthException {
+        int winLength = (int) ConfigService.getInstance().getConfigValue("game.win.length", 0L);
+        game = winLength > 0 ? gameService.createGame(boardSize, Math.min(winLength, boardSize)) : gameService.createGame(boardSize);
+        menu.showMessage("win.length.message", game.getBoard().getWinLength().toString());
     }
 
     /**
@@ -123,7 +147,7 @@ public class TicTacToeApp {
      * Decides AI strategy. Please @see HeuristicStrategy implementations for different AI strategies.
      */
     public static void selectAiGameStrategy() {
-        Integer strategyIdx = menu.getInput("ai.strategy.input", Integer::parseInt, i -> i > 0 && i < 4);
+        Integer strategyIdx = menu.getInput("ai.strategy.input", Integer::parseInt, i -> i > 0 && i < 5);
 
         switch (strategyIdx) {
             case 1:
@@ -133,9 +157,20 @@ public class TicTacToeApp {
                 strategy = new StayCloseToCenterHeuristicStrategy(boardService);
                 break;
             case 3:
-                strategy = new AlphaBetaPruningHeuristicStrategy(boardService, gameService);
+                //Tablebase and solved positions are played from disk, others are searched
+                strategy = new TablebaseHeuristicStrategy(boardService,
+                        new SolvedPositionHeuristicStrategy(boardService, new AlphaBetaPruningHeuristicStrategy(boardService, gameService)));
+                break;
+            case 4:
+                strategy = new MonteCarloTreeSearchHeuristicStrategy(boardService);
                 break;
         }
+
+        //Searching strategies think during human turns as well
+        if (strategyIdx > 2 && Boolean.parseBoolean(Optional.ofNullable(ConfigService.getInstance()
+                .getConfigValue("ai.pondering")).orElse("false").trim())) {
+            strategy = new PonderingHeuristicStrategy(strategy, boardService, gameService);
+        }
     }
 
 
@@ -156,15 +191,17 @@ public class TicTacToeApp {
 
             switch (player.getType()) {
                 case HUMAN:
+                    ponder();
 
                     Cell cell = menu.getInput("player.move.input", s -> {
                         String[] coordinates = s.split(",");
-                        Integer row = Integer.valueOf(coordinates[0].trim());
-                        Integer column = Integer.valueOf(coordinates[1].trim());
-                        return new Cell(row, column);
+                        int row = Integer.parseInt(coordinates[0].trim());
+                        int column = Integer.parseInt(coordinates[1].trim());
+                        return CellPool.of(game.getBoard().getSize()).get(row, column);
                     }, c -> gameService.isCellAvailableForPlay(game, c));
 
                     if (gameService.play(game, cell)) {
+                        menu.updateBoard(game.getBoard());
                         menu.showMessage("player.wins", player.toString());
                         return;
                     }
@@ -178,6 +215,7 @@ public class TicTacToeApp {
                     try {
                         move = strategy.getMove(game);
                         if (gameService.play(game, move)) {
+                            menu.updateBoard(game.getBoard());
                             menu.showMessage("player.wins", player.toString());
                             return;
                         }
@@ -188,9 +226,9 @@ public class TicTacToeApp {
                     break;
             }
 
-            menu.updateBoard(game.getBoard());
-
+            //Board is printed once per turn, at start of next turn or when game is over
             if (gameService.isGameOver(game)) {
+                menu.updateBoard(game.getBoard());
                 menu.showMessage("game.over", player.toString());
                 return;
             }
@@ -198,6 +236,35 @@ public class TicTacToeApp {
         }
     }
 
+    /**
+     * Starts pondering of AI on current game if AI plays after current human player.
+     */
+    private static void ponder() {
+        if (strategy instanceof PonderingHeuristicStrategy) {
+            List<Player> playerList = game.getPlayerList();
+            Player nextPlayer = playerList.get((game.getCurrentTurn() + 1) % playerList.size());
+            if (nextPlayer.getType() == PlayerType.AI) {
+                ((PonderingHeuristicStrategy) strategy).ponder(game);
+            }
+        }
+    }
+
+    /**
+     * Appends finished game to game record file configured by game.record.file, nothing is recorded if it isn't set.
+     */
+    public static void recordGame() {
+        String recordFile = ConfigService.getInstance().getConfigValue("game.record.file");
+        if (recordFile == null || recordFile.trim().isEmpty()) {
+            return;
+        }
+
+        try (GameRecordWriter writer = new GameRecordWriter(Paths.get(recordFile.trim()), gameService)) {
+            writer.append(game);
+        } catch (IOException e) {
+            log.error("[GAME_RECORD] [APPEND_ERROR] [FILE={}]", recordFile, e);
+        }
+    }
+
     public static void setMenu(GameMenu menu) {
         TicTacToeApp.menu = menu;
     }
@@ -0,0 +1,11 @@
+package com.alpersemerci.tictactoe.exception;
+
+/**
+ * InvalidWinLengthException indicates a game creation attempt with a win length which doesn't fit the board.
+ */
+public class InvalidWinLengthException extends Exception {
+
+    public InvalidWinLengthException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package com.alpersemerci.tictactoe.exception;
+
+/**
+ * SessionNotFoundException indicates an access attempt to a game session which doesn't exist or has expired.
+ */
+public class SessionNotFoundException extends Exception {
+
+    public SessionNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -2,20 +2,62 @@ package com.alpersemerci.tictactoe.model;
 
 import lombok.Data;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Represents board state during game play.
+ * <p>
+ * Board is stored as bitboards. Cell (row, column) is bit {@code row * size + column}, so a board up to 8x8 fits
+ * in a single long word and 9x9 or 10x10 boards use two words. Every player registered on board owns one bitmask,
+ * occupied bits are the union of all player bitmasks.
+ * <p>
+ * Board also keeps per player stone counts of every line (every window of win length cells in a row, column or
+ * diagonal), number of completed lines per player and number of empty cells. They are updated on every play and undo, so game over, winner and draw
+ * questions are answered without scanning the board.
+ * <p>
+ * Zobrist hash of board is updated on every play and undo as well. Hashes of the 8 images of board under rotation
+ * and reflection are kept next to it, symmetry hash 0 is identity and always equals hash.
  *
  * @author Alper Semerci
  */
 @Data
 public class Board {
 
-    private Player[][] cells;
-
     private Integer size;
 
+    private Integer winLength;
+
+    private List<Player> players;
+
+    private long[][] playerBits;
+
+    private long[] occupiedBits;
+
+    private int[][] lineCounts;
+
+    private int[] completedLines;
+
+    private int emptyCells;
+
+    private long hash;
+
+    private long[] symmetryHashes;
+
     public Board(Integer size) {
+        this(size, size);
+    }
+
+    public Board(Integer size, Integer winLength) {
+        int words = (size * size + 63) >>> 6;
         this.size = size;
-        this.cells = new Player[size][size];
+        this.winLength = winLength;
+        this.players = new ArrayList<>();
+        this.playerBits = new long[0][words];
+        this.occupiedBits = new long[words];
+        this.lineCounts = new int[0][];
+        this.completedLines = new int[0];
+        this.emptyCells = size * size;
+        this.symmetryHashes = new long[8];
     }
 }
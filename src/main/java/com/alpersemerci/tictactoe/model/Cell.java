@@ -4,7 +4,8 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 
 /**
- * Cell basically a tuple represents row & column.
+ * Cell basically a tuple represents row & column. Cells are immutable, so cells of a board size are shared,
+ * see {@link com.alpersemerci.tictactoe.service.game.CellPool}.
  *
  * @author Alper Semerci
  */
@@ -12,7 +13,7 @@ import lombok.Data;
 @AllArgsConstructor
 public class Cell {
 
-    private Integer row;
+    private final int row;
 
-    private Integer column;
+    private final int column;
 }
@@ -7,6 +7,7 @@ import java.util.List;
 
 /**
  * Represents the game state during game play. Holds game related data lik board, players and current turn.
+ * Cell indexes of played moves are kept in turn order, first current turn entries are the moves of game.
  *
  * @author Alper Semerci
  */
@@ -19,10 +20,17 @@ public class Game {
 
     private Integer currentTurn;
 
+    private byte[] moves;
+
     public Game(Integer boardSize) {
+        this(boardSize, boardSize);
+    }
+
+    public Game(Integer boardSize, Integer winLength) {
         playerList = new ArrayList<>();
-        board = new Board(boardSize);
+        board = new Board(boardSize, winLength);
         currentTurn = 0;
+        moves = new byte[boardSize * boardSize];
     }
 
 }
@@ -2,8 +2,9 @@ package com.alpersemerci.tictactoe.service.config;
 
 import lombok.extern.slf4j.Slf4j;
 
-import java.io.FileInputStream;
+import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.Properties;
 
 /**
@@ -13,6 +14,7 @@ import java.util.Properties;
 public class ConfigService {
 
     private static final String CONFIG_PREFIX = "tictactoe.";
+    private static final String CONFIG_FILE = "config.properties";
     private static final ConfigService instance = new ConfigService();
     private Properties properties;
 
@@ -29,15 +31,26 @@ public class ConfigService {
     }
 
     /**
-     * Transforms config.properties into java properties map.
+     * Transforms config.properties into java properties map. File is read from classpath as a stream,
+     * so it is found in packaged jars as well.
      *
      * @throws IOException
      */
     private void initProperties() throws IOException {
-        String rootPath = Thread.currentThread().getContextClassLoader().getResource("").getPath();
-        String appConfigPath = rootPath + "config.properties";
-        properties = new Properties();
-        properties.load(new FileInputStream(appConfigPath));
+        try (InputStream inputStream = ConfigService.class.getClassLoader().getResourceAsStream(CONFIG_FILE)) {
+            if (inputStream == null) {
+                throw new FileNotFoundException(CONFIG_FILE + " not found on classpath");
+            }
+            properties = new Properties();
+            properties.load(inputStream);
+        }
+    }
+
+    /**
+     * @return loaded properties, null if config file couldn't be read
+     */
+    Properties getProperties() {
+        return properties;
     }
 
     /**
@@ -53,4 +66,38 @@ public class ConfigService {
             return null;
         }
     }
+
+    /**
+     * Returns numeric config value for given key.
+     *
+     * @param key
+     * @param defaultValue
+     * @return config value or default value if it is missing or invalid
+     */
+    public long getConfigValue(String key, long defaultValue) {
+        String value = getConfigValue(key);
+        try {
+            return value != null ? Long.parseLong(value.trim()) : defaultValue;
+        } catch (NumberFormatException e) {
+            log.warn("[CONFIG_SERVICE] [INVALID_CONFIG_VALUE] [KEY={}] [VALUE={}]", key, value);
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Returns decimal config value for given key.
+     *
+     * @param key
+     * @param defaultValue
+     * @return config value or default value if it is missing or invalid
+     */
+    public double getConfigValue(String key, double defaultValue) {
+        String value = getConfigValue(key);
+        try {
+            return value != null ? Double.parseDouble(value.trim()) : defaultValue;
+        } catch (NumberFormatException e) {
+            log.warn("[CONFIG_SERVICE] [INVALID_CONFIG_VALUE] [KEY={}] [VALUE={}]", key, value);
+            return defaultValue;
+        }
+    }
 }
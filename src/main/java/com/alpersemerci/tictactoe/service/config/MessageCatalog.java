@@ -0,0 +1,243 @@
+package com.alpersemerci.tictactoe.service.config;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Catalog of user messages of config.properties. Every {@code tictactoe.*} value is compiled once, when catalog is
+ * created, into a {@link Template} of literal text and argument indexes, so rendering a message is a few appends into
+ * a caller supplied buffer instead of looking up and parsing a pattern with {@link MessageFormat} every time.
+ * <p>
+ * Templates follow {@link MessageFormat} syntax: {@code {n}} inserts n'th parameter and single quotes quote literal
+ * text, {@code ''} being a single quote. Patterns with format types, e.g. {@code {0,choice,...}}, are rendered by a
+ * {@link MessageFormat} compiled once as well. A pattern which can't be parsed or formatted is written as it is.
+ */
+@Slf4j
+public class MessageCatalog {
+
+    private static final String CONFIG_PREFIX = "tictactoe.";
+    private static final MessageCatalog instance = new MessageCatalog(ConfigService.getInstance().getProperties());
+
+    private final Map<String, Template> templates;
+
+    MessageCatalog(Properties properties) {
+        Map<String, Template> compiled = new HashMap<>();
+        if (properties != null) {
+            for (String name : properties.stringPropertyNames()) {
+                if (name.startsWith(CONFIG_PREFIX)) {
+                    compiled.put(name.substring(CONFIG_PREFIX.length()), compile(properties.getProperty(name)));
+                }
+            }
+        }
+        this.templates = Collections.unmodifiableMap(compiled);
+        log.debug("[MESSAGE_CATALOG] [INIT] [TEMPLATES={}]", templates.size());
+    }
+
+    public static MessageCatalog getInstance() {
+        return instance;
+    }
+
+    /**
+     * Appends message of given key as it is written in config, without any formatting. A missing key appends
+     * {@code null}.
+     *
+     * @param key
+     * @param out
+     * @return out
+     */
+    public StringBuilder render(String key, StringBuilder out) {
+        Template template = templates.get(key);
+        return out.append(template != null ? template.pattern : null);
+    }
+
+    /**
+     * Appends message of given key formatted with given parameters. A missing key appends {@code null}.
+     *
+     * @param key
+     * @param out
+     * @param parameters
+     * @return out
+     */
+    public StringBuilder render(String key, StringBuilder out, String... parameters) {
+        Template template = templates.get(key);
+        if (template == null) {
+            return out.append((String) null);
+        }
+        template.render(out, parameters);
+        return out;
+    }
+
+    /**
+     * Returns message of given key formatted with given parameters.
+     *
+     * @param key
+     * @param parameters
+     * @return message
+     */
+    public String format(String key, String... parameters) {
+        return render(key, new StringBuilder(), parameters).toString();
+    }
+
+    /**
+     * @param key
+     * @return true if catalog has a message of given key
+     */
+    public boolean contains(String key) {
+        return templates.containsKey(key);
+    }
+
+    /**
+     * Compiles given {@link MessageFormat} pattern.
+     *
+     * @param pattern
+     * @return template
+     */
+    static Template compile(String pattern) {
+        List<String> literals = new ArrayList<>();
+        List<Integer> arguments = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+            if (c == '\'') {
+                if (i + 1 < pattern.length() && pattern.charAt(i + 1) == '\'') {
+                    literal.append('\'');
+                    i++;
+                } else {
+                    quoted = !quoted;
+                }
+            } else if (c == '{' && !quoted) {
+                int end = pattern.indexOf('}', i);
+                int argument = end > i + 1 ? parseArgument(pattern, i + 1, end) : -1;
+                if (argument < 0) {
+                    return new Template(pattern, fallback(pattern));
+                }
+                literals.add(literal.toString());
+                arguments.add(argument);
+                literal.setLength(0);
+                i = end;
+            } else {
+                literal.append(c);
+            }
+        }
+        literals.add(literal.toString());
+
+        int[] argumentIndexes = new int[arguments.size()];
+        for (int i = 0; i < argumentIndexes.length; i++) {
+            argumentIndexes[i] = arguments.get(i);
+        }
+        return new Template(pattern, literals.toArray(new String[0]), argumentIndexes);
+    }
+
+    /**
+     * Parses argument index between given positions, -1 if it isn't a plain number.
+     */
+    private static int parseArgument(String pattern, int start, int end) {
+        if (end - start > 9) {
+            return -1;
+        }
+        int argument = 0;
+        for (int i = start; i < end; i++) {
+            char c = pattern.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            argument = argument * 10 + c - '0';
+        }
+        return argument;
+    }
+
+    /**
+     * Returns a {@link MessageFormat} of given pattern or null if pattern is invalid, e.g. has unmatched braces.
+     */
+    private static MessageFormat fallback(String pattern) {
+        try {
+            return new MessageFormat(pattern);
+        } catch (IllegalArgumentException e) {
+            log.warn("[MESSAGE_CATALOG] [INVALID_PATTERN] [PATTERN={}]", pattern);
+            return null;
+        }
+    }
+
+    /**
+     * A compiled message pattern, literal text before every argument and after last one. Templates are immutable and
+     * may be rendered by many threads.
+     */
+    static final class Template {
+
+        private final String pattern;
+
+        private final String[] literals;
+
+        private final int[] arguments;
+
+        private final MessageFormat format;
+
+        private Template(String pattern, String[] literals, int[] arguments) {
+            this.pattern = pattern;
+            this.literals = literals;
+            this.arguments = arguments;
+            this.format = null;
+        }
+
+        private Template(String pattern, MessageFormat format) {
+            this.pattern = pattern;
+            this.literals = null;
+            this.arguments = null;
+            this.format = format;
+        }
+
+        /**
+         * Appends template formatted with given parameters, a missing parameter is written as its placeholder like
+         * {@link MessageFormat} does.
+         *
+         * @param out
+         * @param parameters
+         */
+        void render(StringBuilder out, String... parameters) {
+            if (literals == null) {
+                renderFallback(out, parameters);
+                return;
+            }
+
+            for (int i = 0; i < arguments.length; i++) {
+                out.append(literals[i]);
+                int argument = arguments[i];
+                if (argument < parameters.length) {
+                    out.append(parameters[argument]);
+                } else {
+                    out.append('{').append(argument).append('}');
+                }
+            }
+            out.append(literals[arguments.length]);
+        }
+
+        private void renderFallback(StringBuilder out, String... parameters) {
+            if (format == null) {
+                out.append(pattern);
+                return;
+            }
+            //MessageFormat isn't thread safe
+            synchronized (format) {
+                try {
+                    out.append(format.format(parameters));
+                } catch (IllegalArgumentException e) {
+                    log.warn("[MESSAGE_CATALOG] [FORMAT_ERROR] [PATTERN={}]", pattern);
+                    out.append(pattern);
+                }
+            }
+        }
+
+        boolean isCompiled() {
+            return literals != null;
+        }
+    }
+}
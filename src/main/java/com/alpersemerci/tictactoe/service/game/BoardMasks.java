@@ -0,0 +1,218 @@
+package com.alpersemerci.tictactoe.service.game;
+
+import com.alpersemerci.tictactoe.model.Board;
+
+/**
+ * BoardMasks holds precomputed bitboard masks for a board size and win length. Every window of win length
+ * consecutive cells in a row, column, diagonal or reverse diagonal direction is a line and every line has a mask,
+ * so checking a line is a couple of word wise AND operations instead of walking cells one by one. When win length
+ * equals board size lines are simply rows, columns and the two main diagonals.
+ * <p>
+ * Line ids are grouped by direction: row windows, column windows, diagonal windows and reverse diagonal windows,
+ * each group ordered by start cell in row major order. Every cell knows the lines passing through it, so a move
+ * touches only the windows it can complete.
+ * <p>
+ * Masks are immutable and shared, use {@link #of(int, int)} to get masks for a board size and win length.
+ *
+ * @author Alper Semerci
+ */
+public final class BoardMasks {
+
+    private static final int CACHED_SIZES = 11;
+
+    private static final BoardMasks[][] CACHE = new BoardMasks[CACHED_SIZES][];
+
+    static {
+        for (int size = 1; size < CACHED_SIZES; size++) {
+            CACHE[size] = new BoardMasks[size + 1];
+            for (int winLength = 1; winLength <= size; winLength++) {
+                CACHE[size][winLength] = new BoardMasks(size, winLength);
+            }
+        }
+    }
+
+    private final int size;
+
+    private final int winLength;
+
+    private final int cellCount;
+
+    private final int words;
+
+    private final long[] boardMask;
+
+    private final long[][] lineMasks;
+
+    private final int[][] lineCells;
+
+    private final int[][] cellLines;
+
+    private BoardMasks(int size, int winLength) {
+        this.size = size;
+        this.winLength = winLength;
+        this.cellCount = size * size;
+        this.words = (cellCount + 63) >>> 6;
+        this.boardMask = new long[words];
+
+        for (int index = 0; index < cellCount; index++) {
+            boardMask[index >>> 6] |= 1L << index;
+        }
+
+        //Row, column, diagonal and reverse diagonal windows in order
+        int starts = size - winLength + 1;
+        int lineCount = 2 * size * starts + 2 * starts * starts;
+        this.lineCells = new int[lineCount][winLength];
+        int line = 0;
+        for (int row = 0; row < size; row++) {
+            for (int column = 0; column < starts; column++) {
+                addLine(line++, row, column, 0, 1);
+            }
+        }
+        for (int column = 0; column < size; column++) {
+            for (int row = 0; row < starts; row++) {
+                addLine(line++, row, column, 1, 0);
+            }
+        }
+        for (int row = 0; row < starts; row++) {
+            for (int column = 0; column < starts; column++) {
+                addLine(line++, row, column, 1, 1);
+            }
+        }
+        for (int row = 0; row < starts; row++) {
+            for (int column = winLength - 1; column < size; column++) {
+                addLine(line++, row, column, 1, -1);
+            }
+        }
+
+        this.lineMasks = new long[lineCount][words];
+        int[] cellLineCounts = new int[cellCount];
+        for (line = 0; line < lineCount; line++) {
+            for (int index : lineCells[line]) {
+                lineMasks[line][index >>> 6] |= 1L << index;
+                cellLineCounts[index]++;
+            }
+        }
+
+        this.cellLines = new int[cellCount][];
+        for (int index = 0; index < cellCount; index++) {
+            cellLines[index] = new int[cellLineCounts[index]];
+            cellLineCounts[index] = 0;
+        }
+        for (line = 0; line < lineCount; line++) {
+            for (int index : lineCells[line]) {
+                cellLines[index][cellLineCounts[index]++] = line;
+            }
+        }
+    }
+
+    private void addLine(int line, int row, int column, int rowStep, int columnStep) {
+        for (int i = 0; i < winLength; i++) {
+            lineCells[line][i] = (row + i * rowStep) * size + column + i * columnStep;
+        }
+    }
+
+    /**
+     * Returns masks for given board size where a full row, column or main diagonal wins.
+     *
+     * @param size
+     * @return masks
+     */
+    public static BoardMasks of(int size) {
+        return of(size, size);
+    }
+
+    /**
+     * Returns masks for given board size and win length.
+     *
+     * @param size
+     * @param winLength number of consecutive cells to win, between 1 and size
+     * @return masks
+     */
+    public static BoardMasks of(int size, int winLength) {
+        if (size > 0 && size < CACHED_SIZES && winLength > 0 && winLength <= size) {
+            return CACHE[size][winLength];
+        }
+        return new BoardMasks(size, winLength);
+    }
+
+    /**
+     * Returns masks for size and win length of given board.
+     *
+     * @param board
+     * @return masks
+     */
+    public static BoardMasks of(Board board) {
+        return of(board.getSize(), board.getWinLength());
+    }
+
+    /**
+     * Checks every bit of given mask is set on given bits.
+     *
+     * @param bits
+     * @param mask
+     * @return covering result
+     */
+    public static boolean covers(long[] bits, long[] mask) {
+        for (int w = 0; w < mask.length; w++) {
+            if ((bits[w] & mask[w]) != mask[w]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks bit of given cell index is set on given bits.
+     *
+     * @param bits
+     * @param index
+     * @return bit state
+     */
+    public static boolean isSet(long[] bits, int index) {
+        return (bits[index >>> 6] & (1L << index)) != 0;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public int getWinLength() {
+        return winLength;
+    }
+
+    public int getCellCount() {
+        return cellCount;
+    }
+
+    public int getWords() {
+        return words;
+    }
+
+    public long[] getBoardMask() {
+        return boardMask;
+    }
+
+    public int getLineCount() {
+        return lineMasks.length;
+    }
+
+    public long[] getLineMask(int line) {
+        return lineMasks[line];
+    }
+
+    public int[] getLineCells(int line) {
+        return lineCells[line];
+    }
+
+    /**
+     * Returns lines passing through given cell index. When win length equals board size a cell is on 2 lines (row,
+     * column) and diagonal cells are on 3 or 4 lines, shorter win lengths put a cell on up to win length windows
+     * per direction.
+     *
+     * @param index
+     * @return line ids
+     */
+    public int[] getCellLines(int index) {
+        return cellLines[index];
+    }
+}
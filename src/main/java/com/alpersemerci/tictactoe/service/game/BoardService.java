@@ -5,8 +5,8 @@ import com.alpersemerci.tictactoe.model.Cell;
 import com.alpersemerci.tictactoe.model.Player;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.stream.IntStream;
 
 /**
  * Board Service provides service operations for board.
@@ -40,11 +40,23 @@ public class BoardService {
     public Boolean isCellAvailableForPlay(Board board, Cell cell) {
 
         if (isValidCellForBoard(board, cell)) {
-            return board.getCells()[cell.getRow()][cell.getColumn()] == null;
+            return !BoardMasks.isSet(board.getOccupiedBits(), cell.getRow() * board.getSize() + cell.getColumn());
         }
         return Boolean.FALSE;
     }
 
+    /**
+     * Checks given cell index is on given board and cell is not occupied by another player.
+     * Primitive counterpart of {@link #isCellAvailableForPlay(Board, Cell)}.
+     *
+     * @param board
+     * @param index row * size + column
+     * @return result of cell available for play
+     */
+    public boolean isCellAvailableForPlay(Board board, int index) {
+        return index > -1 && index < board.getSize() * board.getSize() && !BoardMasks.isSet(board.getOccupiedBits(), index);
+    }
+
     /**
      * Marks given cell on given board for given player if cell is available for play.
      *
@@ -55,31 +67,235 @@ public class BoardService {
      */
     public Boolean play(Board board, Cell cell, Player player) {
         if (isCellAvailableForPlay(board, cell)) {
-            board.getCells()[cell.getRow()][cell.getColumn()] = player;
+            makeMove(board, cell.getRow() * board.getSize() + cell.getColumn(), getPlayerSlot(board, player));
             return Boolean.TRUE;
         }
         return Boolean.FALSE;
     }
 
     /**
-     * Returns empty cells on board.
+     * Marks given cell index on given board for given player if cell is available for play.
+     *
+     * @param board
+     * @param index  row * size + column
+     * @param player
+     * @return play result
+     */
+    public boolean play(Board board, int index, Player player) {
+        if (isCellAvailableForPlay(board, index)) {
+            makeMove(board, index, getPlayerSlot(board, player));
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Clears given cell on given board and reverts line counters of occupying player.
+     *
+     * @param board
+     * @param cell
+     * @return Undo result, false if cell is not occupied
+     */
+    public Boolean undo(Board board, Cell cell) {
+        if (!isValidCellForBoard(board, cell) || isCellAvailableForPlay(board, cell)) {
+            return Boolean.FALSE;
+        }
+
+        int index = cell.getRow() * board.getSize() + cell.getColumn();
+        long[][] playerBits = board.getPlayerBits();
+        int slot = 0;
+        while (!BoardMasks.isSet(playerBits[slot], index)) {
+            slot++;
+        }
+
+        unmakeMove(board, index, slot);
+        return Boolean.TRUE;
+    }
+
+    /**
+     * Marks given cell index for given player slot without any validation and updates line counters and hashes.
+     * It is the primitive, allocation free move operation for search algorithms; cell must be empty.
+     *
+     * @param board
+     * @param index
+     * @param slot
+     */
+    public void makeMove(Board board, int index, int slot) {
+        long bit = 1L << index;
+        board.getPlayerBits()[slot][index >>> 6] |= bit;
+        board.getOccupiedBits()[index >>> 6] |= bit;
+        board.setEmptyCells(board.getEmptyCells() - 1);
+        updateHashes(board, index, slot);
+
+        //Only lines passing through played cell change
+        BoardMasks masks = BoardMasks.of(board);
+        int[] lineCounts = board.getLineCounts()[slot];
+        for (int line : masks.getCellLines(index)) {
+            if (++lineCounts[line] == masks.getLineCells(line).length) {
+                board.getCompletedLines()[slot]++;
+            }
+        }
+    }
+
+    /**
+     * Reverts a move made by {@link #makeMove(Board, int, int)}. Cell must be occupied by given player slot.
+     *
+     * @param board
+     * @param index
+     * @param slot
+     */
+    public void unmakeMove(Board board, int index, int slot) {
+        long bit = 1L << index;
+        board.getPlayerBits()[slot][index >>> 6] &= ~bit;
+        board.getOccupiedBits()[index >>> 6] &= ~bit;
+        board.setEmptyCells(board.getEmptyCells() + 1);
+        updateHashes(board, index, slot);
+
+        BoardMasks masks = BoardMasks.of(board);
+        int[] lineCounts = board.getLineCounts()[slot];
+        for (int line : masks.getCellLines(index)) {
+            if (lineCounts[line]-- == masks.getLineCells(line).length) {
+                board.getCompletedLines()[slot]--;
+            }
+        }
+    }
+
+    /**
+     * Toggles given player slot on given cell index in hash and symmetry hashes of board.
+     *
+     * @param board
+     * @param index
+     * @param slot
+     */
+    private void updateHashes(Board board, int index, int slot) {
+        ZobristKeys zobristKeys = ZobristKeys.of(board.getSize());
+        BoardSymmetry symmetry = BoardSymmetry.of(board.getSize());
+        long[] symmetryHashes = board.getSymmetryHashes();
+
+        for (int t = 0; t < BoardSymmetry.COUNT; t++) {
+            symmetryHashes[t] ^= zobristKeys.getKey(slot, symmetry.getTransform(t)[index]);
+        }
+        board.setHash(symmetryHashes[0]);
+    }
+
+    /**
+     * Returns a deep copy of given board.
+     *
+     * @param board
+     * @return copy of board
+     */
+    public Board copyBoard(Board board) {
+        Board copy = new Board(board.getSize(), board.getWinLength());
+
+        copy.setPlayers(new ArrayList<>(board.getPlayers()));
+        copy.setPlayerBits(Arrays.stream(board.getPlayerBits()).map(long[]::clone).toArray(long[][]::new));
+        copy.setOccupiedBits(board.getOccupiedBits().clone());
+        copy.setLineCounts(Arrays.stream(board.getLineCounts()).map(int[]::clone).toArray(int[][]::new));
+        copy.setCompletedLines(board.getCompletedLines().clone());
+        copy.setEmptyCells(board.getEmptyCells());
+        copy.setHash(board.getHash());
+        copy.setSymmetryHashes(board.getSymmetryHashes().clone());
+
+        return copy;
+    }
+
+    /**
+     * Returns bitmask slot of given player on given board. Player is registered on board on first call.
+     *
+     * @param board
+     * @param player
+     * @return slot of player
+     */
+    public int getPlayerSlot(Board board, Player player) {
+        int slot = board.getPlayers().indexOf(player);
+        if (slot < 0) {
+            long[][] playerBits = Arrays.copyOf(board.getPlayerBits(), board.getPlayerBits().length + 1);
+            playerBits[playerBits.length - 1] = new long[board.getOccupiedBits().length];
+            board.setPlayerBits(playerBits);
+
+            int[][] lineCounts = Arrays.copyOf(board.getLineCounts(), playerBits.length);
+            lineCounts[lineCounts.length - 1] = new int[BoardMasks.of(board).getLineCount()];
+            board.setLineCounts(lineCounts);
+            board.setCompletedLines(Arrays.copyOf(board.getCompletedLines(), playerBits.length));
+
+            board.getPlayers().add(player);
+            slot = playerBits.length - 1;
+        }
+        return slot;
+    }
+
+    /**
+     * Returns player occupying given cell, null if cell is empty.
+     *
+     * @param board
+     * @param row
+     * @param column
+     * @return player
+     */
+    public Player getPlayer(Board board, int row, int column) {
+        return getPlayer(board, row * board.getSize() + column);
+    }
+
+    /**
+     * Returns player occupying given cell index, null if cell is empty.
+     *
+     * @param board
+     * @param index
+     * @return player
+     */
+    public Player getPlayer(Board board, int index) {
+        if (BoardMasks.isSet(board.getOccupiedBits(), index)) {
+            long[][] playerBits = board.getPlayerBits();
+            for (int slot = 0; slot < playerBits.length; slot++) {
+                if (BoardMasks.isSet(playerBits[slot], index)) {
+                    return board.getPlayers().get(slot);
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns empty cells on board, cells are shared instances of {@link CellPool}.
      *
      * @param board
      * @return List of cells
      */
     public List<Cell> getAvailableCells(Board board) {
-        List<Cell> availableCells = new ArrayList<>();
-        IntStream.range(0, board.getSize()).forEach(i ->
-            IntStream.range(0, board.getSize()).forEach(j -> {
-                Cell cell = new Cell(i, j);
-                if (isCellAvailableForPlay(board, cell)) {
-                    availableCells.add(cell);
-                }
-            })
-        );
+        List<Cell> availableCells = new ArrayList<>(board.getEmptyCells());
+        CellPool cellPool = CellPool.of(board.getSize());
+        for (int index = nextAvailableCell(board, 0); index > -1; index = nextAvailableCell(board, index + 1)) {
+            availableCells.add(cellPool.get(index));
+        }
         return availableCells;
     }
 
+    /**
+     * Returns first empty cell index at or after given cell index in row major order, -1 if there is none.
+     * Empty cells are walked without allocation:
+     * {@code for (int i = nextAvailableCell(board, 0); i > -1; i = nextAvailableCell(board, i + 1))}.
+     *
+     * @param board
+     * @param from
+     * @return cell index or -1
+     */
+    public int nextAvailableCell(Board board, int from) {
+        long[] boardMask = BoardMasks.of(board.getSize()).getBoardMask();
+        long[] occupiedBits = board.getOccupiedBits();
+
+        //Walk free bits of every word from lowest to highest, it keeps row major order
+        for (int w = from >>> 6; w < boardMask.length; w++) {
+            long free = boardMask[w] & ~occupiedBits[w];
+            if (w == from >>> 6) {
+                free &= -1L << from;
+            }
+            if (free != 0) {
+                return (w << 6) + Long.numberOfTrailingZeros(free);
+            }
+        }
+        return -1;
+    }
+
     /**
      * Converts given board to string in console friendly mode.
      *
@@ -87,31 +303,46 @@ public class BoardService {
      * @return String representation of board.
      */
     public String printBoard(Board board) {
-        Integer boardSize = board.getSize();
-        StringBuilder builder = new StringBuilder();
-        builder.append("\n");
-        builder.append("\n");
-        builder.append("  ");
-        IntStream.range(0, boardSize).forEach(i -> builder.append("  " + i + " "));
-        builder.append("\n");
-        builder.append("  ");
-        IntStream.range(0, boardSize).forEach(i -> builder.append("===="));
-        IntStream.range(0, boardSize).forEach(i -> {
-            builder.append("\n").append(i + " ").append("|");
-            IntStream.range(0, boardSize).forEach(j ->
-                builder.append(" ")
-                        .append(board.getCells()[i][j] == null ? " " : board.getCells()[i][j].getSymbol())
-                        .append(" ")
-                        .append("|")
-            );
-
-            builder.append("\n").append("  ");
+        int boardSize = board.getSize();
+        return printBoard(board, new StringBuilder(8 * (boardSize + 2) * (boardSize + 1))).toString();
+    }
+
+    /**
+     * Appends console friendly representation of given board to given builder, a builder reused for every board
+     * doesn't allocate once it has grown to board's size.
+     *
+     * @param board
+     * @param builder
+     * @return builder
+     */
+    public StringBuilder printBoard(Board board, StringBuilder builder) {
+        int boardSize = board.getSize();
+        builder.append("\n\n  ");
+        for (int i = 0; i < boardSize; i++) {
+            builder.append("  ").append(i).append(' ');
+        }
+        builder.append("\n  ");
+        appendRepeated(builder, "====", boardSize);
+
+        for (int i = 0; i < boardSize; i++) {
+            builder.append('\n').append(i).append(" |");
+            for (int j = 0; j < boardSize; j++) {
+                Player player = getPlayer(board, i, j);
+                builder.append(' ').append(player == null ? ' ' : player.getSymbol()).append(" |");
+            }
+
+            builder.append("\n  ");
             if (i < boardSize - 1) {
-                IntStream.range(0, boardSize).forEach(j -> builder.append("----"));
+                appendRepeated(builder, "----", boardSize);
             }
-        });
-        IntStream.range(0, boardSize).forEach(j -> builder.append("===="));
-        builder.append("\n");
-        return builder.toString();
+        }
+        appendRepeated(builder, "====", boardSize);
+        return builder.append('\n');
+    }
+
+    private static void appendRepeated(StringBuilder builder, String text, int count) {
+        for (int i = 0; i < count; i++) {
+            builder.append(text);
+        }
     }
 }
@@ -0,0 +1,139 @@
+package com.alpersemerci.tictactoe.service.game;
+
+import com.alpersemerci.tictactoe.model.Board;
+
+/**
+ * BoardSymmetry holds precomputed permutation tables of the 8 symmetries (rotations and reflections) of a square
+ * board. Symmetry {@code t} maps cell index {@code i} to {@code getTransform(t)[i]}, symmetry 0 is identity.
+ * <p>
+ * Board keeps Zobrist hash of its image under every symmetry, so all symmetric positions share the same smallest
+ * hash. That smallest hash is the canonical key of position and symmetry giving it is the canonical symmetry,
+ * moves are mapped into and out of canonical frame with permutation tables.
+ * <p>
+ * Tables are immutable and shared, use {@link #of(int)} to get tables for a board size.
+ *
+ * @author Alper Semerci
+ */
+public final class BoardSymmetry {
+
+    public static final int COUNT = 8;
+
+    private static final int CACHED_SIZES = 11;
+
+    private static final BoardSymmetry[] CACHE = new BoardSymmetry[CACHED_SIZES];
+
+    static {
+        for (int size = 1; size < CACHED_SIZES; size++) {
+            CACHE[size] = new BoardSymmetry(size);
+        }
+    }
+
+    private final int[][] transforms;
+
+    private final int[][] inverses;
+
+    private BoardSymmetry(int size) {
+        int cellCount = size * size;
+        int last = size - 1;
+        this.transforms = new int[COUNT][cellCount];
+        this.inverses = new int[COUNT][cellCount];
+
+        for (int row = 0; row < size; row++) {
+            for (int column = 0; column < size; column++) {
+                int index = row * size + column;
+                //identity, rotations by 90, 180 and 270 degrees, horizontal and vertical flips, transpositions
+                transforms[0][index] = index;
+                transforms[1][index] = column * size + last - row;
+                transforms[2][index] = (last - row) * size + last - column;
+                transforms[3][index] = (last - column) * size + row;
+                transforms[4][index] = row * size + last - column;
+                transforms[5][index] = (last - row) * size + column;
+                transforms[6][index] = column * size + row;
+                transforms[7][index] = (last - column) * size + last - row;
+            }
+        }
+
+        for (int t = 0; t < COUNT; t++) {
+            for (int index = 0; index < cellCount; index++) {
+                inverses[t][transforms[t][index]] = index;
+            }
+        }
+    }
+
+    /**
+     * Returns symmetry tables for given board size.
+     *
+     * @param size
+     * @return symmetry tables
+     */
+    public static BoardSymmetry of(int size) {
+        if (size > 0 && size < CACHED_SIZES) {
+            return CACHE[size];
+        }
+        return new BoardSymmetry(size);
+    }
+
+    public int[] getTransform(int symmetry) {
+        return transforms[symmetry];
+    }
+
+    public int[] getInverse(int symmetry) {
+        return inverses[symmetry];
+    }
+
+    /**
+     * Returns symmetry mapping given board into its canonical frame.
+     *
+     * @param board
+     * @return canonical symmetry
+     */
+    public int getCanonicalSymmetry(Board board) {
+        long[] hashes = board.getSymmetryHashes();
+        int canonical = 0;
+        for (int t = 1; t < COUNT; t++) {
+            if (hashes[t] < hashes[canonical]) {
+                canonical = t;
+            }
+        }
+        return canonical;
+    }
+
+    /**
+     * Returns canonical key of given board, it is the same for all symmetric boards.
+     *
+     * @param board
+     * @return canonical key
+     */
+    public long getCanonicalHash(Board board) {
+        return board.getSymmetryHashes()[getCanonicalSymmetry(board)];
+    }
+
+    /**
+     * Returns symmetries leaving given board unchanged as a bit set, bit 0 (identity) is always set.
+     * Hashes are used as a fast filter and a matching symmetry is verified cell by cell.
+     *
+     * @param board
+     * @return bit set of symmetries
+     */
+    public int getSymmetries(Board board) {
+        long[] hashes = board.getSymmetryHashes();
+        int symmetries = 1;
+        for (int t = 1; t < COUNT; t++) {
+            if (hashes[t] == hashes[0] && isSymmetric(board, transforms[t])) {
+                symmetries |= 1 << t;
+            }
+        }
+        return symmetries;
+    }
+
+    private boolean isSymmetric(Board board, int[] transform) {
+        for (long[] bits : board.getPlayerBits()) {
+            for (int index = 0; index < transform.length; index++) {
+                if (BoardMasks.isSet(bits, index) && !BoardMasks.isSet(bits, transform[index])) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+}
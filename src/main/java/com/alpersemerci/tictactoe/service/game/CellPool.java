@@ -0,0 +1,85 @@
+package com.alpersemerci.tictactoe.service.game;
+
+import com.alpersemerci.tictactoe.model.Cell;
+
+/**
+ * CellPool holds a precomputed immutable cell for every cell index of a board size, cell index is
+ * {@code row * size + column}. Services and strategies work on primitive cell indexes and convert to a cell only at
+ * the public API, a conversion is an array lookup instead of an allocation.
+ * <p>
+ * Pools are immutable and shared, use {@link #of(int)} to get pool of a board size.
+ *
+ * @author Alper Semerci
+ */
+public final class CellPool {
+
+    private static final int CACHED_SIZES = 11;
+
+    private static final CellPool[] CACHE = new CellPool[CACHED_SIZES];
+
+    static {
+        for (int size = 1; size < CACHED_SIZES; size++) {
+            CACHE[size] = new CellPool(size);
+        }
+    }
+
+    private final int size;
+
+    private final Cell[] cells;
+
+    private CellPool(int size) {
+        this.size = size;
+        this.cells = new Cell[size * size];
+        for (int index = 0; index < cells.length; index++) {
+            cells[index] = new Cell(index / size, index % size);
+        }
+    }
+
+    /**
+     * Returns cell pool for given board size.
+     *
+     * @param size
+     * @return cell pool
+     */
+    public static CellPool of(int size) {
+        if (size > 0 && size < CACHED_SIZES) {
+            return CACHE[size];
+        }
+        return new CellPool(size);
+    }
+
+    /**
+     * Returns cell of given cell index.
+     *
+     * @param index
+     * @return shared cell
+     */
+    public Cell get(int index) {
+        return cells[index];
+    }
+
+    /**
+     * Returns cell of given row and column, a shared cell if it is on board and a new one otherwise, so invalid
+     * input still reaches validation of services.
+     *
+     * @param row
+     * @param column
+     * @return cell
+     */
+    public Cell get(int row, int column) {
+        if (row > -1 && row < size && column > -1 && column < size) {
+            return cells[row * size + column];
+        }
+        return new Cell(row, column);
+    }
+
+    /**
+     * Returns cell index of given cell, cell must be on board.
+     *
+     * @param cell
+     * @return cell index
+     */
+    public int indexOf(Cell cell) {
+        return cell.getRow() * size + cell.getColumn();
+    }
+}
@@ -3,11 +3,15 @@ package com.alpersemerci.tictactoe.service.game;
 import com.alpersemerci.tictactoe.exception.GameAlreadyStartedException;
 import com.alpersemerci.tictactoe.exception.InvalidBoardSizeException;
 import com.alpersemerci.tictactoe.exception.InvalidMoveException;
+import com.alpersemerci.tictactoe.exception.InvalidWinLengthException;
 import com.alpersemerci.tictactoe.exception.NoPlayerInGameException;
+import com.alpersemerci.tictactoe.model.Board;
 import com.alpersemerci.tictactoe.model.Cell;
 import com.alpersemerci.tictactoe.model.Game;
 import com.alpersemerci.tictactoe.model.Player;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -39,6 +43,28 @@ public class GameService {
         return new Game(boardSize);
     }
 
+    /**
+     * Creates a new game for given board size where win length cells in a row, column or diagonal win, for example
+     * 5 in a row on a 10x10 board. Throws InvalidBoardSizeException if board size is not valid and
+     * InvalidWinLengthException if win length is not valid for board size.
+     *
+     * @param boardSize
+     * @param winLength
+     * @return game
+     */
+    public Game createGame(Integer boardSize, Integer winLength) throws InvalidBoardSizeException, InvalidWinLengthException {
+
+        if (boardSize < 3 || boardSize > 10) {
+            throw new InvalidBoardSizeException("Board size must be between 3 and 10");
+        }
+
+        if (winLength < 3 || winLength > boardSize) {
+            throw new InvalidWinLengthException("Win length must be between 3 and board size");
+        }
+
+        return new Game(boardSize, winLength);
+    }
+
     /**
      * Adds player to current game. Throws GameAlreadyStartedException if game has
      * already started.
@@ -50,6 +76,8 @@ public class GameService {
             throw new GameAlreadyStartedException("Adding new player during game isn't a wise move!");
         }
         game.getPlayerList().add(player);
+        //Keep bitmask slots of board in player order
+        boardService.getPlayerSlot(game.getBoard(), player);
     }
 
     /**
@@ -63,6 +91,17 @@ public class GameService {
         return boardService.isCellAvailableForPlay(game.getBoard(), cell);
     }
 
+    /**
+     * Returns if given cell index available for game board or not.
+     *
+     * @param game
+     * @param index row * size + column
+     * @return availability result
+     */
+    public boolean isCellAvailableForPlay(Game game, int index) {
+        return boardService.isCellAvailableForPlay(game.getBoard(), index);
+    }
+
     /**
      * Returns current player for game.
      *
@@ -96,65 +135,171 @@ public class GameService {
         }
 
         Player player = getCurrentPlayer(game);
+        int index = cell.getRow() * game.getBoard().getSize() + cell.getColumn();
         boardService.play(game.getBoard(), cell, player);
+        game.getMoves()[game.getCurrentTurn()] = (byte) index;
+        game.setCurrentTurn(game.getCurrentTurn() + 1);
+
+        return isWinnerMove(game, index, player);
+    }
+
+    /**
+     * Marks given cell index for current player if cell is available for play. Primitive counterpart of
+     * {@link #play(Game, Cell)} for game loops working on cell indexes.
+     *
+     * @param game
+     * @param index row * size + column
+     * @return winner move result
+     * @throws InvalidMoveException
+     * @throws NoPlayerInGameException
+     */
+    public boolean play(Game game, int index) throws InvalidMoveException, NoPlayerInGameException {
+
+        if (!isCellAvailableForPlay(game, index)) {
+            throw new InvalidMoveException("You shall not pass!");
+        }
+
+        Player player = getCurrentPlayer(game);
+        boardService.play(game.getBoard(), index, player);
+        game.getMoves()[game.getCurrentTurn()] = (byte) index;
         game.setCurrentTurn(game.getCurrentTurn() + 1);
 
-        return isWinnerMove(game, cell, player);
+        return isWinnerMove(game, index, player);
     }
 
     /**
+     * Checks given player owns a full line passing through given cell, a window of win length cells in a row, column
+     * or diagonal direction. Only windows containing the cell are checked, every check is a bitboard mask operation.
+     *
      * @param game
      * @param cell
      * @param player
-     * @return
-     * @throws NoPlayerInGameException
+     * @return winner move result
      */
     public Boolean isWinnerMove(Game game, Cell cell, Player player) {
-        Integer boardSize = game.getBoard().getSize();
-
-        Boolean vertical = Boolean.TRUE;
-        Boolean horizontal = Boolean.TRUE;
-        Boolean diagonal = Boolean.TRUE;
-        Boolean reverseDiagonal = Boolean.TRUE;
-
-        for (int i = 0; i < boardSize; i++) {
-            horizontal = horizontal && player.equals(game.getBoard().getCells()[cell.getRow()][i]);
-            vertical = vertical && player.equals(game.getBoard().getCells()[i][cell.getColumn()]);
-            diagonal = diagonal && cell.getColumn().equals(cell.getRow()) && player.equals(game.getBoard().getCells()[i][i]);
-            reverseDiagonal = reverseDiagonal && cell.getColumn().equals(cell.getRow()) && player.equals(game.getBoard().getCells()[i][boardSize - i - 1]);
+        return isWinnerMove(game, cell.getRow() * game.getBoard().getSize() + cell.getColumn(), player);
+    }
+
+    /**
+     * Checks given player owns a full line passing through given cell index.
+     *
+     * @param game
+     * @param index  row * size + column
+     * @param player
+     * @return winner move result
+     */
+    public boolean isWinnerMove(Game game, int index, Player player) {
+        Board board = game.getBoard();
+        int slot = board.getPlayers().indexOf(player);
+        if (slot < 0) {
+            return false;
         }
 
-        return vertical || horizontal || diagonal || reverseDiagonal;
+        BoardMasks masks = BoardMasks.of(board);
+        long[] bits = board.getPlayerBits()[slot];
+
+        for (int line : masks.getCellLines(index)) {
+            if (BoardMasks.covers(bits, masks.getLineMask(line))) {
+                return true;
+            }
+        }
+        return false;
     }
 
     /**
-     * Returns game over state according to available cells and winner move
+     * Reverts given move of last player. Line counters and turn are rolled back.
      *
      * @param game
-     * @return game over state
+     * @param cell
+     * @return undo result
      */
-    public Boolean isGameOver(Game game) {
-        if (boardService.getAvailableCells(game.getBoard()).isEmpty()) {
+    public Boolean undo(Game game, Cell cell) {
+        if (game.getCurrentTurn() > 0 && boardService.undo(game.getBoard(), cell)) {
+            game.setCurrentTurn(game.getCurrentTurn() - 1);
             return Boolean.TRUE;
-        } else {
-            for (int i = 0; i < game.getBoard().getSize(); i++) {
-                for (int j = 0; j < game.getBoard().getSize(); j++) {
-                    Player player = game.getBoard().getCells()[i][j];
-                    if (player != null && isWinnerMove(game, new Cell(i, j), player)) {
-                        return Boolean.TRUE;
-                    }
-                }
+        }
+        return Boolean.FALSE;
+    }
+
+    /**
+     * Returns player owning a full line, null if there is no winner yet.
+     *
+     * @param game
+     * @return winner
+     */
+    public Player getWinner(Game game) {
+        Board board = game.getBoard();
+        int[] completedLines = board.getCompletedLines();
+        for (int slot = 0; slot < completedLines.length; slot++) {
+            if (completedLines[slot] > 0) {
+                return board.getPlayers().get(slot);
             }
         }
+        return null;
+    }
 
-        return Boolean.FALSE;
+    /**
+     * Returns draw state, board is full and there is no winner.
+     *
+     * @param game
+     * @return draw state
+     */
+    public Boolean isDraw(Game game) {
+        return game.getBoard().getEmptyCells() == 0 && getWinner(game) == null;
+    }
+
+    /**
+     * Returns game over state according to empty cell count and line counters of board.
+     *
+     * @param game
+     * @return game over state
+     */
+    public Boolean isGameOver(Game game) {
+        return game.getBoard().getEmptyCells() == 0 || getWinner(game) != null;
     }
 
     /**
      * @param game
      */
     public void clearBoard(Game game) {
-        Integer boardSize = game.getBoard().getSize();
-        game.getBoard().setCells(new Player[boardSize][boardSize]);
+        Board board = game.getBoard();
+        for (long[] bits : board.getPlayerBits()) {
+            Arrays.fill(bits, 0L);
+        }
+        for (int[] counts : board.getLineCounts()) {
+            Arrays.fill(counts, 0);
+        }
+        Arrays.fill(board.getOccupiedBits(), 0L);
+        Arrays.fill(board.getCompletedLines(), 0);
+        board.setEmptyCells(board.getSize() * board.getSize());
+        board.setHash(0L);
+        Arrays.fill(board.getSymmetryHashes(), 0L);
+    }
+
+    /**
+     * Returns Zobrist hash of game position, board hash mixed with side to move.
+     *
+     * @param game
+     * @return position hash
+     */
+    public long getPositionHash(Game game) {
+        Board board = game.getBoard();
+        int sideToMove = game.getPlayerList().isEmpty() ? 0 : game.getCurrentTurn() % game.getPlayerList().size();
+        return board.getHash() ^ ZobristKeys.of(board.getSize()).getSideKey(sideToMove);
+    }
+
+    /**
+     * Returns a copy of given game with its own board, so it can be searched while given game goes on.
+     *
+     * @param game
+     * @return copy of game
+     */
+    public Game copyGame(Game game) {
+        Game copy = new Game(game.getBoard().getSize(), game.getBoard().getWinLength());
+        copy.setBoard(boardService.copyBoard(game.getBoard()));
+        copy.setPlayerList(new ArrayList<>(game.getPlayerList()));
+        copy.setCurrentTurn(game.getCurrentTurn());
+        copy.setMoves(game.getMoves().clone());
+        return copy;
     }
 }
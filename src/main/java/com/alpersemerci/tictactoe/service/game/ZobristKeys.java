@@ -0,0 +1,129 @@
+package com.alpersemerci.tictactoe.service.game;
+
+/**
+ * ZobristKeys holds random keys for Zobrist hashing of boards. Every (player slot, cell) pair has a key and board hash
+ * is the XOR of keys of occupied cells, so a move updates hash with a single XOR. Side to move is mixed in with a
+ * separate key per player slot, and searches scoring positions for a single player mix in a perspective key of that
+ * player. Caches shared by games of different rules mix in a rules key of player count and win length, the same
+ * stones are a different position under other rules.
+ * <p>
+ * Keys are generated from a fixed seed per board size, so hashes are stable across runs and JVMs.
+ * <p>
+ * https://en.wikipedia.org/wiki/Zobrist_hashing
+ *
+ * @author Alper Semerci
+ */
+public final class ZobristKeys {
+
+    private static final int CACHED_SIZES = 11;
+
+    private static final int TABLE_SLOTS = 4;
+
+    private static final ZobristKeys[] CACHE = new ZobristKeys[CACHED_SIZES];
+
+    static {
+        for (int size = 1; size < CACHED_SIZES; size++) {
+            CACHE[size] = new ZobristKeys(size);
+        }
+    }
+
+    private final int cellCount;
+
+    private final long seed;
+
+    private final long[] cellKeys;
+
+    private final long[] sideKeys;
+
+    private final long[] perspectiveKeys;
+
+    private ZobristKeys(int size) {
+        this.cellCount = size * size;
+        this.seed = 0x5DEECE66DL * size;
+        this.cellKeys = new long[TABLE_SLOTS * cellCount];
+        this.sideKeys = new long[TABLE_SLOTS];
+        this.perspectiveKeys = new long[TABLE_SLOTS];
+
+        for (int i = 0; i < cellKeys.length; i++) {
+            cellKeys[i] = mix(seed + i);
+        }
+        for (int slot = 0; slot < TABLE_SLOTS; slot++) {
+            sideKeys[slot] = sideKey(slot);
+            perspectiveKeys[slot] = perspectiveKey(slot);
+        }
+    }
+
+    /**
+     * Returns keys for given board size.
+     *
+     * @param size
+     * @return keys
+     */
+    public static ZobristKeys of(int size) {
+        if (size > 0 && size < CACHED_SIZES) {
+            return CACHE[size];
+        }
+        return new ZobristKeys(size);
+    }
+
+    /**
+     * Returns key of given player slot on given cell index.
+     *
+     * @param slot
+     * @param index
+     * @return key
+     */
+    public long getKey(int slot, int index) {
+        int i = slot * cellCount + index;
+        return slot < TABLE_SLOTS ? cellKeys[i] : mix(seed + i);
+    }
+
+    /**
+     * Returns side to move key of given player slot.
+     *
+     * @param slot
+     * @return key
+     */
+    public long getSideKey(int slot) {
+        return slot < TABLE_SLOTS ? sideKeys[slot] : sideKey(slot);
+    }
+
+    /**
+     * Returns key of a search scoring positions for given player slot.
+     *
+     * @param slot
+     * @return key
+     */
+    public long getPerspectiveKey(int slot) {
+        return slot < TABLE_SLOTS ? perspectiveKeys[slot] : perspectiveKey(slot);
+    }
+
+    /**
+     * Returns key of game rules: number of players and win length.
+     *
+     * @param playerCount
+     * @param winLength
+     * @return key
+     */
+    public long getRulesKey(int playerCount, int winLength) {
+        return mix(seed ^ (((long) playerCount << 32) | winLength));
+    }
+
+    private long sideKey(int slot) {
+        return mix(~seed - slot);
+    }
+
+    private long perspectiveKey(int slot) {
+        return mix(~seed + TABLE_SLOTS + slot);
+    }
+
+    /**
+     * SplitMix64 finalizer, spreads sequential inputs into well distributed keys.
+     */
+    private static long mix(long z) {
+        z += 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -1,54 +1,260 @@
 package com.alpersemerci.tictactoe.service.heuristics;
 
-import com.alpersemerci.tictactoe.exception.InvalidMoveException;
 import com.alpersemerci.tictactoe.exception.NoPlayerInGameException;
 import com.alpersemerci.tictactoe.exception.NoPossibleMovesLeftException;
 import com.alpersemerci.tictactoe.model.*;
+import com.alpersemerci.tictactoe.service.config.ConfigService;
+import com.alpersemerci.tictactoe.service.game.BoardMasks;
 import com.alpersemerci.tictactoe.service.game.BoardService;
+import com.alpersemerci.tictactoe.service.game.CellPool;
+import com.alpersemerci.tictactoe.service.game.BoardSymmetry;
 import com.alpersemerci.tictactoe.service.game.GameService;
-import lombok.AllArgsConstructor;
-import lombok.Data;
-import lombok.NoArgsConstructor;
+import com.alpersemerci.tictactoe.service.game.ZobristKeys;
 import lombok.extern.slf4j.Slf4j;
 
-import java.util.*;
-import java.util.stream.IntStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * AlphaBetaPruningHeuristicStrategy is an implementation of HeuristicStrategy.
  * Basically an implementation of alpha beta pruning search algorithm for multi player tic-tac-toe game.
  * <p>
+ * Games with more than two players are searched paranoid: player to move at root maximizes and all other players
+ * are assumed to play together against it, so every position has a single score and alpha beta prunes as in a two
+ * player game. Leaves are scored from per player score vector of evaluator, as score of root player minus score of
+ * its strongest opponent. Player types don't matter, an AI searches for itself in AI vs AI games as well.
+ * <p>
+ * Search results are cached in a transposition table keyed by Zobrist hash of position, so transpositions
+ * (same position reached by a different move order) are searched only once. Table lives as long as strategy
+ * instance, so results of previous moves are reused as well. Positions are keyed canonically under the 8 rotations
+ * and reflections of board and best moves are stored in canonical frame, so symmetric positions share an entry.
+ * Keys include number of players and win length, so games of different rules may share an instance.
+ * Root moves which are symmetric to an earlier root move on a symmetric board (e.g. corners of an empty board)
+ * are not searched at all.
+ * <p>
+ * Search makes and unmakes moves on a single working copy of board with primitive scores and bounds, so steady
+ * state search allocates nothing. Evaluation is kept up to date incrementally by a {@link BoardEvaluator} while
+ * moves are made and unmade, so evaluating a leaf doesn't rescan the board.
+ * <p>
+ * Search is iterative deepening. Depth limited searches (1, 2, 3... plies) run until position is solved or time or
+ * node budget of move is exhausted, then best move of last completed depth is played. Budgets are read from
+ * configuration and can be changed per strategy instance.
+ * <p>
+ * When a fork join pool is configured, every iteration splits work at root (young brothers wait): first root move is
+ * searched alone to get a bound, remaining root moves are searched in parallel on their own working boards with a
+ * shared transposition table. Windows of parallel moves are one point wider than current best score, so ties are
+ * resolved by move order and parallel search plays the same move as sequential search at a fixed depth.
+ * <p>
+ * Nodes, evaluations, cutoffs, table hits and depth of every search are counted per search thread and recorded in
+ * {@link SearchStatistics} when search is over.
+ * <p>
  * https://en.wikipedia.org/wiki/Alpha%E2%80%93beta_pruning
  */
 @Slf4j
-@AllArgsConstructor
 public class AlphaBetaPruningHeuristicStrategy implements HeuristicStrategy {
 
+    private static final int DEFAULT_TRANSPOSITION_TABLE_SIZE = 1 << 20;
+
+    private static final long DEFAULT_TIME_BUDGET_MILLIS = 1000L;
+
+    private static final int BUDGET_CHECK_INTERVAL = 1024;
+
     private BoardService boardService;
 
     private GameService gameService;
 
+    private TranspositionTable transpositionTable;
+
+    private long timeBudgetMillis;
+
+    private long nodeBudget;
+
+    private int maxDepth;
+
+    private ForkJoinPool forkJoinPool;
+
+    private MoveOrdering.Factory moveOrderingFactory;
+
+    private final MoveOrderingStats moveOrderingStats = new MoveOrderingStats();
+
+    private final SearchStatistics searchStatistics = SearchStatistics.of("ALPHA_BETA");
+
+    private volatile SearchMetrics lastSearchMetrics;
+
+    public AlphaBetaPruningHeuristicStrategy(BoardService boardService, GameService gameService) {
+        this(boardService, gameService, newTranspositionTable());
+    }
+
+    public AlphaBetaPruningHeuristicStrategy(BoardService boardService, GameService gameService, TranspositionTable transpositionTable) {
+        this(boardService, gameService, transpositionTable, newForkJoinPool());
+    }
+
+    /**
+     * @param boardService
+     * @param gameService
+     * @param transpositionTable table of search, it may be shared by many strategies
+     * @param forkJoinPool       pool of parallel search, null means sequential search
+     */
+    public AlphaBetaPruningHeuristicStrategy(BoardService boardService, GameService gameService, TranspositionTable transpositionTable,
+                                             ForkJoinPool forkJoinPool) {
+        this.boardService = boardService;
+        this.gameService = gameService;
+        this.transpositionTable = transpositionTable;
+        this.forkJoinPool = forkJoinPool;
+
+        ConfigService config = ConfigService.getInstance();
+        this.timeBudgetMillis = config.getConfigValue("ai.search.time.budget", DEFAULT_TIME_BUDGET_MILLIS);
+        this.nodeBudget = config.getConfigValue("ai.search.node.budget", 0L);
+        this.maxDepth = (int) config.getConfigValue("ai.search.max.depth", 0L);
+
+        String moveOrdering = config.getConfigValue("ai.search.move.ordering");
+        this.moveOrderingFactory = "ROW_MAJOR".equalsIgnoreCase(moveOrdering)
+                ? (boardSize, slots, maxPly) -> new RowMajorMoveOrdering()
+                : HeuristicMoveOrdering::new;
+    }
+
+    /**
+     * Creates a transposition table of configured size ({@code ai.transposition.table.size}).
+     *
+     * @return table
+     */
+    public static TranspositionTable newTranspositionTable() {
+        return new TranspositionTable((int) ConfigService.getInstance().getConfigValue("ai.transposition.table.size", DEFAULT_TRANSPOSITION_TABLE_SIZE));
+    }
+
+    /**
+     * Creates a fork join pool of configured parallelism ({@code ai.search.parallelism}), null for sequential search.
+     */
+    private static ForkJoinPool newForkJoinPool() {
+        int parallelism = (int) ConfigService.getInstance().getConfigValue("ai.search.parallelism", 1L);
+        return parallelism > 1 ? new ForkJoinPool(parallelism) : null;
+    }
+
+    /**
+     * Sets time budget of a move in milliseconds, 0 means unlimited.
+     *
+     * @param timeBudgetMillis
+     */
+    public void setTimeBudgetMillis(long timeBudgetMillis) {
+        this.timeBudgetMillis = timeBudgetMillis;
+    }
+
+    /**
+     * Sets number of nodes a move may visit, 0 means unlimited.
+     *
+     * @param nodeBudget
+     */
+    public void setNodeBudget(long nodeBudget) {
+        this.nodeBudget = nodeBudget;
+    }
+
+    /**
+     * Sets maximum iterative deepening depth in plies, 0 means search until position is solved.
+     *
+     * @param maxDepth
+     */
+    public void setMaxDepth(int maxDepth) {
+        this.maxDepth = maxDepth;
+    }
+
+    /**
+     * Sets fork join pool for parallel search, null means sequential search.
+     *
+     * @param forkJoinPool
+     */
+    public void setForkJoinPool(ForkJoinPool forkJoinPool) {
+        this.forkJoinPool = forkJoinPool;
+    }
+
+    /**
+     * Sets factory of move orderings used by search threads.
+     *
+     * @param moveOrderingFactory
+     */
+    public void setMoveOrderingFactory(MoveOrdering.Factory moveOrderingFactory) {
+        this.moveOrderingFactory = moveOrderingFactory;
+    }
+
+    /**
+     * Returns move ordering stats collected by all searches of this strategy.
+     *
+     * @return stats
+     */
+    public MoveOrderingStats getMoveOrderingStats() {
+        return moveOrderingStats;
+    }
+
+    /**
+     * Returns search statistics shared by all alpha beta strategies, they are published as a JMX MBean too.
+     *
+     * @return statistics
+     */
+    public SearchStatistics getSearchStatistics() {
+        return searchStatistics;
+    }
+
+    /**
+     * Returns metrics of last search of this instance. Unlike search statistics they aren't shared with other
+     * instances, so they tell about a single search.
+     *
+     * @return metrics or null before first search
+     */
+    public SearchMetrics getLastSearchMetrics() {
+        return lastSearchMetrics;
+    }
+
     @Override
     public Cell getMove(Game game) throws NoPossibleMovesLeftException {
+        return CellPool.of(game.getBoard().getSize()).get(getMoveIndex(game));
+    }
+
+    @Override
+    public int getMoveIndex(Game game) throws NoPossibleMovesLeftException {
+        return getMoveIndex(game, CancellationToken.NONE);
+    }
+
+    /**
+     * Searches like {@link #getMoveIndex(Game)} until given token is cancelled as well. Results of a cancelled search
+     * stay in transposition table, so a following search of same position starts from them. Token is marked
+     * incomplete if search stops before reaching its depth limit.
+     *
+     * @param game
+     * @param token
+     * @return cell index of move
+     * @throws NoPossibleMovesLeftException
+     */
+    @Override
+    public int getMoveIndex(Game game, CancellationToken token) throws NoPossibleMovesLeftException {
 
-        Cell move = null;
+        int move = TranspositionTable.NO_MOVE;
 
         try {
-            //Start to build game tree
-            move = alphaBeta(game, Long.MIN_VALUE, Long.MAX_VALUE, null).getBestMove();
+            //Start to build game tree on a working copy of board
+            transpositionTable.newSearch();
+            SearchState state = new SearchState(game, new SearchLimits(token));
+            move = iterativeDeepening(game, state);
         } catch (Exception e) {
             log.error(e.getMessage(), e);
         }
 
-        if (move != null) {
+        if (move != TranspositionTable.NO_MOVE) {
             return move;
         } else {
             //This is our fallback logic. If our algorithm is unsuccessful on finding
             //an available move despite of empty cells return first available cell.
             //Also it means our algorithm doesn't work properly
-            if (!boardService.getAvailableCells(game.getBoard()).isEmpty()) {
+            int firstAvailableCell = boardService.nextAvailableCell(game.getBoard(), 0);
+            if (firstAvailableCell > -1) {
                 log.warn("Alpha Beta unable to find a move despite of empty cells. Please check implementation.");
-                return boardService.getAvailableCells(game.getBoard()).get(0);
+                return firstAvailableCell;
             }
         }
 
@@ -56,258 +262,611 @@ public class AlphaBetaPruningHeuristicStrategy implements HeuristicStrategy {
     }
 
     /**
-     * Play min or max game by current player.
+     * Searches 1, 2, 3... plies deep until position is solved, maximum depth is reached or budget is exhausted.
+     * An interrupted iteration is thrown away, first iteration always completes.
      *
      * @param game
-     * @param alpha
-     * @param beta
-     * @param cell
-     * @return score and best move
-     * @throws NoPlayerInGameException
-     * @throws InvalidMoveException
+     * @param state
+     * @return best move of last completed iteration
      */
-    private AlphaBetaResult alphaBeta(Game game, Long alpha, Long beta, Cell cell) throws NoPlayerInGameException, InvalidMoveException {
-        Player currentPlayer = gameService.getCurrentPlayer(game);
+    private int iterativeDeepening(Game game, SearchState state) throws NoPlayerInGameException, InterruptedException, ExecutionException {
+        SearchLimits limits = state.limits;
+        ForkJoinPool pool = forkJoinPool;
+        BlockingQueue<SearchState> workers = null;
+
+        if (pool != null) {
+            //One working board per pool thread, calling thread keeps its own
+            workers = new ArrayBlockingQueue<>(pool.getParallelism() + 1);
+            for (int i = 0; i <= pool.getParallelism(); i++) {
+                workers.add(new SearchState(game, limits));
+            }
+        }
+
+        int bestMove = TranspositionTable.NO_MOVE;
+        int emptyCells = state.board.getEmptyCells();
+        int depthLimit = maxDepth > 0 ? Math.min(maxDepth, emptyCells) : emptyCells;
+
+        for (int depth = 1; depth <= depthLimit; depth++) {
+            state.bestMove = TranspositionTable.NO_MOVE;
+
+            if (pool != null && depth > 1) {
+                searchRootInParallel(state, depth, pool, workers);
+            } else {
+                alphaBeta(state, Long.MIN_VALUE, Long.MAX_VALUE, 0, depth);
+            }
 
-        if (gameService.isGameOver(game)) {
-            return new AlphaBetaResult(score(game, currentPlayer), cell);
+            if (limits.stopped) {
+                limits.token.markIncomplete();
+                break;
+            }
+
+            bestMove = state.bestMove;
+            limits.completedDepth = depth;
         }
 
-        if (PlayerType.AI.equals(currentPlayer.getType())) {
-            return getMax(game, alpha, beta);
-        } else {
-            return getMin(game, alpha, beta);
+        //Counters of search threads are merged once, at the end of search
+        SearchMetrics metrics = new SearchMetrics("ALPHA_BETA", state.boardSize);
+        state.addStats(moveOrderingStats, metrics);
+        if (workers != null) {
+            for (SearchState worker : workers) {
+                worker.addStats(moveOrderingStats, metrics);
+            }
         }
+        metrics.setDepth(limits.completedDepth);
+        metrics.setElapsedNanos(System.nanoTime() - limits.startNanos);
+        searchStatistics.record(metrics);
+        lastSearchMetrics = metrics;
+
+        return bestMove;
     }
 
     /**
-     * Play max game and get results.
+     * Searches root position in parallel. First move is searched by calling thread, remaining moves are searched
+     * by pool threads, each one on a working board taken from workers queue.
      *
-     * @param game
+     * @param state
+     * @param depth
+     * @param pool
+     * @param workers
+     */
+    private void searchRootInParallel(SearchState state, int depth, ForkJoinPool pool, BlockingQueue<SearchState> workers)
+            throws InterruptedException, ExecutionException {
+        Board board = state.board;
+        int playerIndex = state.turn % state.playerCount;
+        int slot = state.slots[playerIndex];
+        int symmetry = state.symmetry.getCanonicalSymmetry(board);
+        long key = board.getSymmetryHashes()[symmetry] ^ state.zobristKeys.getSideKey(playerIndex) ^ state.perspectiveKey;
+
+        state.tableProbes++;
+        int hashMove = TranspositionTable.NO_MOVE;
+        if (transpositionTable.probe(key, state.entry)) {
+            state.tableHits++;
+            hashMove = toBoardMove(state, symmetry, state.entry.getMove());
+        }
+        int[] moves = state.moves[0];
+        int moveCount = generateMoves(state, moves, hashMove, 0, playerIndex);
+        if (moveCount == 0) {
+            return;
+        }
+        state.expandedNodes++;
+        state.searchedMoves += moveCount;
+
+        RootSplit split = new RootSplit(state.maximizer[playerIndex]);
+        split.update(0, moves[0], searchRootMove(state, moves[0], slot, Long.MIN_VALUE, Long.MAX_VALUE, depth));
+
+        List<Callable<Void>> tasks = new ArrayList<>(moveCount);
+        for (int i = 1; i < moveCount; i++) {
+            int order = i;
+            int move = moves[i];
+            tasks.add(() -> {
+                SearchState worker = workers.take();
+                try {
+                    long score = split.maximizer
+                            ? searchRootMove(worker, move, slot, split.getAlpha(), Long.MAX_VALUE, depth)
+                            : searchRootMove(worker, move, slot, Long.MIN_VALUE, split.getBeta(), depth);
+                    split.update(order, move, score);
+                } finally {
+                    workers.add(worker);
+                }
+                return null;
+            });
+        }
+
+        for (Future<Void> future : pool.invokeAll(tasks)) {
+            future.get();
+        }
+
+        if (!state.limits.stopped) {
+            transpositionTable.store(key, split.bestScore, TranspositionTable.EXACT, Math.min(depth, board.getEmptyCells()),
+                    toCanonicalMove(state, symmetry, split.bestMove));
+            state.bestMove = split.bestMove;
+        }
+    }
+
+    /**
+     * Makes given root move on given working board, searches resulting position and unmakes move.
+     *
+     * @param state
+     * @param move
+     * @param slot
      * @param alpha
      * @param beta
-     * @return score and best move for max play
-     * @throws InvalidMoveException
-     * @throws NoPlayerInGameException
+     * @param depth
+     * @return score of move
      */
-    private AlphaBetaResult getMax(Game game, Long alpha, Long beta) throws InvalidMoveException, NoPlayerInGameException {
+    private long searchRootMove(SearchState state, int move, int slot, long alpha, long beta, int depth) {
+        state.makeMove(move, slot);
+        long score = alphaBeta(state, alpha, beta, 1, depth - 1);
+        state.unmakeMove(move, slot);
+        return score;
+    }
 
-        AlphaBetaResult result = new AlphaBetaResult();
+    /**
+     * Play max game for root player and min game for its opponents. Moves are made and unmade on working board
+     * of search state, so a node allocates nothing. Probes transposition table before searching the position
+     * and stores result with its bound type after search.
+     *
+     * @param state
+     * @param alpha
+     * @param beta
+     * @param ply
+     * @param depth remaining plies, position is evaluated heuristically at 0
+     * @return score of position
+     */
+    private long alphaBeta(SearchState state, long alpha, long beta, int ply, int depth) {
+        Board board = state.board;
+        int playerIndex = state.turn % state.playerCount;
+
+        SearchLimits limits = state.limits;
+        if (++state.nodes % BUDGET_CHECK_INTERVAL == 0) {
+            limits.nodes.addAndGet(BUDGET_CHECK_INTERVAL);
+            if (limits.completedDepth > 0 && isBudgetExhausted(limits)) {
+                limits.stopped = true;
+            }
+        }
+        if (limits.stopped) {
+            return 0L;
+        }
 
-        for (Cell cell : boardService.getAvailableCells(game.getBoard())) {
-            Game newGame = cloneGame(game);
-            gameService.play(newGame, cell);
+        if (gameService.isGameOver(state.game) || depth == 0) {
+            state.evaluations++;
+            return score(state);
+        }
 
-            AlphaBetaResult abResult = alphaBeta(newGame, alpha, beta, cell);
-            Long score = abResult.getScore();
-            result.setBestMove(abResult.getBestMove() != null ? abResult.getBestMove() : cell);
-            result.setScore(score);
+        int symmetry = state.symmetry.getCanonicalSymmetry(board);
+        long key = board.getSymmetryHashes()[symmetry] ^ state.zobristKeys.getSideKey(playerIndex) ^ state.perspectiveKey;
+        //A search deeper than number of empty cells is a full search, cap depth for table entries
+        int tableDepth = Math.min(depth, board.getEmptyCells());
+        int hashMove = TranspositionTable.NO_MOVE;
+
+        TranspositionTable.Entry entry = state.entry;
+        state.tableProbes++;
+        if (transpositionTable.probe(key, entry)) {
+            state.tableHits++;
+            hashMove = toBoardMove(state, symmetry, entry.getMove());
+
+            if (entry.getDepth() >= tableDepth) {
+                long score = entry.getScore();
+                switch (entry.getBound()) {
+                    case TranspositionTable.EXACT:
+                        if (ply == 0) {
+                            state.bestMove = hashMove;
+                        }
+                        return score;
+                    case TranspositionTable.LOWER_BOUND:
+                        alpha = Math.max(alpha, score);
+                        break;
+                    case TranspositionTable.UPPER_BOUND:
+                        beta = Math.min(beta, score);
+                        break;
+                }
+                if (alpha >= beta) {
+                    if (ply == 0) {
+                        state.bestMove = hashMove;
+                    }
+                    return score;
+                }
+            }
+        }
 
-            if (score > alpha) {
-                alpha = score;
-                result.setBestMove(cell);
-                result.setScore(alpha);
+        boolean maximizer = state.maximizer[playerIndex];
+        int slot = state.slots[playerIndex];
+        long best = maximizer ? Long.MIN_VALUE : Long.MAX_VALUE;
+        int bestMove = TranspositionTable.NO_MOVE;
+        long searchAlpha = alpha;
+        long searchBeta = beta;
+
+        int[] moves = state.moves[ply];
+        int moveCount = generateMoves(state, moves, hashMove, ply, playerIndex);
+        state.expandedNodes++;
+
+        for (int i = 0; i < moveCount; i++) {
+            int move = moves[i];
+
+            state.makeMove(move, slot);
+            long score = alphaBeta(state, searchAlpha, searchBeta, ply + 1, depth - 1);
+            state.unmakeMove(move, slot);
+
+            if (maximizer) {
+                if (bestMove == TranspositionTable.NO_MOVE || score > best) {
+                    best = score;
+                    bestMove = move;
+                }
+                searchAlpha = Math.max(searchAlpha, score);
+            } else {
+                if (bestMove == TranspositionTable.NO_MOVE || score < best) {
+                    best = score;
+                    bestMove = move;
+                }
+                searchBeta = Math.min(searchBeta, score);
             }
 
-            if (alpha >= beta) {
+            if (searchAlpha >= searchBeta) {
+                state.searchedMoves += i + 1;
+                state.cutoffs++;
+                if (i == 0) {
+                    state.firstMoveCutoffs++;
+                }
+                state.moveOrdering.recordCutoff(move, ply, playerIndex, depth);
                 break;
             }
+            if (i == moveCount - 1) {
+                state.searchedMoves += moveCount;
+            }
+        }
 
+        //Results of an interrupted search are incomplete, never store them
+        if (limits.stopped) {
+            return 0L;
         }
 
-        return result;
+        int bound = TranspositionTable.EXACT;
+        if (best <= alpha) {
+            bound = TranspositionTable.UPPER_BOUND;
+        } else if (best >= beta) {
+            bound = TranspositionTable.LOWER_BOUND;
+        }
+        transpositionTable.store(key, best, bound, tableDepth, toCanonicalMove(state, symmetry, bestMove));
+
+        if (ply == 0) {
+            state.bestMove = bestMove;
+        }
+
+        return best;
     }
 
     /**
-     * Play min game and get results.
+     * Writes empty cell indexes of board into given buffer in order of move ordering of search state.
+     * At root moves symmetric to an earlier move are left out.
      *
-     * @param game
-     * @param alpha
-     * @param beta
-     * @return score and best move for max play
-     * @throws InvalidMoveException
-     * @throws NoPlayerInGameException
+     * @param state
+     * @param moves
+     * @param hashMove
+     * @param ply
+     * @param playerIndex player to move
+     * @return number of moves
      */
-    private AlphaBetaResult getMin(Game game, Long alpha, Long beta) throws InvalidMoveException, NoPlayerInGameException {
+    private int generateMoves(SearchState state, int[] moves, int hashMove, int ply, int playerIndex) {
+        Board board = state.board;
+        long[] boardMask = state.masks.getBoardMask();
+        long[] occupiedBits = board.getOccupiedBits();
+        int count = 0;
+
+        for (int w = 0; w < boardMask.length; w++) {
+            long free = boardMask[w] & ~occupiedBits[w];
+            while (free != 0) {
+                moves[count++] = (w << 6) + Long.numberOfTrailingZeros(free);
+                free &= free - 1;
+            }
+        }
 
-        AlphaBetaResult result = new AlphaBetaResult();
+        state.moveOrdering.orderMoves(board, moves, count, hashMove, ply, playerIndex);
+        return ply == 0 ? removeSymmetricMoves(state, moves, count) : count;
+    }
 
-        for (Cell cell : boardService.getAvailableCells(game.getBoard())) {
-            Game newGame = cloneGame(game);
-            gameService.play(newGame, cell);
+    /**
+     * Removes moves which are symmetric to an earlier move under a symmetry leaving board unchanged. Order of
+     * remaining moves is kept.
+     *
+     * @param state
+     * @param moves
+     * @param moveCount
+     * @return number of remaining moves
+     */
+    private int removeSymmetricMoves(SearchState state, int[] moves, int moveCount) {
+        BoardSymmetry boardSymmetry = state.symmetry;
+        int symmetries = boardSymmetry.getSymmetries(state.board);
+        if (symmetries == 1) {
+            return moveCount;
+        }
 
-            AlphaBetaResult abResult = alphaBeta(newGame, alpha, beta, cell);
-            Long score = abResult.getScore();
-            result.setBestMove(abResult.getBestMove() != null ? abResult.getBestMove() : cell);
-            result.setScore(score);
+        long[] kept = state.keptMoves;
+        Arrays.fill(kept, 0L);
+        int count = 0;
 
-            if (score < beta) {
-                beta = score;
-                result.setBestMove(cell);
-                result.setScore(beta);
+        for (int i = 0; i < moveCount; i++) {
+            int move = moves[i];
+            boolean symmetric = false;
+            for (int t = 1; t < BoardSymmetry.COUNT && !symmetric; t++) {
+                symmetric = (symmetries & (1 << t)) != 0 && BoardMasks.isSet(kept, boardSymmetry.getTransform(t)[move]);
             }
-
-            if (alpha >= beta) {
-                break;
+            if (!symmetric) {
+                kept[move >>> 6] |= 1L << move;
+                moves[count++] = move;
             }
-
         }
+        return count;
+    }
+
+    /**
+     * Maps a move stored in canonical frame of transposition table onto board.
+     *
+     * @param state
+     * @param symmetry canonical symmetry of board
+     * @param canonicalMove
+     * @return cell index on board
+     */
+    private static int toBoardMove(SearchState state, int symmetry, int canonicalMove) {
+        return canonicalMove == TranspositionTable.NO_MOVE
+                ? TranspositionTable.NO_MOVE : state.symmetry.getInverse(symmetry)[canonicalMove];
+    }
+
+    /**
+     * Maps a move on board into canonical frame of transposition table.
+     *
+     * @param state
+     * @param symmetry canonical symmetry of board
+     * @param move
+     * @return cell index in canonical frame
+     */
+    private static int toCanonicalMove(SearchState state, int symmetry, int move) {
+        return move == TranspositionTable.NO_MOVE
+                ? TranspositionTable.NO_MOVE : state.symmetry.getTransform(symmetry)[move];
+    }
 
-        return result;
+    /**
+     * Checks time and node budgets and cancellation of search.
+     *
+     * @param limits
+     * @return true if any budget is exhausted
+     */
+    private boolean isBudgetExhausted(SearchLimits limits) {
+        return limits.token.isCancelled()
+                || (nodeBudget > 0 && limits.nodes.get() >= nodeBudget)
+                || (timeBudgetMillis > 0 && System.nanoTime() - limits.startNanos >= timeBudgetMillis * 1_000_000L);
     }
 
     /**
-     * Get score from full board evaluation
+     * Creates a working search state for given game. Benchmarks use it to measure evaluation without search.
      *
      * @param game
-     * @param player
-     * @return
+     * @return search state
+     * @throws NoPlayerInGameException
      */
-    private Long score(Game game, Player player) {
+    SearchState newSearchState(Game game) throws NoPlayerInGameException {
+        return new SearchState(game, new SearchLimits(CancellationToken.NONE));
+    }
 
-        Map<Player, Long> scoreMap = evaluateBoard(game.getBoard());
+    /**
+     * Evaluates board of given search state for player to move at root.
+     *
+     * @param state
+     * @return score
+     */
+    long evaluate(SearchState state) {
+        return score(state);
+    }
 
-        Optional<Long> score;
-        if (!PlayerType.AI.equals(player.getType())) {
-            score = scoreMap.entrySet().stream().max(Comparator.comparingLong(Map.Entry::getValue)).map(Map.Entry::getValue);
-        } else {
-            score = scoreMap.entrySet().stream().min(Comparator.comparingLong(Map.Entry::getValue)).map(Map.Entry::getValue);
+    /**
+     * Get paranoid score from per player scores of incremental board evaluation: score of root player minus score of
+     * its strongest opponent. A won line dominates every other score, so a win of root player is positive and a win
+     * of any opponent is negative.
+     *
+     * @param state
+     * @return score
+     */
+    private long score(SearchState state) {
+        BoardEvaluator evaluator = state.evaluator;
+        long opponentScore = 0L;
+
+        for (int p = 0; p < state.playerCount; p++) {
+            if (p != state.rootPlayer && evaluator.hasScore(p)) {
+                opponentScore = Math.max(opponentScore, evaluator.getScore(p));
+            }
         }
 
-        return score.orElse(0L);
+        long rootScore = evaluator.hasScore(state.rootPlayer) ? evaluator.getScore(state.rootPlayer) : 0L;
+        return rootScore - opponentScore;
     }
 
     /**
-     * Evaluates given board. Simply travels whole board and calculates player scores in diagonally, reverse-diagonally,
-     * vertically and horizontally. If cells are occupied by only one player (that means possible victory)
-     * player score updated with multiples of 10. For example on 3x3 board if PLayer1 occupies 3 cells diagonally it is
-     * score will be updated as 10^3.
-     *
-     * @param board
-     * @return player, score map
+     * Budget state of a search shared by all search threads.
      */
-    private Map<Player, Long> evaluateBoard(Board board) {
-        Map<Player, Long> playerScoreMap = new HashMap<>();
+    private static class SearchLimits {
 
-        Integer boardSize = board.getSize();
+        private final long startNanos = System.nanoTime();
 
-        //vertically and horizontally board evaluation
-        IntStream.range(0, boardSize).forEach(i ->
-                IntStream.range(0, boardSize).forEach(j -> {
+        private final AtomicLong nodes = new AtomicLong();
 
-                    //Collect vertical players
-                    List<Player> verticalPlayers = new ArrayList<>();
-                    IntStream.range(0, boardSize).forEach(column -> {
-                        if (board.getCells()[i][column] != null) {
-                            verticalPlayers.add(board.getCells()[i][column]);
-                        }
-                    });
+        private final CancellationToken token;
 
-                    //If only one player occupies vertical cells calculate score
-                    if (verticalPlayers.stream().distinct().count() == 1) {
-                        Player player = verticalPlayers.get(0);
-                        playerScoreMap.put(player, playerScoreMap.getOrDefault(player, 0L) + (long) Math.pow(10, verticalPlayers.size()));
-                    }
+        private volatile int completedDepth;
 
-                    //Collect horizontal players
-                    List<Player> horizontalPlayers = new ArrayList<>();
-                    IntStream.range(0, boardSize).forEach(row -> {
-                        if (board.getCells()[row][j] != null) {
-                            horizontalPlayers.add(board.getCells()[row][j]);
-                        }
-                    });
+        private volatile boolean stopped;
 
-                    //If only one player occupies horizontal cells calculate score
-                    if (horizontalPlayers.stream().distinct().count() == 1) {
-                        Player player = horizontalPlayers.get(0);
-                        playerScoreMap.put(player, playerScoreMap.getOrDefault(player, 0L) + (long) Math.pow(10, horizontalPlayers.size()));
-                    }
-                })
-        );
+        private SearchLimits(CancellationToken token) {
+            this.token = token;
+        }
+    }
 
-        //Diagonal board evaluation
-        List<Player> diagonalPlayers = new ArrayList<>();
+    /**
+     * Best root move of a parallel iteration. Among equal scores the move searched first in move order wins,
+     * like in sequential search.
+     */
+    private static class RootSplit {
 
-        List<Player> reverseDiagonalPlayers = new ArrayList<>();
+        private final boolean maximizer;
 
-        //Collect diagonal and reverse diagonal players
-        IntStream.range(0, boardSize).forEach(i -> {
-            if (board.getCells()[i][i] != null) {
-                diagonalPlayers.add(board.getCells()[i][i]);
-            }
+        private long bestScore;
 
-            if (board.getCells()[i][boardSize - i - 1] != null) {
-                reverseDiagonalPlayers.add(board.getCells()[i][boardSize - i - 1]);
-            }
+        private int bestMove = TranspositionTable.NO_MOVE;
 
-        });
+        private int bestOrder = -1;
 
-        //If only one player occupies diagonal cells calculate score
-        if (diagonalPlayers.stream().distinct().count() == 1) {
-            Optional<Player> optionalPlayer = diagonalPlayers.stream().distinct().reduce((player1, player2) -> player1);
-            if (optionalPlayer.isPresent()) {
-                Player player = optionalPlayer.get();
-                playerScoreMap.put(player, playerScoreMap.getOrDefault(player, 0L) + (long) Math.pow(10, diagonalPlayers.size()));
-            }
+        private RootSplit(boolean maximizer) {
+            this.maximizer = maximizer;
         }
 
-        //If only one player occupies reverse diagonal cells calculate score
-        if (reverseDiagonalPlayers.stream().distinct().count() == 1) {
-            Optional<Player> optionalPlayer = reverseDiagonalPlayers.stream().distinct().reduce((player1, player2) -> player1);
-            if (optionalPlayer.isPresent()) {
-                Player player = optionalPlayer.get();
-                playerScoreMap.put(player, playerScoreMap.getOrDefault(player, 0L) + (long) Math.pow(10, reverseDiagonalPlayers.size()));
-            }
+        private synchronized long getAlpha() {
+            return bestScore == Long.MIN_VALUE ? Long.MIN_VALUE : bestScore - 1;
         }
 
-        //Multiply by -1 human scores in order to play min game.
-        playerScoreMap.entrySet().forEach(entry -> {
-            if (!PlayerType.AI.equals(entry.getKey().getType())) {
-                playerScoreMap.put(entry.getKey(), entry.getValue() * -1L);
-            }
-        });
+        private synchronized long getBeta() {
+            return bestScore == Long.MAX_VALUE ? Long.MAX_VALUE : bestScore + 1;
+        }
 
-        return playerScoreMap;
+        private synchronized void update(int order, int move, long score) {
+            if (bestOrder < 0
+                    || (maximizer ? score > bestScore : score < bestScore)
+                    || (score == bestScore && order < bestOrder)) {
+                bestScore = score;
+                bestMove = move;
+                bestOrder = order;
+            }
+        }
     }
 
     /**
-     * Clones game for building game tree.
-     *
-     * @param game
-     * @return
+     * Working state of a single search thread. Board and game are copies of original game, search makes and unmakes
+     * moves on them. Move and score buffers are allocated once per search.
      */
-    private Game cloneGame(Game game) {
-        Game cloneGame = new Game(game.getBoard().getSize());
-        cloneGame.setCurrentTurn(game.getCurrentTurn());
-        cloneGame.setBoard(cloneBoard(game.getBoard()));
-        cloneGame.setPlayerList(game.getPlayerList());
-        return cloneGame;
-    }
+    class SearchState {
 
-    /**
-     * Clones board for building game tree.
-     * @param board
-     * @return
-     */
-    private Board cloneBoard(Board board) {
-        Board cloneBoard = new Board(board.getSize());
+        private final Game game;
 
-        IntStream.range(0, board.getSize()).forEach(i ->
-                IntStream.range(0, board.getSize()).forEach(j ->
-                        cloneBoard.getCells()[i][j] = board.getCells()[i][j]
-                )
-        );
+        private final Board board;
 
-        return cloneBoard;
-    }
+        private final BoardMasks masks;
+
+        private final ZobristKeys zobristKeys;
+
+        private final BoardSymmetry symmetry;
+
+        private final int boardSize;
+
+        private final int playerCount;
 
-    @Data
-    @AllArgsConstructor
-    @NoArgsConstructor
-    private class AlphaBetaResult {
+        private final int[] slots;
 
-        private Long score;
+        private final int rootPlayer;
 
-        private Cell bestMove;
+        private final boolean[] maximizer;
+
+        private final long perspectiveKey;
+
+        private final int[][] moves;
+
+        private final BoardEvaluator evaluator;
+
+        private final long[] keptMoves;
+
+        private int turn;
+
+        private final TranspositionTable.Entry entry = new TranspositionTable.Entry();
+
+        private final SearchLimits limits;
+
+        private int bestMove = TranspositionTable.NO_MOVE;
+
+        private long nodes;
+
+        private final MoveOrdering moveOrdering;
+
+        private long expandedNodes;
+
+        private long searchedMoves;
+
+        private long cutoffs;
+
+        private long firstMoveCutoffs;
+
+        private long evaluations;
+
+        private long tableProbes;
+
+        private long tableHits;
+
+        private SearchState(Game original, SearchLimits limits) throws NoPlayerInGameException {
+            if (original.getPlayerList().isEmpty()) {
+                throw new NoPlayerInGameException("There is no player in this game");
+            }
+
+            this.board = boardService.copyBoard(original.getBoard());
+            this.game = new Game(board.getSize());
+            this.game.setBoard(board);
+            this.game.setPlayerList(original.getPlayerList());
+            this.game.setCurrentTurn(original.getCurrentTurn());
+
+            this.boardSize = board.getSize();
+            this.masks = BoardMasks.of(board);
+            this.zobristKeys = ZobristKeys.of(boardSize);
+            this.symmetry = BoardSymmetry.of(boardSize);
+            this.playerCount = original.getPlayerList().size();
+            this.rootPlayer = original.getCurrentTurn() % playerCount;
+            this.slots = new int[playerCount];
+            this.maximizer = new boolean[playerCount];
+            for (int p = 0; p < playerCount; p++) {
+                Player player = original.getPlayerList().get(p);
+                slots[p] = boardService.getPlayerSlot(board, player);
+                maximizer[p] = p == rootPlayer;
+            }
+            //Scores are relative to root player, positions searched for different players never share an entry.
+            //Table outlives a game and may be shared by games of other rules, which score same stones differently
+            this.perspectiveKey = zobristKeys.getPerspectiveKey(rootPlayer) ^ zobristKeys.getRulesKey(playerCount, board.getWinLength());
+
+            this.moves = new int[board.getEmptyCells() + 1][board.getEmptyCells()];
+            this.evaluator = new BoardEvaluator(board, slots);
+            this.keptMoves = new long[masks.getWords()];
+            this.moveOrdering = moveOrderingFactory.create(boardSize, slots, board.getEmptyCells());
+            this.turn = original.getCurrentTurn();
+            this.limits = limits;
+        }
+
+        /**
+         * Adds counts of this state to given move ordering stats and search metrics.
+         *
+         * @param stats
+         * @param metrics
+         */
+        private void addStats(MoveOrderingStats stats, SearchMetrics metrics) {
+            stats.add(expandedNodes, searchedMoves, cutoffs, firstMoveCutoffs);
+            metrics.add(nodes, evaluations, cutoffs, tableProbes, tableHits);
+        }
+
+        /**
+         * Makes a move on working board and passes turn to next player.
+         *
+         * @param move cell index
+         * @param slot board slot of player to move
+         */
+        private void makeMove(int move, int slot) {
+            evaluator.removeLines(move);
+            boardService.makeMove(board, move, slot);
+            evaluator.addLines(move);
+            turn++;
+        }
+
+        /**
+         * Unmakes a move made by {@link #makeMove(int, int)}.
+         *
+         * @param move cell index
+         * @param slot board slot of player made the move
+         */
+        private void unmakeMove(int move, int slot) {
+            turn--;
+            evaluator.removeLines(move);
+            boardService.unmakeMove(board, move, slot);
+            evaluator.addLines(move);
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,131 @@
+package com.alpersemerci.tictactoe.service.heuristics;
+
+import com.alpersemerci.tictactoe.model.Board;
+import com.alpersemerci.tictactoe.service.game.BoardMasks;
+
+/**
+ * BoardEvaluator keeps heuristic evaluation of a board up to date move by move.
+ * <p>
+ * Every line (window of win length cells in a row, column, diagonal or reverse diagonal) is scored once. If cells of a line are occupied by only
+ * one player (that means possible victory) line adds a value from a lookup table to that player's score: 10^n for
+ * n occupied cells. A player with any completed line gets a winning score once, however many lines a move completed,
+ * so a won position always outweighs open lines and a score can't overflow: open lines of a 10x10 board add up to
+ * less than 10^12. For example on 3x3 board a single stone on corner scores 10 for its row, column and diagonal.
+ * <p>
+ * Line occupancy comes from line counters of board. Before a move contributions of lines passing through played cell
+ * are removed and after the move they are added back, so a move updates only windows passing through it and reading
+ * evaluation is O(1).
+ */
+class BoardEvaluator {
+
+    static final long WIN_SCORE = 1_000_000_000_000_000L;
+
+    private final Board board;
+
+    private final BoardMasks masks;
+
+    private final int[] slots;
+
+    private final long[] lineScores;
+
+    private final long[] scores;
+
+    private final int[] ownedLines;
+
+    private final int[] completedLines;
+
+    /**
+     * Creates an evaluator for given board and evaluates whole board once.
+     *
+     * @param board
+     * @param slots board slots of players
+     */
+    BoardEvaluator(Board board, int[] slots) {
+        this.board = board;
+        this.masks = BoardMasks.of(board);
+        this.slots = slots;
+        this.scores = new long[slots.length];
+        this.ownedLines = new int[slots.length];
+        this.completedLines = new int[slots.length];
+
+        int lineLength = masks.getLineCells(0).length;
+        this.lineScores = new long[lineLength + 1];
+        long value = 1L;
+        for (int count = 0; count < lineLength; count++) {
+            lineScores[count] = value;
+            value *= 10L;
+        }
+        //A completed line adds nothing here, it is counted in completedLines
+
+        for (int line = 0; line < masks.getLineCount(); line++) {
+            apply(line, 1);
+        }
+    }
+
+    /**
+     * Removes contributions of lines passing through given cell index. Call it before a move or an undo on the cell.
+     *
+     * @param index
+     */
+    void removeLines(int index) {
+        for (int line : masks.getCellLines(index)) {
+            apply(line, -1);
+        }
+    }
+
+    /**
+     * Adds contributions of lines passing through given cell index. Call it after a move or an undo on the cell.
+     *
+     * @param index
+     */
+    void addLines(int index) {
+        for (int line : masks.getCellLines(index)) {
+            apply(line, 1);
+        }
+    }
+
+    /**
+     * Returns score of given player.
+     *
+     * @param player index of player
+     * @return score
+     */
+    long getScore(int player) {
+        return completedLines[player] > 0 ? WIN_SCORE + scores[player] : scores[player];
+    }
+
+    /**
+     * Returns if given player owns at least one line alone.
+     *
+     * @param player index of player
+     * @return true if player has a score
+     */
+    boolean hasScore(int player) {
+        return ownedLines[player] > 0;
+    }
+
+    private void apply(int line, int sign) {
+        int[][] lineCounts = board.getLineCounts();
+        int owner = -1;
+        int count = 0;
+
+        for (int p = 0; p < slots.length; p++) {
+            int playerCount = lineCounts[slots[p]][line];
+            if (playerCount > 0) {
+                if (owner >= 0) {
+                    return;
+                }
+                owner = p;
+                count = playerCount;
+            }
+        }
+
+        if (owner >= 0) {
+            scores[owner] += sign * lineScores[count];
+            ownedLines[owner] += sign;
+            if (count == lineScores.length - 1) {
+                completedLines[owner] += sign;
+            }
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.alpersemerci.tictactoe.service.heuristics;
+
+import com.alpersemerci.tictactoe.exception.NoPossibleMovesLeftException;
+import com.alpersemerci.tictactoe.model.Board;
+import com.alpersemerci.tictactoe.model.Cell;
+import com.alpersemerci.tictactoe.model.Game;
+import com.alpersemerci.tictactoe.service.game.BoardMasks;
+import com.alpersemerci.tictactoe.service.game.BoardSymmetry;
+import com.alpersemerci.tictactoe.service.game.CellPool;
+import com.alpersemerci.tictactoe.service.game.ZobristKeys;
+
+/**
+ * CachingHeuristicStrategy is an implementation of HeuristicStrategy.
+ * Remembers moves of a wrapped strategy in a {@link MoveCache}, which may be shared by many games and strategies,
+ * so a position searched once is answered by a hash lookup afterwards.
+ * <p>
+ * Positions are keyed canonically: smallest Zobrist hash of the 8 rotations and reflections of board mixed with side
+ * to move, number of players, win length and wrapped strategy. Moves are stored in canonical frame and mapped back
+ * onto board, so all symmetric positions share an entry. A cached move is played only if its cell is empty, a hash
+ * collision falls back to the wrapped strategy.
+ * <p>
+ * Wrap deterministic strategies only, a cached random move would be played every time. A move of a search which is
+ * cancelled or stops on its own budget (its token is marked incomplete) isn't cached, it may be weaker than a
+ * complete search and depends on timing.
+ */
+public class CachingHeuristicStrategy implements HeuristicStrategy {
+
+    private HeuristicStrategy strategy;
+
+    private MoveCache moveCache;
+
+    private final long strategyKey;
+
+    public CachingHeuristicStrategy(HeuristicStrategy strategy, MoveCache moveCache) {
+        this.strategy = strategy;
+        this.moveCache = moveCache;
+        this.strategyKey = mix(strategy.getClass().getName().hashCode());
+    }
+
+    @Override
+    public Cell getMove(Game game) throws NoPossibleMovesLeftException {
+        return CellPool.of(game.getBoard().getSize()).get(getMoveIndex(game));
+    }
+
+    @Override
+    public int getMoveIndex(Game game) throws NoPossibleMovesLeftException {
+        return getMoveIndex(game, CancellationToken.NONE);
+    }
+
+    /**
+     * Returns cached move of position or searches it with a child of given token. Move of a cancelled or incomplete
+     * search isn't cached.
+     *
+     * @param game
+     * @param token
+     * @return cell index of move
+     * @throws NoPossibleMovesLeftException
+     */
+    @Override
+    public int getMoveIndex(Game game, CancellationToken token) throws NoPossibleMovesLeftException {
+        Board board = game.getBoard();
+        int playerCount = game.getPlayerList().size();
+        if (playerCount == 0) {
+            return strategy.getMoveIndex(game, token);
+        }
+
+        int size = board.getSize();
+        BoardSymmetry symmetry = BoardSymmetry.of(size);
+        int canonicalSymmetry = symmetry.getCanonicalSymmetry(board);
+        ZobristKeys zobristKeys = ZobristKeys.of(size);
+        long key = board.getSymmetryHashes()[canonicalSymmetry]
+                ^ zobristKeys.getSideKey(game.getCurrentTurn() % playerCount)
+                ^ zobristKeys.getRulesKey(playerCount, board.getWinLength())
+                ^ strategyKey;
+
+        int canonicalMove = moveCache.get(key);
+        if (canonicalMove != MoveCache.NO_MOVE) {
+            int move = symmetry.getInverse(canonicalSymmetry)[canonicalMove];
+            if (!BoardMasks.isSet(board.getOccupiedBits(), move)) {
+                return move;
+            }
+        }
+
+        //A child token per search, so incompleteness of this search is told apart from earlier ones
+        CancellationToken searchToken = token.withTimeout(0L);
+        int move = strategy.getMoveIndex(game, searchToken);
+        if (!searchToken.isCancelled() && !searchToken.isIncomplete()) {
+            moveCache.put(key, symmetry.getTransform(canonicalSymmetry)[move]);
+        }
+        return move;
+    }
+
+    /**
+     * SplitMix64 finalizer, spreads small inputs over all bits of key.
+     */
+    private static long mix(long z) {
+        z += 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
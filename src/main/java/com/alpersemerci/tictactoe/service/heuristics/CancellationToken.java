@@ -0,0 +1,91 @@
+package com.alpersemerci.tictactoe.service.heuristics;
+
+/**
+ * Cooperative cancellation signal of a search. Searching strategies check it together with their own budgets and
+ * return best move found so far once it is cancelled, so a cancelled search still gives a legal move.
+ * <p>
+ * A token is cancelled explicitly by {@link #cancel()}, when its deadline passes or when its parent is cancelled.
+ * Child tokens of {@link #withTimeout(long)} bound a single search without affecting the caller's token.
+ * <p>
+ * A search which stops on its own time or node budget marks its token {@link #markIncomplete() incomplete}, so
+ * callers can tell a complete result from one which depends on timing.
+ */
+public class CancellationToken {
+
+    /**
+     * Token which is never cancelled, {@link #cancel()} is ignored.
+     */
+    public static final CancellationToken NONE = new CancellationToken(null, false, 0L);
+
+    private final CancellationToken parent;
+
+    private final boolean cancellable;
+
+    private final long deadlineNanos;
+
+    private volatile boolean cancelled;
+
+    private volatile boolean incomplete;
+
+    public CancellationToken() {
+        this(null, true, 0L);
+    }
+
+    private CancellationToken(CancellationToken parent, boolean cancellable, long deadlineNanos) {
+        this.parent = parent;
+        this.cancellable = cancellable;
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    /**
+     * Returns a child token which is cancelled when this token is cancelled or given time passes, whichever is first.
+     *
+     * @param timeoutMillis 0 means no deadline
+     * @return child token
+     */
+    public CancellationToken withTimeout(long timeoutMillis) {
+        //0 marks a token without deadline, a real deadline of 0 is nudged by a nanosecond
+        long deadline = timeoutMillis > 0 ? System.nanoTime() + timeoutMillis * 1_000_000L : 0L;
+        return new CancellationToken(this, true, timeoutMillis > 0 && deadline == 0L ? 1L : deadline);
+    }
+
+    /**
+     * Cancels searches checking this token and its children, it can't be undone.
+     */
+    public void cancel() {
+        if (cancellable) {
+            cancelled = true;
+        }
+    }
+
+    /**
+     * Marks that a search checking this token stopped on its own budget before completing. It is ignored by
+     * {@link #NONE} and doesn't cancel anything.
+     */
+    public void markIncomplete() {
+        if (cancellable) {
+            incomplete = true;
+        }
+    }
+
+    /**
+     * @return true if a search checking this token stopped on its own budget
+     */
+    public boolean isIncomplete() {
+        return incomplete;
+    }
+
+    /**
+     * @return true if token is cancelled, its deadline has passed or its parent is cancelled
+     */
+    public boolean isCancelled() {
+        if (cancelled) {
+            return true;
+        }
+        if (deadlineNanos != 0L && System.nanoTime() - deadlineNanos >= 0) {
+            cancelled = true;
+            return true;
+        }
+        return parent != null && parent.isCancelled();
+    }
+}
@@ -0,0 +1,120 @@
+package com.alpersemerci.tictactoe.service.heuristics;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * FrequencySketch estimates how often keys were seen recently with a count-min sketch of 4 bit counters, 16 counters
+ * per long word. A key increments one counter per hash function and its frequency is the minimum of them, so an
+ * estimate may be too high on collisions but never too low.
+ * <p>
+ * Counters are halved after a sample of increments (ten times cache capacity), so old popularity fades and the
+ * sketch keeps following current workload. Words are updated with compare and set, so concurrent increments and
+ * halving never lose an update or carry a saturated counter into its neighbour.
+ * <p>
+ * https://arxiv.org/abs/1512.00727
+ */
+final class FrequencySketch {
+
+    private static final int HASHES = 4;
+
+    private static final long[] SEEDS = {0x97CB3127L, 0xB0E5D3E5L, 0xC2B2AE35L, 0x27D4EB2FL};
+
+    private static final long RESET_MASK = 0x7777777777777777L;
+
+    private static final int MAX_COUNT = 15;
+
+    private final AtomicLongArray table;
+
+    private final int counterMask;
+
+    private final int sampleSize;
+
+    private final AtomicInteger additions = new AtomicInteger();
+
+    /**
+     * Creates a sketch for a cache of given capacity.
+     *
+     * @param capacity
+     */
+    FrequencySketch(int capacity) {
+        //A word of 16 counters per cache entry keeps collisions rare
+        int words = Integer.highestOneBit(Math.max(16, capacity) - 1) << 1;
+        int counters = words << 4;
+        this.table = new AtomicLongArray(words);
+        this.counterMask = counters - 1;
+        this.sampleSize = 10 * Math.max(1, capacity);
+    }
+
+    /**
+     * Returns estimated recent frequency of given key, at most 15.
+     *
+     * @param key
+     * @return frequency
+     */
+    int frequency(long key) {
+        int frequency = MAX_COUNT;
+        for (int i = 0; i < HASHES; i++) {
+            int counter = indexOf(key, i);
+            frequency = Math.min(frequency, (int) (table.get(counter >>> 4) >>> ((counter & 15) << 2)) & MAX_COUNT);
+        }
+        return frequency;
+    }
+
+    /**
+     * Counts an access of given key.
+     *
+     * @param key
+     */
+    void increment(long key) {
+        boolean added = false;
+        for (int i = 0; i < HASHES; i++) {
+            added |= tryIncrement(indexOf(key, i));
+        }
+
+        if (added && additions.incrementAndGet() >= sampleSize) {
+            reset();
+        }
+    }
+
+    /**
+     * Increments given counter unless it is saturated.
+     *
+     * @param counter
+     * @return true if counter was incremented
+     */
+    private boolean tryIncrement(int counter) {
+        int index = counter >>> 4;
+        int shift = (counter & 15) << 2;
+        long word;
+        do {
+            word = table.get(index);
+            if (((word >>> shift) & MAX_COUNT) == MAX_COUNT) {
+                return false;
+            }
+        } while (!table.compareAndSet(index, word, word + (1L << shift)));
+        return true;
+    }
+
+    /**
+     * Halves every counter.
+     */
+    private synchronized void reset() {
+        if (additions.get() < sampleSize) {
+            return;
+        }
+        for (int i = 0; i < table.length(); i++) {
+            long word;
+            do {
+                word = table.get(i);
+            } while (!table.compareAndSet(i, word, (word >>> 1) & RESET_MASK));
+        }
+        additions.set(additions.get() / 2);
+    }
+
+    private int indexOf(long key, int i) {
+        long hash = (key + SEEDS[i]) * 0x9E3779B97F4A7C15L;
+        hash ^= hash >>> 32;
+        return (int) hash & counterMask;
+    }
+}
@@ -0,0 +1,129 @@
+package com.alpersemerci.tictactoe.service.heuristics;
+
+import com.alpersemerci.tictactoe.model.Board;
+import com.alpersemerci.tictactoe.service.game.BoardMasks;
+
+import java.util.Arrays;
+
+/**
+ * HeuristicMoveOrdering is an implementation of MoveOrdering.
+ * Orders moves of a node by these keys, each one breaking ties of the previous one:
+ * <ol>
+ * <li>hash move (best move of transposition table or previous iteration)</li>
+ * <li>immediate wins of player to move</li>
+ * <li>blocks of an opponent's immediate win</li>
+ * <li>killer moves, two latest moves causing a cutoff at the same ply</li>
+ * <li>history heuristic, moves causing cutoffs anywhere in the tree weighted by depth squared</li>
+ * <li>distance from center of board, like StayCloseToCenterHeuristicStrategy</li>
+ * </ol>
+ * Killers and history are not used at root, so root move order doesn't depend on which thread searched what and
+ * parallel search keeps playing the same move as sequential search.
+ * <p>
+ * Every key is packed into a single long score per move, so ordering is a primitive insertion sort without allocation.
+ * <p>
+ * https://www.chessprogramming.org/Move_Ordering
+ */
+public class HeuristicMoveOrdering implements MoveOrdering {
+
+    private static final long HASH_MOVE = 1L << 62;
+
+    private static final long WIN = 1L << 61;
+
+    private static final long BLOCK = 1L << 60;
+
+    private static final long FIRST_KILLER = 1L << 59;
+
+    private static final long SECOND_KILLER = 1L << 58;
+
+    private static final long MAX_HISTORY = (1L << 40) - 1;
+
+    private static final int HISTORY_SHIFT = 8;
+
+    private final int[] slots;
+
+    private final int[] centerScores;
+
+    private final int[][] killers;
+
+    private final long[][] history;
+
+    private final long[][] scores;
+
+    public HeuristicMoveOrdering(int boardSize, int[] slots, int maxPly) {
+        int cellCount = boardSize * boardSize;
+        this.slots = slots;
+        this.centerScores = new int[cellCount];
+        this.killers = new int[maxPly + 1][2];
+        this.history = new long[slots.length][cellCount];
+        this.scores = new long[maxPly + 1][cellCount];
+
+        int maxDistance = StayCloseToCenterHeuristicStrategy.getCenterDistance(boardSize, 0, 0);
+        for (int index = 0; index < cellCount; index++) {
+            centerScores[index] = maxDistance - StayCloseToCenterHeuristicStrategy.getCenterDistance(boardSize, index / boardSize, index % boardSize);
+        }
+        for (int[] plyKillers : killers) {
+            Arrays.fill(plyKillers, TranspositionTable.NO_MOVE);
+        }
+    }
+
+    @Override
+    public void orderMoves(Board board, int[] moves, int moveCount, int hashMove, int ply, int playerIndex) {
+        BoardMasks masks = BoardMasks.of(board);
+        long[] moveScores = scores[ply];
+        for (int i = 0; i < moveCount; i++) {
+            moveScores[i] = score(board, masks, moves[i], hashMove, ply, playerIndex);
+        }
+
+        //Stable insertion sort by descending score, row major order breaks remaining ties
+        for (int i = 1; i < moveCount; i++) {
+            int move = moves[i];
+            long score = moveScores[i];
+            int j = i - 1;
+            while (j >= 0 && moveScores[j] < score) {
+                moves[j + 1] = moves[j];
+                moveScores[j + 1] = moveScores[j];
+                j--;
+            }
+            moves[j + 1] = move;
+            moveScores[j + 1] = score;
+        }
+    }
+
+    @Override
+    public void recordCutoff(int move, int ply, int playerIndex, int depth) {
+        int[] plyKillers = killers[ply];
+        if (plyKillers[0] != move) {
+            plyKillers[1] = plyKillers[0];
+            plyKillers[0] = move;
+        }
+        history[playerIndex][move] = Math.min(MAX_HISTORY, history[playerIndex][move] + (long) depth * depth);
+    }
+
+    private long score(Board board, BoardMasks masks, int move, int hashMove, int ply, int playerIndex) {
+        if (move == hashMove) {
+            return HASH_MOVE;
+        }
+
+        long score = centerScores[move];
+        int[][] lineCounts = board.getLineCounts();
+        for (int line : masks.getCellLines(move)) {
+            //A line is one stone away from completion only if all its other cells belong to the same player
+            int missing = masks.getLineCells(line).length - 1;
+            for (int p = 0; p < slots.length; p++) {
+                if (lineCounts[slots[p]][line] == missing) {
+                    score |= p == playerIndex ? WIN : BLOCK;
+                }
+            }
+        }
+
+        if (ply > 0) {
+            if (killers[ply][0] == move) {
+                score |= FIRST_KILLER;
+            } else if (killers[ply][1] == move) {
+                score |= SECOND_KILLER;
+            }
+            score += history[playerIndex][move] << HISTORY_SHIFT;
+        }
+        return score;
+    }
+}
@@ -3,6 +3,13 @@ package com.alpersemerci.tictactoe.service.heuristics;
 import com.alpersemerci.tictactoe.exception.NoPossibleMovesLeftException;
 import com.alpersemerci.tictactoe.model.Cell;
 import com.alpersemerci.tictactoe.model.Game;
+import com.alpersemerci.tictactoe.service.game.BoardService;
+import com.alpersemerci.tictactoe.service.game.CellPool;
+import com.alpersemerci.tictactoe.service.game.GameService;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * Defines Interface for heuristic strategies.
@@ -11,4 +18,67 @@ public interface HeuristicStrategy {
 
     Cell getMove(Game game) throws NoPossibleMovesLeftException;
 
+    /**
+     * Returns move as a cell index ({@code row * size + column}). Strategies searching on cell indexes override it,
+     * so game loops get moves without a cell in between.
+     *
+     * @param game
+     * @return cell index of move
+     * @throws NoPossibleMovesLeftException
+     */
+    default int getMoveIndex(Game game) throws NoPossibleMovesLeftException {
+        Cell cell = getMove(game);
+        return cell.getRow() * game.getBoard().getSize() + cell.getColumn();
+    }
+
+    /**
+     * Returns move as a cell index, search stops as soon as given token is cancelled and best move found so far is
+     * returned. Strategies which don't search ignore token.
+     *
+     * @param game
+     * @param token
+     * @return cell index of move
+     * @throws NoPossibleMovesLeftException
+     */
+    default int getMoveIndex(Game game, CancellationToken token) throws NoPossibleMovesLeftException {
+        return getMoveIndex(game);
+    }
+
+    /**
+     * Searches move on given executor. Search runs on a copy of game taken before this method returns, so game may go
+     * on meanwhile. At deadline or when given token is cancelled search stops and future completes with best move
+     * found so far. Cancelling returned future stops search as well, but gives no move: it completes with a
+     * {@link java.util.concurrent.CancellationException}, so cancel the token to take the move of an unfinished search.
+     *
+     * @param game
+     * @param timeoutMillis deadline of search after call, 0 means no deadline
+     * @param token
+     * @param executor
+     * @return future move
+     */
+    default CompletableFuture<Cell> getMoveAsync(Game game, long timeoutMillis, CancellationToken token, Executor executor) {
+        Game snapshot = new GameService(new BoardService()).copyGame(game);
+        CancellationToken searchToken = token.withTimeout(timeoutMillis);
+        CompletableFuture<Cell> future = new CompletableFuture<>();
+        //Cancelling future or completing it any other way stops search
+        future.whenComplete((cell, throwable) -> searchToken.cancel());
+
+        try {
+            executor.execute(() -> {
+                if (future.isDone()) {
+                    return;
+                }
+                try {
+                    int move = getMoveIndex(snapshot, searchToken);
+                    future.complete(CellPool.of(snapshot.getBoard().getSize()).get(move));
+                } catch (Throwable throwable) {
+                    future.completeExceptionally(throwable);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
 }
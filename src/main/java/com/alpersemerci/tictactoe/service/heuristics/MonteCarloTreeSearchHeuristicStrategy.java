@@ -0,0 +1,659 @@
+package com.alpersemerci.tictactoe.service.heuristics;
+
+import com.alpersemerci.tictactoe.exception.NoPossibleMovesLeftException;
+import com.alpersemerci.tictactoe.model.Board;
+import com.alpersemerci.tictactoe.model.Cell;
+import com.alpersemerci.tictactoe.model.Game;
+import com.alpersemerci.tictactoe.service.config.ConfigService;
+import com.alpersemerci.tictactoe.service.game.BoardMasks;
+import com.alpersemerci.tictactoe.service.game.BoardService;
+import com.alpersemerci.tictactoe.service.game.CellPool;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * MonteCarloTreeSearchHeuristicStrategy is an implementation of HeuristicStrategy.
+ * Basically an implementation of Monte Carlo tree search with UCT (upper confidence bounds applied to trees) for
+ * multi player tic-tac-toe game. Every iteration selects a path of promising moves, expands one new move, plays a
+ * random game until the end and credits result back to all moves of the path. Move with most visits is played.
+ * <p>
+ * Every move of a path is rewarded from the view of player who made it: 1 for a win, 1 / (number of players) for a
+ * draw and 0 for a loss, so it works for any number of players. Moves are made and unmade on a primitive working
+ * copy of board, a random game picks moves from an array of empty cells. Random games still complete a line or block
+ * an opponent's line when a single cell is missing, otherwise most random games on large boards end in a draw and
+ * tell nothing. Such cells are tracked per player while moves are made and unmade, from lines through played cell
+ * only, so finding them doesn't rescan the board.
+ * <p>
+ * Search runs until time or iteration budget of move is exhausted or search is cancelled. When a fork join pool is
+ * configured, every pool thread grows its own tree from the same position (root parallelization) and root visits of
+ * trees are summed up. Strategies share one pool per process unless a pool is given to constructor, its owner shuts
+ * it down.
+ * <p>
+ * https://en.wikipedia.org/wiki/Monte_Carlo_tree_search
+ */
+@Slf4j
+public class MonteCarloTreeSearchHeuristicStrategy implements HeuristicStrategy {
+
+    private static final long DEFAULT_TIME_BUDGET_MILLIS = 1000L;
+
+    private static final double DEFAULT_EXPLORATION = Math.sqrt(2);
+
+    private static final int BUDGET_CHECK_INTERVAL = 64;
+
+    private BoardService boardService;
+
+    private long timeBudgetMillis;
+
+    private long iterationBudget;
+
+    private double exploration;
+
+    private ForkJoinPool forkJoinPool;
+
+    private long seed = System.nanoTime();
+
+    private boolean fixedSeed;
+
+    private final AtomicLong searches = new AtomicLong();
+
+    private final SearchStatistics searchStatistics = SearchStatistics.of("MCTS");
+
+    private volatile SearchMetrics lastSearchMetrics;
+
+    /**
+     * Creates a strategy searching on pool shared by all strategies created so, see {@link SharedPool}.
+     *
+     * @param boardService
+     */
+    public MonteCarloTreeSearchHeuristicStrategy(BoardService boardService) {
+        this(boardService, SharedPool.INSTANCE);
+    }
+
+    /**
+     * @param boardService
+     * @param forkJoinPool pool of root parallel search, null means a single tree searched by calling thread
+     */
+    public MonteCarloTreeSearchHeuristicStrategy(BoardService boardService, ForkJoinPool forkJoinPool) {
+        this.boardService = boardService;
+        this.forkJoinPool = forkJoinPool;
+
+        ConfigService config = ConfigService.getInstance();
+        this.timeBudgetMillis = config.getConfigValue("ai.mcts.time.budget", DEFAULT_TIME_BUDGET_MILLIS);
+        this.iterationBudget = config.getConfigValue("ai.mcts.iteration.budget", 0L);
+        this.exploration = config.getConfigValue("ai.mcts.exploration", DEFAULT_EXPLORATION);
+    }
+
+    /**
+     * Creates a fork join pool of configured parallelism ({@code ai.mcts.parallelism}, 0 means number of processors),
+     * null for a single tree.
+     */
+    private static ForkJoinPool newForkJoinPool() {
+        int parallelism = (int) ConfigService.getInstance().getConfigValue("ai.mcts.parallelism", 0L);
+        if (parallelism <= 0) {
+            parallelism = Runtime.getRuntime().availableProcessors();
+        }
+        return parallelism > 1 ? new ForkJoinPool(parallelism) : null;
+    }
+
+    /**
+     * Sets time budget of a move in milliseconds, 0 means unlimited.
+     *
+     * @param timeBudgetMillis
+     */
+    public void setTimeBudgetMillis(long timeBudgetMillis) {
+        this.timeBudgetMillis = timeBudgetMillis;
+    }
+
+    /**
+     * Sets number of iterations a move may run (summed over all threads), 0 means unlimited.
+     *
+     * @param iterationBudget
+     */
+    public void setIterationBudget(long iterationBudget) {
+        this.iterationBudget = iterationBudget;
+    }
+
+    /**
+     * Sets exploration constant of UCT formula.
+     *
+     * @param exploration
+     */
+    public void setExploration(double exploration) {
+        this.exploration = exploration;
+    }
+
+    /**
+     * Sets fork join pool for root parallel search, null means a single tree searched by calling thread.
+     *
+     * @param forkJoinPool
+     */
+    public void setForkJoinPool(ForkJoinPool forkJoinPool) {
+        this.forkJoinPool = forkJoinPool;
+    }
+
+    /**
+     * Sets seed of random games, same seed and iteration budget give same move with a single thread. Without a set
+     * seed, every search continues random stream of previous one.
+     *
+     * @param seed
+     */
+    public void setSeed(long seed) {
+        this.seed = seed;
+        this.fixedSeed = true;
+    }
+
+    /**
+     * Returns search statistics shared by all Monte Carlo tree search strategies, they are published as a JMX MBean
+     * too.
+     *
+     * @return statistics
+     */
+    public SearchStatistics getSearchStatistics() {
+        return searchStatistics;
+    }
+
+    /**
+     * Returns metrics of last search of this instance. Unlike search statistics they aren't shared with other
+     * instances, so they tell about a single search.
+     *
+     * @return metrics or null before first search
+     */
+    public SearchMetrics getLastSearchMetrics() {
+        return lastSearchMetrics;
+    }
+
+    @Override
+    public Cell getMove(Game game) throws NoPossibleMovesLeftException {
+        return CellPool.of(game.getBoard().getSize()).get(getMoveIndex(game));
+    }
+
+    @Override
+    public int getMoveIndex(Game game) throws NoPossibleMovesLeftException {
+        return getMoveIndex(game, CancellationToken.NONE);
+    }
+
+    @Override
+    public int getMoveIndex(Game game, CancellationToken token) throws NoPossibleMovesLeftException {
+        Board board = game.getBoard();
+        if (board.getEmptyCells() == 0 || game.getPlayerList().isEmpty()) {
+            throw new NoPossibleMovesLeftException("Monte Carlo Tree Search unable to find a move!");
+        }
+
+        long start = System.nanoTime();
+        long deadline = timeBudgetMillis > 0 ? start + timeBudgetMillis * 1_000_000L : Long.MAX_VALUE;
+        ForkJoinPool pool = forkJoinPool;
+        int trees = pool != null ? pool.getParallelism() : 1;
+        long iterations = iterationBudget > 0 ? (iterationBudget + trees - 1) / trees : Long.MAX_VALUE;
+
+        int cellCount = board.getSize() * board.getSize();
+        long[] visits = new long[cellCount];
+        double[] rewards = new double[cellCount];
+        SearchMetrics metrics = new SearchMetrics("MCTS", board.getSize());
+
+        //Searches of a shared strategy may run at the same time, each one takes its own range of tree seeds
+        long searchSeed = fixedSeed ? seed : seed + searches.getAndIncrement() * trees;
+
+        try {
+            List<Callable<Tree>> tasks = new ArrayList<>(trees);
+            for (int i = 0; i < trees; i++) {
+                long treeSeed = searchSeed + i;
+                tasks.add(() -> {
+                    Tree tree = new Tree(game, new SplittableRandom(treeSeed));
+                    tree.search(deadline, iterations, token);
+                    return tree;
+                });
+            }
+
+            List<Tree> results = new ArrayList<>(trees);
+            if (pool != null) {
+                for (Future<Tree> future : pool.invokeAll(tasks)) {
+                    results.add(future.get());
+                }
+            } else {
+                results.add(tasks.get(0).call());
+            }
+
+            //Counters of trees are merged once, at the end of search
+            int depth = 0;
+            for (Tree tree : results) {
+                metrics.add(tree.nodes, tree.root.visits, 0L, 0L, 0L);
+                depth = Math.max(depth, tree.maxDepth);
+                for (int i = 0; i < tree.root.childCount; i++) {
+                    Node child = tree.root.children[i];
+                    visits[child.move] += child.visits;
+                    rewards[child.move] += child.reward;
+                }
+            }
+            metrics.setDepth(depth);
+        } catch (Exception e) {
+            log.error(e.getMessage(), e);
+        }
+
+        int bestMove = -1;
+        for (int move = 0; move < cellCount; move++) {
+            if (visits[move] > 0 && (bestMove < 0 || visits[move] > visits[bestMove]
+                    || (visits[move] == visits[bestMove] && rewards[move] > rewards[bestMove]))) {
+                bestMove = move;
+            }
+        }
+
+        metrics.setElapsedNanos(System.nanoTime() - start);
+        searchStatistics.record(metrics);
+        lastSearchMetrics = metrics;
+
+        if (bestMove < 0) {
+            //Fallback, search couldn't run a single iteration
+            return boardService.nextAvailableCell(board, 0);
+        }
+        return bestMove;
+    }
+
+    /**
+     * Fork join pool of configured parallelism shared by strategies of default constructor, so instances don't own
+     * a pool each. It is created on first use, its threads are daemon threads and idle ones time out.
+     */
+    private static final class SharedPool {
+
+        private static final ForkJoinPool INSTANCE = newForkJoinPool();
+    }
+
+    /**
+     * A search tree grown by a single thread on its own working board.
+     */
+    private class Tree {
+
+        private final Board board;
+
+        private final int[] slots;
+
+        private final int playerCount;
+
+        private final BoardMasks masks;
+
+        private final SplittableRandom random;
+
+        private final Node root;
+
+        private final int[] pathMoves;
+
+        private final int[] pathPlayers;
+
+        private int pathLength;
+
+        private final int[] emptyCells;
+
+        private final int[] emptyCellPositions;
+
+        /**
+         * Number of lines of a player which given empty cell completes, per player index and cell.
+         */
+        private final int[][] threats;
+
+        /**
+         * Cells with at least one threat, per player index.
+         */
+        private final long[][] threatBits;
+
+        private long nodes;
+
+        private int maxDepth;
+
+        private Tree(Game game, SplittableRandom random) {
+            this.board = boardService.copyBoard(game.getBoard());
+            this.playerCount = game.getPlayerList().size();
+            this.slots = new int[playerCount];
+            for (int p = 0; p < playerCount; p++) {
+                slots[p] = boardService.getPlayerSlot(board, game.getPlayerList().get(p));
+            }
+            this.masks = BoardMasks.of(board);
+            this.random = random;
+            this.pathMoves = new int[board.getEmptyCells()];
+            this.pathPlayers = new int[board.getEmptyCells()];
+            this.emptyCells = new int[board.getEmptyCells()];
+            this.emptyCellPositions = new int[board.getSize() * board.getSize()];
+            this.threats = new int[playerCount][board.getSize() * board.getSize()];
+            this.threatBits = new long[playerCount][masks.getWords()];
+            initThreats();
+
+            //Root is reached by previous player's move
+            int rootPlayer = (game.getCurrentTurn() + playerCount - 1) % playerCount;
+            this.root = new Node(null, -1, rootPlayer, newEmptyCells(), Node.ONGOING);
+        }
+
+        private void search(long deadline, long iterations, CancellationToken token) {
+            for (long i = 0; i < iterations; i++) {
+                if (i > 0 && i % BUDGET_CHECK_INTERVAL == 0 && (token.isCancelled() || System.nanoTime() >= deadline)) {
+                    break;
+                }
+                iterate();
+            }
+        }
+
+        /**
+         * Runs selection, expansion, random game and back propagation once.
+         */
+        private void iterate() {
+            Node node = root;
+            int depth = 0;
+
+            //Selection
+            while (node.result == Node.ONGOING && node.untriedCount == 0) {
+                node = select(node);
+                makeMove(node.move, node.player);
+                depth++;
+            }
+
+            //Expansion
+            if (node.result == Node.ONGOING) {
+                int i = random.nextInt(node.untriedCount);
+                int move = node.untriedMoves[i];
+                node.untriedMoves[i] = node.untriedMoves[--node.untriedCount];
+
+                int player = (node.player + 1) % playerCount;
+                makeMove(move, player);
+                int result = getResult(player);
+                Node child = new Node(node, move, player,
+                        result == Node.ONGOING ? newEmptyCells() : null, result);
+                node.addChild(child);
+                node = child;
+                nodes++;
+                depth++;
+            }
+            maxDepth = Math.max(maxDepth, depth);
+
+            //Random game
+            int result = node.result;
+            if (result == Node.ONGOING) {
+                result = playRandomGame((node.player + 1) % playerCount);
+            }
+
+            //Back propagation
+            double draw = 1.0 / playerCount;
+            for (Node n = node; n != null; n = n.parent) {
+                n.visits++;
+                n.reward += result == Node.DRAW ? draw : (result == n.player ? 1.0 : 0.0);
+            }
+
+            //Restore working board
+            while (pathLength > 0) {
+                pathLength--;
+                unmakeMove(pathMoves[pathLength], pathPlayers[pathLength]);
+            }
+        }
+
+        private Node select(Node node) {
+            double logVisits = Math.log(node.visits);
+            Node best = null;
+            double bestValue = Double.NEGATIVE_INFINITY;
+            for (int i = 0; i < node.childCount; i++) {
+                Node child = node.children[i];
+                double value = child.reward / child.visits + exploration * Math.sqrt(logVisits / child.visits);
+                if (value > bestValue) {
+                    bestValue = value;
+                    best = child;
+                }
+            }
+            return best;
+        }
+
+        /**
+         * Plays random moves until game is over.
+         *
+         * @param player player to move
+         * @return winner player index or DRAW
+         */
+        private int playRandomGame(int player) {
+            int count = collectEmptyCells(emptyCells);
+            for (int i = 0; i < count; i++) {
+                emptyCellPositions[emptyCells[i]] = i;
+            }
+
+            while (count > 0) {
+                int move = findDecisiveMove(player);
+                int i = move >= 0 ? emptyCellPositions[move] : random.nextInt(count);
+                move = emptyCells[i];
+                emptyCells[i] = emptyCells[--count];
+                emptyCellPositions[emptyCells[i]] = i;
+
+                makeMove(move, player);
+                if (board.getCompletedLines()[slots[player]] > 0) {
+                    return player;
+                }
+                player = (player + 1) % playerCount;
+            }
+            return Node.DRAW;
+        }
+
+        /**
+         * Finds a move completing a line of given player, otherwise a move blocking a line of an opponent.
+         * Random games playing these moves end like real games instead of missing obvious wins.
+         *
+         * @param player player to move
+         * @return cell index or -1 if there is no such move
+         */
+        private int findDecisiveMove(int player) {
+            int move = findThreat(player);
+            if (move >= 0) {
+                return move;
+            }
+            for (int p = 1; p < playerCount; p++) {
+                move = findThreat((player + p) % playerCount);
+                if (move >= 0) {
+                    return move;
+                }
+            }
+            return -1;
+        }
+
+        private int findThreat(int player) {
+            long[] bits = threatBits[player];
+            for (int w = 0; w < bits.length; w++) {
+                if (bits[w] != 0) {
+                    return (w << 6) + Long.numberOfTrailingZeros(bits[w]);
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * Finds threats of position tree is grown from, later moves update them incrementally.
+         */
+        private void initThreats() {
+            int[][] lineCounts = board.getLineCounts();
+            for (int line = 0; line < masks.getLineCount(); line++) {
+                int missing = masks.getLineCells(line).length - 1;
+                for (int p = 0; p < playerCount; p++) {
+                    if (lineCounts[slots[p]][line] == missing) {
+                        int cell = findEmptyCell(line, -1);
+                        if (cell >= 0) {
+                            addThreat(p, cell, 1);
+                        }
+                    }
+                }
+            }
+        }
+
+        /**
+         * Updates threats after given player played given cell: own lines one cell short gain a threat on their empty
+         * cell, completed lines and opponent lines blocked by move lose their threat on played cell.
+         */
+        private void updateThreatsAfterMove(int move, int player) {
+            int[][] lineCounts = board.getLineCounts();
+            for (int line : masks.getCellLines(move)) {
+                int length = masks.getLineCells(line).length;
+                for (int p = 0; p < playerCount; p++) {
+                    int count = lineCounts[slots[p]][line];
+                    if (p != player) {
+                        if (count == length - 1) {
+                            addThreat(p, move, -1);
+                        }
+                    } else if (count == length) {
+                        addThreat(p, move, -1);
+                    } else if (count == length - 1) {
+                        int cell = findEmptyCell(line, -1);
+                        if (cell >= 0) {
+                            addThreat(p, cell, 1);
+                        }
+                    }
+                }
+            }
+        }
+
+        /**
+         * Reverts {@link #updateThreatsAfterMove(int, int)} after given player's move on given cell is unmade.
+         */
+        private void updateThreatsAfterUnmove(int move, int player) {
+            int[][] lineCounts = board.getLineCounts();
+            for (int line : masks.getCellLines(move)) {
+                int length = masks.getLineCells(line).length;
+                for (int p = 0; p < playerCount; p++) {
+                    int count = lineCounts[slots[p]][line];
+                    if (p != player) {
+                        if (count == length - 1) {
+                            addThreat(p, move, 1);
+                        }
+                    } else if (count == length - 1) {
+                        addThreat(p, move, 1);
+                    } else if (count == length - 2) {
+                        //Line was one cell short with move on it, its other missing cell loses the threat
+                        int cell = findEmptyCell(line, move);
+                        if (cell >= 0) {
+                            addThreat(p, cell, -1);
+                        }
+                    }
+                }
+            }
+        }
+
+        private void addThreat(int player, int cell, int delta) {
+            if ((threats[player][cell] += delta) == 0) {
+                threatBits[player][cell >>> 6] &= ~(1L << cell);
+            } else {
+                threatBits[player][cell >>> 6] |= 1L << cell;
+            }
+        }
+
+        /**
+         * Returns an empty cell of given line other than excluded cell, -1 if there is none.
+         */
+        private int findEmptyCell(int line, int excluded) {
+            long[] lineMask = masks.getLineMask(line);
+            long[] occupiedBits = board.getOccupiedBits();
+            for (int w = 0; w < lineMask.length; w++) {
+                long free = lineMask[w] & ~occupiedBits[w];
+                if (excluded >= 0 && excluded >>> 6 == w) {
+                    free &= ~(1L << excluded);
+                }
+                if (free != 0) {
+                    return (w << 6) + Long.numberOfTrailingZeros(free);
+                }
+            }
+            return -1;
+        }
+
+        private int getResult(int player) {
+            if (board.getCompletedLines()[slots[player]] > 0) {
+                return player;
+            }
+            return board.getEmptyCells() == 0 ? Node.DRAW : Node.ONGOING;
+        }
+
+        private int[] newEmptyCells() {
+            int[] cells = new int[board.getEmptyCells()];
+            collectEmptyCells(cells);
+            return cells;
+        }
+
+        private int collectEmptyCells(int[] cells) {
+            long[] boardMask = masks.getBoardMask();
+            long[] occupiedBits = board.getOccupiedBits();
+            int count = 0;
+            for (int w = 0; w < boardMask.length; w++) {
+                long free = boardMask[w] & ~occupiedBits[w];
+                while (free != 0) {
+                    cells[count++] = (w << 6) + Long.numberOfTrailingZeros(free);
+                    free &= free - 1;
+                }
+            }
+            return count;
+        }
+
+        /**
+         * Makes a move on working board and remembers it to restore board at end of iteration.
+         *
+         * @param move
+         * @param player
+         */
+        private void makeMove(int move, int player) {
+            int slot = slots[player];
+            boardService.makeMove(board, move, slot);
+            updateThreatsAfterMove(move, player);
+            pathMoves[pathLength] = move;
+            pathPlayers[pathLength] = player;
+            pathLength++;
+        }
+
+        private void unmakeMove(int move, int player) {
+            boardService.unmakeMove(board, move, slots[player]);
+            updateThreatsAfterUnmove(move, player);
+        }
+    }
+
+    /**
+     * A node of search tree, position reached by a move.
+     */
+    private static class Node {
+
+        private static final int ONGOING = -1;
+
+        private static final int DRAW = -2;
+
+        private final Node parent;
+
+        private final int move;
+
+        private final int player;
+
+        private final int result;
+
+        private final int[] untriedMoves;
+
+        private int untriedCount;
+
+        private Node[] children;
+
+        private int childCount;
+
+        private long visits;
+
+        private double reward;
+
+        /**
+         * @param parent
+         * @param move         cell index of move, -1 for root
+         * @param player       player made the move
+         * @param untriedMoves empty cells of position
+         * @param result       winner player index, DRAW or ONGOING
+         */
+        private Node(Node parent, int move, int player, int[] untriedMoves, int result) {
+            this.parent = parent;
+            this.move = move;
+            this.player = player;
+            this.result = result;
+            this.untriedMoves = untriedMoves;
+            this.untriedCount = untriedMoves != null ? untriedMoves.length : 0;
+            this.children = new Node[untriedCount];
+        }
+
+        private void addChild(Node child) {
+            children[childCount++] = child;
+        }
+    }
+}
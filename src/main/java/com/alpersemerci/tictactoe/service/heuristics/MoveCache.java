@@ -0,0 +1,180 @@
+package com.alpersemerci.tictactoe.service.heuristics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * MoveCache is a bounded, concurrent cache of best moves keyed by 64 bit position keys, shared by every game using
+ * a {@link CachingHeuristicStrategy}.
+ * <p>
+ * Entries live in a set associative table: a key maps to a bucket of 4 slots guarded by one of 64 striped locks, so
+ * a lookup is a hash and at most 4 comparisons and different buckets never contend. When a bucket is full, the slot
+ * with the lowest recent frequency is the eviction candidate and the new key is admitted only if a
+ * {@link FrequencySketch} has seen it more often than the candidate (TinyLFU admission). One-off positions of
+ * middle game therefore don't push popular opening positions out of the cache.
+ * <p>
+ * Hits, misses, evictions and rejected admissions are counted for monitoring.
+ */
+public class MoveCache {
+
+    public static final int NO_MOVE = -1;
+
+    private static final int WAYS = 4;
+
+    private static final int LOCKS = 64;
+
+    private static final long EMPTY = 0L;
+
+    private final long[] keys;
+
+    private final int[] moves;
+
+    private final int bucketMask;
+
+    private final Object[] locks = new Object[LOCKS];
+
+    private final FrequencySketch sketch;
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder evictions = new LongAdder();
+
+    private final LongAdder rejections = new LongAdder();
+
+    private final LongAdder size = new LongAdder();
+
+    /**
+     * Creates a cache with given number of entries. Capacity is rounded down to a power of two, at least 4.
+     *
+     * @param capacity
+     */
+    public MoveCache(int capacity) {
+        int buckets = Integer.highestOneBit(Math.max(WAYS, capacity)) / WAYS;
+        this.keys = new long[buckets * WAYS];
+        this.moves = new int[buckets * WAYS];
+        this.bucketMask = buckets - 1;
+        this.sketch = new FrequencySketch(keys.length);
+        for (int i = 0; i < LOCKS; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    /**
+     * Returns cached move of given key and counts the access.
+     *
+     * @param key
+     * @return move or NO_MOVE if key is not cached
+     */
+    public int get(long key) {
+        key = normalize(key);
+        sketch.increment(key);
+
+        int bucket = bucketOf(key);
+        int base = bucket * WAYS;
+        synchronized (locks[bucket & (LOCKS - 1)]) {
+            for (int i = base; i < base + WAYS; i++) {
+                if (keys[i] == key) {
+                    hits.increment();
+                    return moves[i];
+                }
+            }
+        }
+
+        misses.increment();
+        return NO_MOVE;
+    }
+
+    /**
+     * Caches given move of given key if there is room in its bucket or key is seen more often than least frequent
+     * entry of bucket.
+     *
+     * @param key
+     * @param move
+     */
+    public void put(long key, int move) {
+        key = normalize(key);
+
+        int bucket = bucketOf(key);
+        int base = bucket * WAYS;
+        synchronized (locks[bucket & (LOCKS - 1)]) {
+            int victim = -1;
+            int victimFrequency = Integer.MAX_VALUE;
+            for (int i = base; i < base + WAYS; i++) {
+                if (keys[i] == key || keys[i] == EMPTY) {
+                    if (keys[i] == EMPTY) {
+                        size.increment();
+                    }
+                    keys[i] = key;
+                    moves[i] = move;
+                    return;
+                }
+                int frequency = sketch.frequency(keys[i]);
+                if (frequency < victimFrequency) {
+                    victim = i;
+                    victimFrequency = frequency;
+                }
+            }
+
+            if (sketch.frequency(key) > victimFrequency) {
+                keys[victim] = key;
+                moves[victim] = move;
+                evictions.increment();
+            } else {
+                rejections.increment();
+            }
+        }
+    }
+
+    public int getCapacity() {
+        return keys.length;
+    }
+
+    public long getSize() {
+        return size.sum();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * @return number of new keys which were not admitted because they were less frequent than every cached key
+     */
+    public long getRejections() {
+        return rejections.sum();
+    }
+
+    /**
+     * @return ratio of lookups answered from cache
+     */
+    public double getHitRate() {
+        long lookups = getHits() + getMisses();
+        return lookups == 0 ? 0.0 : (double) getHits() / lookups;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("MoveCache(capacity=%d, size=%d, hits=%d, misses=%d, hitRate=%.3f, evictions=%d, rejections=%d)",
+                getCapacity(), getSize(), getHits(), getMisses(), getHitRate(), getEvictions(), getRejections());
+    }
+
+    private int bucketOf(long key) {
+        return (int) (key ^ (key >>> 32)) & bucketMask;
+    }
+
+    /**
+     * Empty slots are marked with key 0, a real key 0 is stored as 1.
+     */
+    private static long normalize(long key) {
+        return key == EMPTY ? 1L : key;
+    }
+}
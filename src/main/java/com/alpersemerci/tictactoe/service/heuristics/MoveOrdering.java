@@ -0,0 +1,48 @@
+package com.alpersemerci.tictactoe.service.heuristics;
+
+import com.alpersemerci.tictactoe.model.Board;
+
+/**
+ * Defines move ordering stage of alpha beta search. Alpha beta prunes most when best move is searched first,
+ * so a move ordering sorts moves of a node by how promising they look.
+ * <p>
+ * An instance belongs to a single search thread and may learn from cutoffs during search.
+ */
+public interface MoveOrdering {
+
+    /**
+     * Sorts given moves of a node in place, most promising move first.
+     *
+     * @param board
+     * @param moves       cell indexes
+     * @param moveCount   number of moves
+     * @param hashMove    best move from transposition table or previous iteration, NO_MOVE if there is none
+     * @param ply         distance of node from root
+     * @param playerIndex player to move
+     */
+    void orderMoves(Board board, int[] moves, int moveCount, int hashMove, int ply, int playerIndex);
+
+    /**
+     * Records a move causing a beta cutoff.
+     *
+     * @param move        cell index
+     * @param ply         distance of node from root
+     * @param playerIndex player to move
+     * @param depth       remaining depth of node
+     */
+    void recordCutoff(int move, int ply, int playerIndex, int depth);
+
+    /**
+     * Creates move orderings for search threads.
+     */
+    interface Factory {
+
+        /**
+         * @param boardSize
+         * @param slots     board slots of players
+         * @param maxPly    maximum distance from root
+         * @return move ordering
+         */
+        MoveOrdering create(int boardSize, int[] slots, int maxPly);
+    }
+}
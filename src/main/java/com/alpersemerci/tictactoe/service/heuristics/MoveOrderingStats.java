@@ -0,0 +1,78 @@
+package com.alpersemerci.tictactoe.service.heuristics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * MoveOrderingStats collects how well moves were ordered by alpha beta search. With a perfect ordering every cutoff
+ * happens on first move and effective branching factor (searched moves per expanded node) is minimal.
+ * <p>
+ * Search threads count locally and add their counts once per search, so collecting stats doesn't slow search down.
+ */
+public class MoveOrderingStats {
+
+    private final LongAdder nodes = new LongAdder();
+
+    private final LongAdder moves = new LongAdder();
+
+    private final LongAdder cutoffs = new LongAdder();
+
+    private final LongAdder firstMoveCutoffs = new LongAdder();
+
+    void add(long nodes, long moves, long cutoffs, long firstMoveCutoffs) {
+        this.nodes.add(nodes);
+        this.moves.add(moves);
+        this.cutoffs.add(cutoffs);
+        this.firstMoveCutoffs.add(firstMoveCutoffs);
+    }
+
+    /**
+     * @return number of expanded (not evaluated) nodes
+     */
+    public long getNodes() {
+        return nodes.sum();
+    }
+
+    /**
+     * @return number of moves searched at expanded nodes
+     */
+    public long getMoves() {
+        return moves.sum();
+    }
+
+    public long getCutoffs() {
+        return cutoffs.sum();
+    }
+
+    public long getFirstMoveCutoffs() {
+        return firstMoveCutoffs.sum();
+    }
+
+    /**
+     * @return average number of moves searched per expanded node
+     */
+    public double getBranchingFactor() {
+        long expanded = getNodes();
+        return expanded == 0 ? 0.0 : (double) getMoves() / expanded;
+    }
+
+    /**
+     * @return ratio of cutoffs caused by first searched move
+     */
+    public double getFirstMoveCutoffRate() {
+        long total = getCutoffs();
+        return total == 0 ? 0.0 : (double) getFirstMoveCutoffs() / total;
+    }
+
+    public void reset() {
+        nodes.reset();
+        moves.reset();
+        cutoffs.reset();
+        firstMoveCutoffs.reset();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("MoveOrderingStats(nodes=%d, moves=%d, branchingFactor=%.3f, cutoffs=%d, firstMoveCutoffRate=%.3f)",
+                getNodes(), getMoves(), getBranchingFactor(), getCutoffs(), getFirstMoveCutoffRate());
+    }
+}
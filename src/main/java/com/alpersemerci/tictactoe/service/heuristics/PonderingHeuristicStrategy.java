@@ -0,0 +1,229 @@
+package com.alpersemerci.tictactoe.service.heuristics;
+
+import com.alpersemerci.tictactoe.exception.InvalidMoveException;
+import com.alpersemerci.tictactoe.exception.NoPlayerInGameException;
+import com.alpersemerci.tictactoe.exception.NoPossibleMovesLeftException;
+import com.alpersemerci.tictactoe.model.Board;
+import com.alpersemerci.tictactoe.model.Cell;
+import com.alpersemerci.tictactoe.model.Game;
+import com.alpersemerci.tictactoe.service.game.BoardService;
+import com.alpersemerci.tictactoe.service.game.CellPool;
+import com.alpersemerci.tictactoe.service.game.GameService;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * PonderingHeuristicStrategy is an implementation of HeuristicStrategy.
+ * Searches with a wrapped strategy while opponent is thinking. {@link #ponder(Game)} is called when opponent's turn
+ * starts; a background thread searches opponent's position to predict its reply, then searches an answer to the
+ * predicted reply and to other replies, nearest to predicted one first. Answers are kept per position hash.
+ * <p>
+ * When it is strategy's turn pondering is cancelled. If opponent played a pondered reply, the answer is played at
+ * once, otherwise wrapped strategy searches the position. Cancelled searches leave their work in the caches of
+ * wrapped strategy (e.g. transposition table of alpha beta), so a missed ponder still shortens next search.
+ * <p>
+ * Wrapped strategy is never called by two threads at the same time: a move waits until the cancelled pondering
+ * search returns, which takes one budget check of a cooperative strategy.
+ */
+@Slf4j
+public class PonderingHeuristicStrategy implements HeuristicStrategy {
+
+    private HeuristicStrategy strategy;
+
+    private BoardService boardService;
+
+    private GameService gameService;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "pondering");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Map<Long, Integer> answers = new ConcurrentHashMap<>();
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final AtomicLong misses = new AtomicLong();
+
+    private CancellationToken token = new CancellationToken();
+
+    private Future<?> pondering;
+
+    public PonderingHeuristicStrategy(HeuristicStrategy strategy, BoardService boardService, GameService gameService) {
+        this.strategy = strategy;
+        this.boardService = boardService;
+        this.gameService = gameService;
+    }
+
+    @Override
+    public Cell getMove(Game game) throws NoPossibleMovesLeftException {
+        return CellPool.of(game.getBoard().getSize()).get(getMoveIndex(game));
+    }
+
+    @Override
+    public int getMoveIndex(Game game) throws NoPossibleMovesLeftException {
+        return getMoveIndex(game, CancellationToken.NONE);
+    }
+
+    @Override
+    public int getMoveIndex(Game game, CancellationToken token) throws NoPossibleMovesLeftException {
+        stopPondering();
+
+        Integer answer = answers.get(gameService.getPositionHash(game));
+        if (answer != null && boardService.isCellAvailableForPlay(game.getBoard(), answer)) {
+            hits.incrementAndGet();
+            log.debug("[PONDERING] [PONDER_HIT] [MOVE={}]", answer);
+            return answer;
+        }
+
+        misses.incrementAndGet();
+        log.debug("[PONDERING] [PONDER_MISS] [TURN={}]", game.getCurrentTurn());
+        return strategy.getMoveIndex(game, token);
+    }
+
+    /**
+     * Starts pondering on given game, it must be opponent's turn. Game is copied, so it can be played while
+     * pondering goes on. Previous pondering is cancelled.
+     *
+     * @param game
+     */
+    public synchronized void ponder(Game game) {
+        stopPondering();
+        answers.clear();
+
+        if (gameService.isGameOver(game) || game.getPlayerList().size() < 2) {
+            return;
+        }
+
+        Game copy = gameService.copyGame(game);
+        CancellationToken ponderToken = new CancellationToken();
+        token = ponderToken;
+        pondering = executor.submit(() -> {
+            try {
+                ponder(copy, ponderToken);
+            } catch (Exception e) {
+                log.error("[PONDERING] [PONDER_ERROR]", e);
+            }
+        });
+    }
+
+    /**
+     * Cancels pondering and waits until pondering search returns. Answers found so far are kept.
+     */
+    public synchronized void stopPondering() {
+        token.cancel();
+        if (pondering == null) {
+            return;
+        }
+
+        try {
+            pondering.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (CancellationException | ExecutionException e) {
+            log.debug("[PONDERING] [STOP_PONDERING] [ERROR={}]", e.getMessage());
+        }
+        pondering = null;
+    }
+
+    /**
+     * Waits until current pondering finishes all replies without cancelling it.
+     *
+     * @throws InterruptedException
+     * @throws ExecutionException
+     */
+    void awaitPondering() throws InterruptedException, ExecutionException {
+        Future<?> future;
+        synchronized (this) {
+            future = pondering;
+        }
+        if (future != null) {
+            future.get();
+        }
+    }
+
+    /**
+     * Stops pondering thread, strategy can't ponder afterwards.
+     */
+    public void shutdown() {
+        stopPondering();
+        executor.shutdownNow();
+    }
+
+    /**
+     * @return number of moves answered from pondering
+     */
+    public long getPonderHits() {
+        return hits.get();
+    }
+
+    /**
+     * @return number of moves searched after pondering
+     */
+    public long getPonderMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Predicts opponent's reply and searches answers to replies until all of them are searched or token is
+     * cancelled.
+     *
+     * @param game  copy of game, opponent to move
+     * @param token
+     */
+    private void ponder(Game game, CancellationToken token) throws NoPossibleMovesLeftException, InvalidMoveException, NoPlayerInGameException {
+        Board board = game.getBoard();
+        int predicted = strategy.getMoveIndex(game, token);
+        if (token.isCancelled()) {
+            return;
+        }
+
+        for (int reply : getReplies(board, predicted)) {
+            Cell cell = CellPool.of(board.getSize()).get(reply);
+            gameService.play(game, cell);
+
+            if (!gameService.isGameOver(game)) {
+                int answer = strategy.getMoveIndex(game, token);
+                if (token.isCancelled()) {
+                    //Answer of a cancelled search may be weaker than a complete search, it isn't kept
+                    return;
+                }
+                answers.put(gameService.getPositionHash(game), answer);
+            }
+
+            gameService.undo(game, cell);
+        }
+        log.debug("[PONDERING] [PONDER_COMPLETED] [ANSWERS={}]", answers.size());
+    }
+
+    /**
+     * Returns empty cells in order of pondering: predicted reply, then others by Chebyshev distance to it.
+     *
+     * @param board
+     * @param predicted
+     * @return cell indexes
+     */
+    private List<Integer> getReplies(Board board, int predicted) {
+        int size = board.getSize();
+        List<Integer> replies = new ArrayList<>(board.getEmptyCells());
+        for (int index = boardService.nextAvailableCell(board, 0); index > -1; index = boardService.nextAvailableCell(board, index + 1)) {
+            replies.add(index);
+        }
+
+        replies.sort((a, b) -> Integer.compare(
+                Math.max(Math.abs(a / size - predicted / size), Math.abs(a % size - predicted % size)),
+                Math.max(Math.abs(b / size - predicted / size), Math.abs(b % size - predicted % size))));
+        return replies;
+    }
+}
@@ -1,14 +1,13 @@
 package com.alpersemerci.tictactoe.service.heuristics;
 
 import com.alpersemerci.tictactoe.exception.NoPossibleMovesLeftException;
+import com.alpersemerci.tictactoe.model.Board;
 import com.alpersemerci.tictactoe.model.Cell;
 import com.alpersemerci.tictactoe.model.Game;
 import com.alpersemerci.tictactoe.service.game.BoardService;
+import com.alpersemerci.tictactoe.service.game.CellPool;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Random;
-import java.util.stream.IntStream;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * RandomHeuristicStrategy is an implementation of HeuristicStrategy.
@@ -32,22 +31,21 @@ public class RandomHeuristicStrategy implements HeuristicStrategy {
      */
     @Override
     public Cell getMove(Game game) throws NoPossibleMovesLeftException {
-        Integer boardSize = game.getBoard().getSize();
-        List<Cell> emptyCells = new ArrayList<>();
-
-        //First collect all empty cells
-        IntStream.range(0, boardSize).forEach(i ->
-            IntStream.range(0, boardSize).forEach(j -> {
-                Cell cell = new Cell(i, j);
-                if (boardService.isCellAvailableForPlay(game.getBoard(), cell)) {
-                    emptyCells.add(cell);
-                }
-            })
-        );
-
-        //Than pick a watermelon...
-        if (!emptyCells.isEmpty()) {
-            return emptyCells.get(new Random().nextInt(emptyCells.size()));
+        return CellPool.of(game.getBoard().getSize()).get(getMoveIndex(game));
+    }
+
+    @Override
+    public int getMoveIndex(Game game) throws NoPossibleMovesLeftException {
+        Board board = game.getBoard();
+
+        //Pick a watermelon by its position among empty cells, than walk empty cells to it
+        if (board.getEmptyCells() > 0) {
+            int skip = ThreadLocalRandom.current().nextInt(board.getEmptyCells());
+            int index = boardService.nextAvailableCell(board, 0);
+            while (skip-- > 0) {
+                index = boardService.nextAvailableCell(board, index + 1);
+            }
+            return index;
         }
 
         throw new NoPossibleMovesLeftException("Random Heuristic Strategy can not find possible move!");
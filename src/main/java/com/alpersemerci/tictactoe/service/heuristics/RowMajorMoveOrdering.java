@@ -0,0 +1,28 @@
+package com.alpersemerci.tictactoe.service.heuristics;
+
+import com.alpersemerci.tictactoe.model.Board;
+
+/**
+ * RowMajorMoveOrdering is an implementation of MoveOrdering.
+ * Keeps row major order of moves and only moves hash move to front. It is the baseline for measuring other orderings.
+ */
+public class RowMajorMoveOrdering implements MoveOrdering {
+
+    @Override
+    public void orderMoves(Board board, int[] moves, int moveCount, int hashMove, int ply, int playerIndex) {
+        if (hashMove == TranspositionTable.NO_MOVE) {
+            return;
+        }
+        for (int i = 0; i < moveCount; i++) {
+            if (moves[i] == hashMove) {
+                System.arraycopy(moves, 0, moves, 1, i);
+                moves[0] = hashMove;
+                return;
+            }
+        }
+    }
+
+    @Override
+    public void recordCutoff(int move, int ply, int playerIndex, int depth) {
+    }
+}
@@ -0,0 +1,128 @@
+package com.alpersemerci.tictactoe.service.heuristics;
+
+/**
+ * SearchMetrics describes cost of a single move search: visited nodes, evaluated leaves, beta cutoffs, reached depth,
+ * transposition table hits and elapsed time. Meaning of a node depends on strategy, it is a searched position for
+ * alpha beta search and an expanded tree node for Monte Carlo tree search.
+ * <p>
+ * Search threads count into plain fields of their own working state and counts are added here once, when search is
+ * over, so counting costs a register increment per node.
+ */
+public class SearchMetrics {
+
+    private final String strategy;
+
+    private final int boardSize;
+
+    private long nodes;
+
+    private long evaluations;
+
+    private long cutoffs;
+
+    private long tableProbes;
+
+    private long tableHits;
+
+    private int depth;
+
+    private int threads;
+
+    private long elapsedNanos;
+
+    public SearchMetrics(String strategy, int boardSize) {
+        this.strategy = strategy;
+        this.boardSize = boardSize;
+    }
+
+    /**
+     * Adds counts of a search thread.
+     *
+     * @param nodes
+     * @param evaluations
+     * @param cutoffs
+     * @param tableProbes
+     * @param tableHits
+     */
+    void add(long nodes, long evaluations, long cutoffs, long tableProbes, long tableHits) {
+        this.nodes += nodes;
+        this.evaluations += evaluations;
+        this.cutoffs += cutoffs;
+        this.tableProbes += tableProbes;
+        this.tableHits += tableHits;
+        this.threads++;
+    }
+
+    void setDepth(int depth) {
+        this.depth = depth;
+    }
+
+    void setElapsedNanos(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public String getStrategy() {
+        return strategy;
+    }
+
+    public int getBoardSize() {
+        return boardSize;
+    }
+
+    public long getNodes() {
+        return nodes;
+    }
+
+    /**
+     * @return number of heuristically evaluated leaves, random games for Monte Carlo tree search
+     */
+    public long getEvaluations() {
+        return evaluations;
+    }
+
+    public long getCutoffs() {
+        return cutoffs;
+    }
+
+    public long getTableProbes() {
+        return tableProbes;
+    }
+
+    public long getTableHits() {
+        return tableHits;
+    }
+
+    public double getTableHitRate() {
+        return tableProbes == 0 ? 0.0 : (double) tableHits / tableProbes;
+    }
+
+    /**
+     * @return deepest completed iteration for alpha beta search, deepest tree path for Monte Carlo tree search
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * @return number of search threads counts were collected from
+     */
+    public int getThreads() {
+        return threads;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public double getNodesPerSecond() {
+        return elapsedNanos == 0 ? 0.0 : nodes * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("[SEARCH] [STRATEGY=%s] [BOARD_SIZE=%d] [DEPTH=%d] [NODES=%d] [EVALUATIONS=%d] [CUTOFFS=%d] "
+                        + "[TT_HIT_RATE=%.3f] [THREADS=%d] [ELAPSED_US=%d] [NODES_PER_SEC=%.0f]",
+                strategy, boardSize, depth, nodes, evaluations, cutoffs, getTableHitRate(), threads, elapsedNanos / 1000,
+                getNodesPerSecond());
+    }
+}
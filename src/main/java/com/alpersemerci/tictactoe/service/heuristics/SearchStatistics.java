@@ -0,0 +1,201 @@
+package com.alpersemerci.tictactoe.service.heuristics;
+
+import com.alpersemerci.tictactoe.service.config.ConfigService;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * SearchStatistics sums up {@link SearchMetrics} of all moves searched by a strategy type in this process. Statistics
+ * of a strategy type are shared by all its instances and published as a JMX MBean named
+ * {@code com.alpersemerci.tictactoe:type=SearchStatistics,strategy=<strategy>}, use {@link #of(String)} to get them.
+ * <p>
+ * Recording a move is a handful of LongAdder additions, moves searched at the same time by different games don't
+ * contend. Every recorded move is logged as a structured line, at info level when {@code ai.search.metrics.log} is
+ * enabled and at debug level otherwise.
+ */
+@Slf4j
+public class SearchStatistics implements SearchStatisticsMBean {
+
+    private static final String OBJECT_NAME = "com.alpersemerci.tictactoe:type=SearchStatistics,strategy=";
+
+    private static final ConcurrentMap<String, SearchStatistics> STATISTICS = new ConcurrentHashMap<>();
+
+    private final LongAdder moves = new LongAdder();
+
+    private final LongAdder nodes = new LongAdder();
+
+    private final LongAdder evaluations = new LongAdder();
+
+    private final LongAdder cutoffs = new LongAdder();
+
+    private final LongAdder tableProbes = new LongAdder();
+
+    private final LongAdder tableHits = new LongAdder();
+
+    private final LongAdder depths = new LongAdder();
+
+    private final LongAdder elapsedNanos = new LongAdder();
+
+    private final LongAccumulator maxDepth = new LongAccumulator(Math::max, 0L);
+
+    private final LongAccumulator maxElapsedNanos = new LongAccumulator(Math::max, 0L);
+
+    private volatile int lastDepth;
+
+    private final boolean logMetrics;
+
+    SearchStatistics() {
+        this.logMetrics = Boolean.parseBoolean(Optional.ofNullable(ConfigService.getInstance()
+                .getConfigValue("ai.search.metrics.log")).orElse("false").trim());
+    }
+
+    /**
+     * Returns statistics of given strategy type, registers them as MBean on first call.
+     *
+     * @param strategy
+     * @return shared statistics
+     */
+    public static SearchStatistics of(String strategy) {
+        return STATISTICS.computeIfAbsent(strategy, SearchStatistics::register);
+    }
+
+    private static SearchStatistics register(String strategy) {
+        SearchStatistics statistics = new SearchStatistics();
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(statistics, new ObjectName(OBJECT_NAME + strategy));
+        } catch (JMException e) {
+            log.warn("[SEARCH_STATISTICS] [MBEAN_NOT_REGISTERED] [STRATEGY={}]", strategy, e);
+        }
+        return statistics;
+    }
+
+    /**
+     * Adds metrics of a searched move.
+     *
+     * @param metrics
+     */
+    public void record(SearchMetrics metrics) {
+        moves.increment();
+        nodes.add(metrics.getNodes());
+        evaluations.add(metrics.getEvaluations());
+        cutoffs.add(metrics.getCutoffs());
+        tableProbes.add(metrics.getTableProbes());
+        tableHits.add(metrics.getTableHits());
+        depths.add(metrics.getDepth());
+        elapsedNanos.add(metrics.getElapsedNanos());
+        maxDepth.accumulate(metrics.getDepth());
+        maxElapsedNanos.accumulate(metrics.getElapsedNanos());
+        lastDepth = metrics.getDepth();
+
+        if (logMetrics) {
+            log.info("{}", metrics);
+        } else {
+            log.debug("{}", metrics);
+        }
+    }
+
+    @Override
+    public long getMoves() {
+        return moves.sum();
+    }
+
+    @Override
+    public long getNodes() {
+        return nodes.sum();
+    }
+
+    @Override
+    public long getEvaluations() {
+        return evaluations.sum();
+    }
+
+    @Override
+    public long getCutoffs() {
+        return cutoffs.sum();
+    }
+
+    @Override
+    public long getTableProbes() {
+        return tableProbes.sum();
+    }
+
+    @Override
+    public long getTableHits() {
+        return tableHits.sum();
+    }
+
+    @Override
+    public double getTableHitRate() {
+        long probes = getTableProbes();
+        return probes == 0 ? 0.0 : (double) getTableHits() / probes;
+    }
+
+    @Override
+    public int getLastDepth() {
+        return lastDepth;
+    }
+
+    @Override
+    public int getMaxDepth() {
+        return (int) maxDepth.get();
+    }
+
+    @Override
+    public double getAverageDepth() {
+        long count = getMoves();
+        return count == 0 ? 0.0 : (double) depths.sum() / count;
+    }
+
+    @Override
+    public long getTotalElapsedMillis() {
+        return elapsedNanos.sum() / 1_000_000L;
+    }
+
+    @Override
+    public double getAverageMoveMillis() {
+        long count = getMoves();
+        return count == 0 ? 0.0 : elapsedNanos.sum() / 1_000_000.0 / count;
+    }
+
+    @Override
+    public long getMaxMoveMillis() {
+        return maxElapsedNanos.get() / 1_000_000L;
+    }
+
+    @Override
+    public double getNodesPerSecond() {
+        long nanos = elapsedNanos.sum();
+        return nanos == 0 ? 0.0 : getNodes() * 1_000_000_000.0 / nanos;
+    }
+
+    @Override
+    public void reset() {
+        moves.reset();
+        nodes.reset();
+        evaluations.reset();
+        cutoffs.reset();
+        tableProbes.reset();
+        tableHits.reset();
+        depths.reset();
+        elapsedNanos.reset();
+        maxDepth.reset();
+        maxElapsedNanos.reset();
+        lastDepth = 0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("SearchStatistics(moves=%d, nodes=%d, nodesPerSecond=%.0f, averageDepth=%.2f, tableHitRate=%.3f, "
+                        + "averageMoveMillis=%.3f, maxMoveMillis=%d)",
+                getMoves(), getNodes(), getNodesPerSecond(), getAverageDepth(), getTableHitRate(), getAverageMoveMillis(),
+                getMaxMoveMillis());
+    }
+}
@@ -0,0 +1,37 @@
+package com.alpersemerci.tictactoe.service.heuristics;
+
+/**
+ * JMX management interface of {@link SearchStatistics}.
+ */
+public interface SearchStatisticsMBean {
+
+    long getMoves();
+
+    long getNodes();
+
+    long getEvaluations();
+
+    long getCutoffs();
+
+    long getTableProbes();
+
+    long getTableHits();
+
+    double getTableHitRate();
+
+    int getLastDepth();
+
+    int getMaxDepth();
+
+    double getAverageDepth();
+
+    long getTotalElapsedMillis();
+
+    double getAverageMoveMillis();
+
+    long getMaxMoveMillis();
+
+    double getNodesPerSecond();
+
+    void reset();
+}
@@ -0,0 +1,231 @@
+package com.alpersemerci.tictactoe.service.heuristics;
+
+import com.alpersemerci.tictactoe.exception.InvalidBoardSizeException;
+import com.alpersemerci.tictactoe.model.Board;
+import com.alpersemerci.tictactoe.service.game.BoardMasks;
+import com.alpersemerci.tictactoe.service.game.BoardSymmetry;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * SolvedPositionDatabase answers perfect play moves of two player games from a file written by
+ * {@link SolvedPositionDatabaseGenerator}.
+ * <p>
+ * Positions are encoded relative to player to move: every cell is a base 3 digit, 0 for empty, 1 for player to move
+ * and 2 for opponent. Code of a position is the smallest code of its 8 rotations and reflections, so symmetric
+ * positions share a record and moves are stored in that canonical frame.
+ * <p>
+ * File layout (big endian): magic, version, board size and record count as ints, record codes as ascending ints,
+ * then 2 bytes per record: score of player to move and best move. Score is positive for a win, negative for a loss
+ * and 0 for a draw, a larger magnitude means a faster win (or a slower loss).
+ * <p>
+ * File is memory mapped read only and looked up with a binary search, so nothing is loaded on heap and all JVMs on
+ * a host share the same pages through page cache. Lookups are thread safe.
+ *
+ * @author Alper Semerci
+ */
+public class SolvedPositionDatabase {
+
+    static final int MAGIC = 0x54545444;
+
+    static final int VERSION = 1;
+
+    static final int HEADER_BYTES = 16;
+
+    static final int MAX_BOARD_SIZE = 4;
+
+    static final int[] POWERS_OF_THREE = new int[MAX_BOARD_SIZE * MAX_BOARD_SIZE];
+
+    static {
+        POWERS_OF_THREE[0] = 1;
+        for (int i = 1; i < POWERS_OF_THREE.length; i++) {
+            POWERS_OF_THREE[i] = POWERS_OF_THREE[i - 1] * 3;
+        }
+    }
+
+    private final MappedByteBuffer buffer;
+
+    private final int size;
+
+    private final int count;
+
+    private SolvedPositionDatabase(MappedByteBuffer buffer, int size, int count) {
+        this.buffer = buffer;
+        this.size = size;
+        this.count = count;
+    }
+
+    /**
+     * Memory maps given database file.
+     *
+     * @param path
+     * @return database
+     * @throws IOException if file can't be read or it is not a valid database
+     */
+    public static SolvedPositionDatabase open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+                throw new IOException(path + " is not a solved position database");
+            }
+
+            int size = buffer.getInt(8);
+            int count = buffer.getInt(12);
+            if (size < 1 || size > MAX_BOARD_SIZE || buffer.capacity() != HEADER_BYTES + 6L * count) {
+                throw new IOException(path + " is corrupted");
+            }
+            return new SolvedPositionDatabase(buffer, size, count);
+        }
+    }
+
+    /**
+     * Returns database file name for given board size.
+     *
+     * @param size
+     * @return file name
+     */
+    public static String getFileName(int size) {
+        return "solved-positions-" + size + "x" + size + ".db";
+    }
+
+    /**
+     * Checks given board size can be solved into a database.
+     *
+     * @param size
+     * @throws InvalidBoardSizeException
+     */
+    static void validateSize(int size) throws InvalidBoardSizeException {
+        if (size < 1 || size > MAX_BOARD_SIZE) {
+            throw new InvalidBoardSizeException("Solved position database supports board sizes up to " + MAX_BOARD_SIZE);
+        }
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public int getPositionCount() {
+        return count;
+    }
+
+    /**
+     * Looks up a position of given board.
+     *
+     * @param board
+     * @param moverSlot    board slot of player to move
+     * @param opponentSlot board slot of opponent
+     * @param entry        holder of found record, move is a cell index of given board
+     * @return true if position is found
+     */
+    public boolean lookup(Board board, int moverSlot, int opponentSlot, Entry entry) {
+        if (board.getSize() != size) {
+            return false;
+        }
+
+        byte[] cells = new byte[size * size];
+        long[][] playerBits = board.getPlayerBits();
+        for (int index = 0; index < cells.length; index++) {
+            if (BoardMasks.isSet(playerBits[moverSlot], index)) {
+                cells[index] = 1;
+            } else if (BoardMasks.isSet(playerBits[opponentSlot], index)) {
+                cells[index] = 2;
+            } else if (BoardMasks.isSet(board.getOccupiedBits(), index)) {
+                //A third player's stone, position can't be in a two player database
+                return false;
+            }
+        }
+
+        BoardSymmetry symmetry = BoardSymmetry.of(size);
+        int canonicalSymmetry = getCanonicalSymmetry(cells, symmetry, 1);
+        int record = find(encode(cells, symmetry.getTransform(canonicalSymmetry), 1));
+        if (record < 0) {
+            return false;
+        }
+
+        int entryOffset = HEADER_BYTES + 4 * count + 2 * record;
+        entry.score = buffer.get(entryOffset);
+        entry.move = symmetry.getInverse(canonicalSymmetry)[buffer.get(entryOffset + 1)];
+        return true;
+    }
+
+    private int find(int code) {
+        int low = 0;
+        int high = count - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int middleCode = buffer.getInt(HEADER_BYTES + 4 * middle);
+            if (middleCode < code) {
+                low = middle + 1;
+            } else if (middleCode > code) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Encodes cells placed by given transform relative to given player to move.
+     *
+     * @param cells     0 for empty cell, otherwise player of cell
+     * @param transform symmetry permutation
+     * @param mover     player to move
+     * @return code
+     */
+    static int encode(byte[] cells, int[] transform, int mover) {
+        int code = 0;
+        for (int index = 0; index < cells.length; index++) {
+            if (cells[index] != 0) {
+                code += (cells[index] == mover ? 1 : 2) * POWERS_OF_THREE[transform[index]];
+            }
+        }
+        return code;
+    }
+
+    /**
+     * Returns symmetry giving smallest code of given cells.
+     *
+     * @param cells
+     * @param symmetry
+     * @param mover
+     * @return canonical symmetry
+     */
+    static int getCanonicalSymmetry(byte[] cells, BoardSymmetry symmetry, int mover) {
+        int canonical = 0;
+        int canonicalCode = encode(cells, symmetry.getTransform(0), mover);
+        for (int t = 1; t < BoardSymmetry.COUNT; t++) {
+            int code = encode(cells, symmetry.getTransform(t), mover);
+            if (code < canonicalCode) {
+                canonical = t;
+                canonicalCode = code;
+            }
+        }
+        return canonical;
+    }
+
+    /**
+     * Mutable holder of a looked up record.
+     */
+    public static class Entry {
+
+        private int score;
+
+        private int move;
+
+        /**
+         * @return positive for a win, negative for a loss and 0 for a draw of player to move
+         */
+        public int getScore() {
+            return score;
+        }
+
+        public int getMove() {
+            return move;
+        }
+    }
+}
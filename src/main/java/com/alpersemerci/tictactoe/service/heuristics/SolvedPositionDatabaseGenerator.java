@@ -0,0 +1,168 @@
+package com.alpersemerci.tictactoe.service.heuristics;
+
+import com.alpersemerci.tictactoe.exception.InvalidBoardSizeException;
+import com.alpersemerci.tictactoe.service.game.BoardMasks;
+import com.alpersemerci.tictactoe.service.game.BoardSymmetry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+
+/**
+ * SolvedPositionDatabaseGenerator solves every position reachable from an empty board of a two player game and
+ * writes a {@link SolvedPositionDatabase} file. Positions are solved by a negamax search memoized by canonical
+ * position code, so every canonical position is solved once.
+ * <p>
+ * It is an offline tool, usage: {@code SolvedPositionDatabaseGenerator <directory> [size...]}, sizes default to 3
+ * and 4. Solving 4x4 board needs about 100 MB of heap.
+ *
+ * @author Alper Semerci
+ */
+@Slf4j
+public class SolvedPositionDatabaseGenerator {
+
+    private final int size;
+
+    private final BoardMasks masks;
+
+    private final BoardSymmetry symmetry;
+
+    private final byte[] cells;
+
+    private final byte[] scores;
+
+    //best move + 1 in canonical frame, 0 means position is not solved yet
+    private final byte[] moves;
+
+    public SolvedPositionDatabaseGenerator(int size) throws InvalidBoardSizeException {
+        SolvedPositionDatabase.validateSize(size);
+        int cellCount = size * size;
+        this.size = size;
+        this.masks = BoardMasks.of(size);
+        this.symmetry = BoardSymmetry.of(size);
+        this.cells = new byte[cellCount];
+        this.scores = new byte[SolvedPositionDatabase.POWERS_OF_THREE[cellCount - 1] * 3];
+        this.moves = new byte[scores.length];
+    }
+
+    public static void main(String[] args) throws IOException, InvalidBoardSizeException {
+        Path directory = Paths.get(args.length > 0 ? args[0] : ".");
+        String[] sizes = args.length > 1 ? Arrays.copyOfRange(args, 1, args.length) : new String[]{"3", "4"};
+
+        Files.createDirectories(directory);
+        for (String size : sizes) {
+            int boardSize = Integer.parseInt(size);
+            new SolvedPositionDatabaseGenerator(boardSize).generate(directory.resolve(SolvedPositionDatabase.getFileName(boardSize)));
+        }
+    }
+
+    /**
+     * Solves all positions and writes database file. File is written next to given path first and moved into place,
+     * so a reader never maps a partially written file.
+     *
+     * @param path
+     * @return number of positions written
+     * @throws IOException
+     */
+    public int generate(Path path) throws IOException {
+        long start = System.nanoTime();
+        int rootScore = solve(1, cells.length);
+
+        int count = 0;
+        for (byte move : moves) {
+            if (move != 0) {
+                count++;
+            }
+        }
+
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+            output.writeInt(SolvedPositionDatabase.MAGIC);
+            output.writeInt(SolvedPositionDatabase.VERSION);
+            output.writeInt(size);
+            output.writeInt(count);
+            for (int code = 0; code < moves.length; code++) {
+                if (moves[code] != 0) {
+                    output.writeInt(code);
+                }
+            }
+            for (int code = 0; code < moves.length; code++) {
+                if (moves[code] != 0) {
+                    output.writeByte(scores[code]);
+                    output.writeByte(moves[code] - 1);
+                }
+            }
+        }
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        log.info("[SOLVED_POSITION_GENERATOR] [SIZE={}] [POSITIONS={}] [ROOT_SCORE={}] [ELAPSED_MS={}] [FILE={}]",
+                size, count, rootScore, (System.nanoTime() - start) / 1_000_000L, path);
+        return count;
+    }
+
+    /**
+     * Solves current position for given player to move. Game must not be over.
+     *
+     * @param mover player to move, 1 or 2
+     * @param empty number of empty cells
+     * @return score of player to move
+     */
+    private int solve(int mover, int empty) {
+        int canonicalSymmetry = SolvedPositionDatabase.getCanonicalSymmetry(cells, symmetry, mover);
+        int code = SolvedPositionDatabase.encode(cells, symmetry.getTransform(canonicalSymmetry), mover);
+        if (moves[code] != 0) {
+            return scores[code];
+        }
+
+        int best = Integer.MIN_VALUE;
+        int bestMove = -1;
+        for (int index = 0; index < cells.length; index++) {
+            if (cells[index] != 0) {
+                continue;
+            }
+
+            cells[index] = (byte) mover;
+            int score;
+            if (isWinnerMove(index, mover)) {
+                //Faster wins score higher
+                score = empty;
+            } else if (empty == 1) {
+                score = 0;
+            } else {
+                score = -solve(3 - mover, empty - 1);
+            }
+            cells[index] = 0;
+
+            if (score > best) {
+                best = score;
+                bestMove = index;
+            }
+        }
+
+        scores[code] = (byte) best;
+        moves[code] = (byte) (symmetry.getTransform(canonicalSymmetry)[bestMove] + 1);
+        return best;
+    }
+
+    private boolean isWinnerMove(int index, int mover) {
+        for (int line : masks.getCellLines(index)) {
+            boolean completed = true;
+            for (int cell : masks.getLineCells(line)) {
+                if (cells[cell] != mover) {
+                    completed = false;
+                    break;
+                }
+            }
+            if (completed) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
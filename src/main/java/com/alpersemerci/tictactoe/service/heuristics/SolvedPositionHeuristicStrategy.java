@@ -0,0 +1,119 @@
+package com.alpersemerci.tictactoe.service.heuristics;
+
+import com.alpersemerci.tictactoe.exception.NoPossibleMovesLeftException;
+import com.alpersemerci.tictactoe.model.Board;
+import com.alpersemerci.tictactoe.model.Cell;
+import com.alpersemerci.tictactoe.model.Game;
+import com.alpersemerci.tictactoe.service.config.ConfigService;
+import com.alpersemerci.tictactoe.service.game.BoardService;
+import com.alpersemerci.tictactoe.service.game.CellPool;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * SolvedPositionHeuristicStrategy is an implementation of HeuristicStrategy.
+ * Plays perfect moves of two player games looked up from memory mapped {@link SolvedPositionDatabase} files.
+ * <p>
+ * Database of a board size is opened on first move of that size from configured directory. Games which are not
+ * covered by a database (more than two players, larger boards, win lengths shorter than board size, missing files)
+ * are played by fallback strategy.
+ */
+@Slf4j
+public class SolvedPositionHeuristicStrategy implements HeuristicStrategy {
+
+    private static final String DEFAULT_DATABASE_DIRECTORY = "solved-positions";
+
+    private BoardService boardService;
+
+    private HeuristicStrategy fallbackStrategy;
+
+    private Path databaseDirectory;
+
+    private final ConcurrentMap<Integer, Optional<SolvedPositionDatabase>> databases = new ConcurrentHashMap<>();
+
+    public SolvedPositionHeuristicStrategy(BoardService boardService, HeuristicStrategy fallbackStrategy) {
+        this(boardService, fallbackStrategy, Paths.get(Optional.ofNullable(ConfigService.getInstance()
+                .getConfigValue("ai.solved.position.database.directory")).orElse(DEFAULT_DATABASE_DIRECTORY)));
+    }
+
+    public SolvedPositionHeuristicStrategy(BoardService boardService, HeuristicStrategy fallbackStrategy, Path databaseDirectory) {
+        this.boardService = boardService;
+        this.fallbackStrategy = fallbackStrategy;
+        this.databaseDirectory = databaseDirectory;
+    }
+
+    @Override
+    public Cell getMove(Game game) throws NoPossibleMovesLeftException {
+        int move = lookupMove(game);
+        return move != TranspositionTable.NO_MOVE ? CellPool.of(game.getBoard().getSize()).get(move) : fallbackStrategy.getMove(game);
+    }
+
+    @Override
+    public int getMoveIndex(Game game) throws NoPossibleMovesLeftException {
+        int move = lookupMove(game);
+        return move != TranspositionTable.NO_MOVE ? move : fallbackStrategy.getMoveIndex(game);
+    }
+
+    @Override
+    public int getMoveIndex(Game game, CancellationToken token) throws NoPossibleMovesLeftException {
+        int move = lookupMove(game);
+        return move != TranspositionTable.NO_MOVE ? move : fallbackStrategy.getMoveIndex(game, token);
+    }
+
+    /**
+     * Looks up perfect move of given game from database of its board size.
+     *
+     * @param game
+     * @return cell index of move, NO_MOVE if game isn't covered by a database
+     */
+    private int lookupMove(Game game) {
+        Board board = game.getBoard();
+
+        //Databases are solved for full line wins only
+        if (game.getPlayerList().size() == 2 && board.getWinLength().equals(board.getSize())) {
+            Optional<SolvedPositionDatabase> database = databases.computeIfAbsent(board.getSize(), this::openDatabase);
+            if (database.isPresent()) {
+                int turn = game.getCurrentTurn();
+                int moverSlot = boardService.getPlayerSlot(board, game.getPlayerList().get(turn % 2));
+                int opponentSlot = boardService.getPlayerSlot(board, game.getPlayerList().get((turn + 1) % 2));
+
+                SolvedPositionDatabase.Entry entry = new SolvedPositionDatabase.Entry();
+                if (database.get().lookup(board, moverSlot, opponentSlot, entry)) {
+                    return entry.getMove();
+                }
+            }
+        }
+
+        return TranspositionTable.NO_MOVE;
+    }
+
+    /**
+     * Opens database of given board size, empty if there is no usable database file.
+     *
+     * @param size
+     * @return database
+     */
+    private Optional<SolvedPositionDatabase> openDatabase(Integer size) {
+        Path path = databaseDirectory.resolve(SolvedPositionDatabase.getFileName(size));
+        if (!Files.isReadable(path)) {
+            log.info("[SOLVED_POSITION] [DATABASE_NOT_FOUND] [PATH={}]", path);
+            return Optional.empty();
+        }
+
+        try {
+            SolvedPositionDatabase database = SolvedPositionDatabase.open(path);
+            log.info("[SOLVED_POSITION] [DATABASE_OPENED] [PATH={}] [POSITIONS={}]", path, database.getPositionCount());
+            return Optional.of(database);
+        } catch (IOException e) {
+            log.error("[SOLVED_POSITION] [DATABASE_ERROR] [PATH={}]", path, e);
+            return Optional.empty();
+        }
+    }
+}
@@ -1,13 +1,11 @@
 package com.alpersemerci.tictactoe.service.heuristics;
 
 import com.alpersemerci.tictactoe.exception.NoPossibleMovesLeftException;
+import com.alpersemerci.tictactoe.model.Board;
 import com.alpersemerci.tictactoe.model.Cell;
 import com.alpersemerci.tictactoe.model.Game;
 import com.alpersemerci.tictactoe.service.game.BoardService;
-
-import java.util.PriorityQueue;
-import java.util.Queue;
-import java.util.stream.IntStream;
+import com.alpersemerci.tictactoe.service.game.CellPool;
 
 /**
  * StayCloseToCenterHeuristicStrategy is an implementation of HeuristicStrategy.
@@ -32,32 +30,44 @@ public class StayCloseToCenterHeuristicStrategy implements HeuristicStrategy {
      */
     @Override
     public Cell getMove(Game game) throws NoPossibleMovesLeftException {
-        Integer boardSize = game.getBoard().getSize();
-
-        //Create a PriorityQueue with Manhattan Distance Algorithm.
-        Queue<Cell> bestPossibleMoves = new PriorityQueue<>((c1, c2) -> {
-            Integer center = boardSize / 2;
-            Integer c1Distance = Math.abs(c1.getRow() - center) + Math.abs(c1.getColumn() - center);
-            Integer c2Distance = Math.abs(c2.getRow() - center) + Math.abs(c2.getColumn() - center);
-            return c1Distance - c2Distance;
-        });
-
-        //Create queue
-        IntStream.range(0, boardSize).forEach(i ->
-            IntStream.range(0, boardSize).forEach(j -> {
-                Cell cell = new Cell(i, j);
-                if (boardService.isCellAvailableForPlay(game.getBoard(), cell)) {
-                    bestPossibleMoves.add(cell);
-                }
-            })
-        );
+        return CellPool.of(game.getBoard().getSize()).get(getMoveIndex(game));
+    }
+
+    @Override
+    public int getMoveIndex(Game game) throws NoPossibleMovesLeftException {
+        Board board = game.getBoard();
+        int boardSize = board.getSize();
+
+        //Nearest empty cell by Manhattan Distance, first one in row major order on ties
+        int bestMove = -1;
+        int bestDistance = Integer.MAX_VALUE;
+        for (int index = boardService.nextAvailableCell(board, 0); index > -1; index = boardService.nextAvailableCell(board, index + 1)) {
+            int distance = getCenterDistance(boardSize, index / boardSize, index % boardSize);
+            if (distance < bestDistance) {
+                bestMove = index;
+                bestDistance = distance;
+            }
+        }
 
         //Than pick a watermelon...
-        if (bestPossibleMoves.isEmpty()) {
+        if (bestMove < 0) {
             throw new NoPossibleMovesLeftException("Stay Close To Center Heuristic Strategy can not find possible move!");
         }
 
-        return bestPossibleMoves.poll();
+        return bestMove;
+    }
+
+    /**
+     * Returns Manhattan distance of given cell from center of board.
+     *
+     * @param boardSize
+     * @param row
+     * @param column
+     * @return distance
+     */
+    public static int getCenterDistance(int boardSize, int row, int column) {
+        int center = boardSize / 2;
+        return Math.abs(row - center) + Math.abs(column - center);
     }
 
 }
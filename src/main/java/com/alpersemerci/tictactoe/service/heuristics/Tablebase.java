@@ -0,0 +1,130 @@
+package com.alpersemerci.tictactoe.service.heuristics;
+
+import com.alpersemerci.tictactoe.exception.InvalidBoardSizeException;
+import com.alpersemerci.tictactoe.exception.InvalidWinLengthException;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Tablebase answers win, draw or loss of every two player position of a board size and win length from a file
+ * written by {@link TablebaseGenerator}. Positions are addressed by {@link TablebaseIndex}, so a lookup is a rank
+ * computation and a single byte read, whatever the position is.
+ * <p>
+ * File layout (big endian): magic, version, board size and win length as ints, position count as a long, then 2 bits
+ * per position, 4 positions per byte starting from lowest bits. Values are from the view of player to move.
+ * <p>
+ * File is memory mapped read only and shared by all threads.
+ *
+ * @author Alper Semerci
+ */
+public class Tablebase {
+
+    public static final int ILLEGAL = 0;
+
+    public static final int LOSS = 1;
+
+    public static final int DRAW = 2;
+
+    public static final int WIN = 3;
+
+    static final int MAGIC = 0x54545442;
+
+    static final int VERSION = 1;
+
+    static final int HEADER_BYTES = 24;
+
+    private final MappedByteBuffer buffer;
+
+    private final TablebaseIndex index;
+
+    private Tablebase(MappedByteBuffer buffer, TablebaseIndex index) {
+        this.buffer = buffer;
+        this.index = index;
+    }
+
+    /**
+     * Memory maps given tablebase file.
+     *
+     * @param path
+     * @return tablebase
+     * @throws IOException if file can't be read or it is not a valid tablebase
+     */
+    public static Tablebase open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+                throw new IOException(path + " is not a tablebase");
+            }
+
+            TablebaseIndex index;
+            try {
+                index = new TablebaseIndex(buffer.getInt(8), buffer.getInt(12));
+            } catch (InvalidBoardSizeException | InvalidWinLengthException e) {
+                throw new IOException(path + " is corrupted", e);
+            }
+            long count = buffer.getLong(16);
+            if (count != index.getPositionCount() || buffer.capacity() != HEADER_BYTES + getPackedBytes(count)) {
+                throw new IOException(path + " is corrupted");
+            }
+            return new Tablebase(buffer, index);
+        }
+    }
+
+    /**
+     * Returns tablebase file name for given board size and win length.
+     *
+     * @param size
+     * @param winLength
+     * @return file name
+     */
+    public static String getFileName(int size, int winLength) {
+        return "tablebase-" + size + "x" + size + "-" + winLength + ".tb";
+    }
+
+    static long getPackedBytes(long positions) {
+        return (positions + 3) >>> 2;
+    }
+
+    public int getSize() {
+        return index.getSize();
+    }
+
+    public int getWinLength() {
+        return index.getWinLength();
+    }
+
+    public long getPositionCount() {
+        return index.getPositionCount();
+    }
+
+    /**
+     * Returns value of given position for player to move, first player is to move when both players have the same
+     * number of stones.
+     *
+     * @param first  cell bits of first player
+     * @param second cell bits of second player
+     * @return WIN, DRAW, LOSS or ILLEGAL for positions which can't be reached
+     */
+    public int getValue(int first, int second) {
+        int firstCount = Integer.bitCount(first);
+        int secondCount = Integer.bitCount(second);
+        if ((first & second) != 0 || firstCount - secondCount < 0 || firstCount - secondCount > 1) {
+            return ILLEGAL;
+        }
+
+        long position = index.rank(first, second);
+        return (buffer.get(HEADER_BYTES + (int) (position >>> 2)) >>> ((position & 3) << 1)) & 3;
+    }
+
+    /**
+     * @param bits cell bits of a player
+     * @return true if given bits cover a line
+     */
+    public boolean hasLine(int bits) {
+        return index.hasLine(bits);
+    }
+}
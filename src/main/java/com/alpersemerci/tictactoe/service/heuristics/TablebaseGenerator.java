@@ -0,0 +1,181 @@
+package com.alpersemerci.tictactoe.service.heuristics;
+
+import com.alpersemerci.tictactoe.exception.InvalidBoardSizeException;
+import com.alpersemerci.tictactoe.exception.InvalidWinLengthException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * TablebaseGenerator solves every two player position of a board size and win length by retrograde analysis and
+ * writes a {@link Tablebase} file.
+ * <p>
+ * Positions are solved backward, layer by layer from full boards to the empty board. A position is decided by its
+ * own lines when game is over, otherwise by values of its successors in the next layer, which are solved already:
+ * a win if any successor is a loss for opponent, a draw if any successor is a draw and a loss otherwise. Positions of
+ * a layer don't depend on each other, so a layer is split into index ranges solved in parallel by a fork join pool.
+ * Ranges are aligned to 4 positions, so no two threads ever write the same byte of 2 bit packed values.
+ * <p>
+ * It is an offline tool, usage: {@code TablebaseGenerator <directory> [size[:winLength]...]}, sizes default to 3 and 4.
+ * 4x4 has about 10 million positions and fits in 2.5 MB. Values are kept in a single byte array, so 5x5 and larger
+ * boards are not supported: 5x5 has about 162 billion positions (40 GB packed), beyond the largest Java array, and
+ * is always rejected.
+ *
+ * @author Alper Semerci
+ */
+@Slf4j
+public class TablebaseGenerator {
+
+    private static final long GRAIN = 1 << 14;
+
+    private final TablebaseIndex index;
+
+    private final byte[] values;
+
+    private final ForkJoinPool forkJoinPool;
+
+    public TablebaseGenerator(int size, int winLength, ForkJoinPool forkJoinPool) throws InvalidBoardSizeException, InvalidWinLengthException {
+        this.index = new TablebaseIndex(size, winLength);
+
+        long bytes = Tablebase.getPackedBytes(index.getPositionCount());
+        if (bytes > Integer.MAX_VALUE - 8 || bytes > Runtime.getRuntime().maxMemory()) {
+            throw new InvalidBoardSizeException(String.format("Tablebase of %dx%d board needs %d MB, it doesn't fit in memory",
+                    size, size, bytes >>> 20));
+        }
+
+        this.values = new byte[(int) bytes];
+        this.forkJoinPool = forkJoinPool;
+    }
+
+    public static void main(String[] args) throws IOException, InvalidBoardSizeException, InvalidWinLengthException {
+        Path directory = Paths.get(args.length > 0 ? args[0] : ".");
+        String[] boards = args.length > 1 ? Arrays.copyOfRange(args, 1, args.length) : new String[]{"3", "4"};
+
+        Files.createDirectories(directory);
+        for (String board : boards) {
+            String[] sizeAndWinLength = board.split(":");
+            int size = Integer.parseInt(sizeAndWinLength[0]);
+            int winLength = sizeAndWinLength.length > 1 ? Integer.parseInt(sizeAndWinLength[1]) : size;
+            new TablebaseGenerator(size, winLength, ForkJoinPool.commonPool())
+                    .generate(directory.resolve(Tablebase.getFileName(size, winLength)));
+        }
+    }
+
+    /**
+     * Solves all positions and writes tablebase file. File is written next to given path first and moved into place,
+     * so a reader never maps a partially written file.
+     *
+     * @param path
+     * @return value of empty board
+     * @throws IOException
+     */
+    public int generate(Path path) throws IOException {
+        long start = System.nanoTime();
+
+        for (int stones = index.getCellCount(); stones >= 0; stones--) {
+            forkJoinPool.invoke(new LayerTask(stones, index.getLayerOffset(stones), index.getLayerOffset(stones + 1)));
+        }
+        int rootValue = getValue(0L);
+
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+            output.writeInt(Tablebase.MAGIC);
+            output.writeInt(Tablebase.VERSION);
+            output.writeInt(index.getSize());
+            output.writeInt(index.getWinLength());
+            output.writeLong(index.getPositionCount());
+            output.write(values);
+        }
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        log.info("[TABLEBASE_GENERATOR] [SIZE={}] [WIN_LENGTH={}] [POSITIONS={}] [ROOT_VALUE={}] [THREADS={}] [ELAPSED_MS={}] [FILE={}]",
+                index.getSize(), index.getWinLength(), index.getPositionCount(), rootValue, forkJoinPool.getParallelism(),
+                (System.nanoTime() - start) / 1_000_000L, path);
+        return rootValue;
+    }
+
+    private int getValue(long position) {
+        return (values[(int) (position >>> 2)] >>> ((position & 3) << 1)) & 3;
+    }
+
+    /**
+     * Solves a position of given layer, successors must be solved.
+     *
+     * @param stones   number of stones of position
+     * @param position holder of position bits
+     * @return value for player to move
+     */
+    private int solve(int stones, int[] position) {
+        boolean firstToMove = (stones & 1) == 0;
+        int mover = firstToMove ? position[0] : position[1];
+        int opponent = firstToMove ? position[1] : position[0];
+
+        if (index.hasLine(opponent)) {
+            return index.hasLine(mover) ? Tablebase.ILLEGAL : Tablebase.LOSS;
+        }
+        if (index.hasLine(mover)) {
+            //Game would have ended on mover's previous move
+            return Tablebase.ILLEGAL;
+        }
+        if (stones == index.getCellCount()) {
+            return Tablebase.DRAW;
+        }
+
+        int value = Tablebase.LOSS;
+        int empty = ~(mover | opponent) & ((1 << index.getCellCount()) - 1);
+        for (; empty != 0; empty &= empty - 1) {
+            int move = Integer.lowestOneBit(empty);
+            int successor = getValue(firstToMove ? index.rank(mover | move, opponent) : index.rank(opponent, mover | move));
+            if (successor == Tablebase.LOSS) {
+                return Tablebase.WIN;
+            }
+            if (successor == Tablebase.DRAW) {
+                value = Tablebase.DRAW;
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Solves an index range of a layer, splits it in halves while it is larger than grain.
+     */
+    private class LayerTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int stones;
+
+        private final long from;
+
+        private final long to;
+
+        private LayerTask(int stones, long from, long to) {
+            this.stones = stones;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            long middle = ((from + to) >>> 1) & ~3L;
+            if (to - from <= GRAIN || middle <= from) {
+                int[] position = new int[2];
+                for (long i = from; i < to; i++) {
+                    index.unrank(stones, i, position);
+                    values[(int) (i >>> 2)] |= solve(stones, position) << ((i & 3) << 1);
+                }
+                return;
+            }
+            invokeAll(new LayerTask(stones, from, middle), new LayerTask(stones, middle, to));
+        }
+    }
+}
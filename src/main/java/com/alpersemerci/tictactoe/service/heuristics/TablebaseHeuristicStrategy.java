@@ -0,0 +1,140 @@
+package com.alpersemerci.tictactoe.service.heuristics;
+
+import com.alpersemerci.tictactoe.exception.NoPossibleMovesLeftException;
+import com.alpersemerci.tictactoe.model.Board;
+import com.alpersemerci.tictactoe.model.Cell;
+import com.alpersemerci.tictactoe.model.Game;
+import com.alpersemerci.tictactoe.service.config.ConfigService;
+import com.alpersemerci.tictactoe.service.game.BoardService;
+import com.alpersemerci.tictactoe.service.game.CellPool;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * TablebaseHeuristicStrategy is an implementation of HeuristicStrategy.
+ * Plays perfect moves of two player games from memory mapped {@link Tablebase} files: a move completing a line
+ * first, otherwise a move leaving opponent in a lost position, otherwise a move keeping the draw. Every move is at
+ * most one lookup per empty cell, so it costs the same at any point of game.
+ * <p>
+ * Tablebase of a board size and win length is opened on first move of that game type from configured directory.
+ * Games which are not covered by a tablebase (more than two players, missing files) are played by fallback strategy.
+ */
+@Slf4j
+public class TablebaseHeuristicStrategy implements HeuristicStrategy {
+
+    private static final String DEFAULT_TABLEBASE_DIRECTORY = "tablebases";
+
+    private BoardService boardService;
+
+    private HeuristicStrategy fallbackStrategy;
+
+    private Path tablebaseDirectory;
+
+    private final ConcurrentMap<String, Optional<Tablebase>> tablebases = new ConcurrentHashMap<>();
+
+    public TablebaseHeuristicStrategy(BoardService boardService, HeuristicStrategy fallbackStrategy) {
+        this(boardService, fallbackStrategy, Paths.get(Optional.ofNullable(ConfigService.getInstance()
+                .getConfigValue("ai.tablebase.directory")).orElse(DEFAULT_TABLEBASE_DIRECTORY)));
+    }
+
+    public TablebaseHeuristicStrategy(BoardService boardService, HeuristicStrategy fallbackStrategy, Path tablebaseDirectory) {
+        this.boardService = boardService;
+        this.fallbackStrategy = fallbackStrategy;
+        this.tablebaseDirectory = tablebaseDirectory;
+    }
+
+    @Override
+    public Cell getMove(Game game) throws NoPossibleMovesLeftException {
+        int move = lookupMove(game);
+        return move != TranspositionTable.NO_MOVE ? CellPool.of(game.getBoard().getSize()).get(move) : fallbackStrategy.getMove(game);
+    }
+
+    @Override
+    public int getMoveIndex(Game game) throws NoPossibleMovesLeftException {
+        int move = lookupMove(game);
+        return move != TranspositionTable.NO_MOVE ? move : fallbackStrategy.getMoveIndex(game);
+    }
+
+    @Override
+    public int getMoveIndex(Game game, CancellationToken token) throws NoPossibleMovesLeftException {
+        int move = lookupMove(game);
+        return move != TranspositionTable.NO_MOVE ? move : fallbackStrategy.getMoveIndex(game, token);
+    }
+
+    /**
+     * Picks best move of given game from tablebase of its board size and win length.
+     *
+     * @param game
+     * @return cell index of move, NO_MOVE if game isn't covered by a tablebase
+     */
+    private int lookupMove(Game game) {
+        Board board = game.getBoard();
+        if (game.getPlayerList().size() != 2 || board.getEmptyCells() == 0 || board.getSize() * board.getSize() >= Integer.SIZE) {
+            return TranspositionTable.NO_MOVE;
+        }
+
+        Optional<Tablebase> tablebase = tablebases.computeIfAbsent(Tablebase.getFileName(board.getSize(), board.getWinLength()),
+                this::openTablebase);
+        if (!tablebase.isPresent()) {
+            return TranspositionTable.NO_MOVE;
+        }
+
+        int first = (int) board.getPlayerBits()[boardService.getPlayerSlot(board, game.getPlayerList().get(0))][0];
+        int second = (int) board.getPlayerBits()[boardService.getPlayerSlot(board, game.getPlayerList().get(1))][0];
+        if ((first | second) != (int) board.getOccupiedBits()[0]) {
+            //A stone of a removed player, position can't be in a two player tablebase
+            return TranspositionTable.NO_MOVE;
+        }
+
+        boolean firstToMove = game.getCurrentTurn() % 2 == 0;
+        int mover = firstToMove ? first : second;
+        int bestMove = TranspositionTable.NO_MOVE;
+        int bestValue = Tablebase.ILLEGAL;
+
+        for (int index = boardService.nextAvailableCell(board, 0); index > -1; index = boardService.nextAvailableCell(board, index + 1)) {
+            int moverBits = mover | (1 << index);
+            if (tablebase.get().hasLine(moverBits)) {
+                return index;
+            }
+
+            //Value of successor is from opponent's view
+            int opponentValue = firstToMove ? tablebase.get().getValue(moverBits, second) : tablebase.get().getValue(first, moverBits);
+            int value = opponentValue == Tablebase.ILLEGAL ? Tablebase.ILLEGAL : Tablebase.WIN + Tablebase.LOSS - opponentValue;
+            if (value > bestValue) {
+                bestValue = value;
+                bestMove = index;
+            }
+        }
+        return bestMove;
+    }
+
+    /**
+     * Opens tablebase with given file name, empty if there is no usable tablebase file.
+     *
+     * @param fileName
+     * @return tablebase
+     */
+    private Optional<Tablebase> openTablebase(String fileName) {
+        Path path = tablebaseDirectory.resolve(fileName);
+        if (!Files.isReadable(path)) {
+            log.info("[TABLEBASE] [TABLEBASE_NOT_FOUND] [PATH={}]", path);
+            return Optional.empty();
+        }
+
+        try {
+            Tablebase tablebase = Tablebase.open(path);
+            log.info("[TABLEBASE] [TABLEBASE_OPENED] [PATH={}] [POSITIONS={}]", path, tablebase.getPositionCount());
+            return Optional.of(tablebase);
+        } catch (IOException e) {
+            log.error("[TABLEBASE] [TABLEBASE_ERROR] [PATH={}]", path, e);
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.alpersemerci.tictactoe.service.heuristics;
+
+import com.alpersemerci.tictactoe.exception.InvalidBoardSizeException;
+import com.alpersemerci.tictactoe.exception.InvalidWinLengthException;
+import com.alpersemerci.tictactoe.service.game.BoardMasks;
+
+/**
+ * TablebaseIndex ranks two player positions of a board size into a dense index, it is a perfect ranking of positions
+ * with legal stone counts. First player has as many stones as second player or one more, so a position with k stones
+ * is a k subset of cells for stones and a ceil(k / 2) subset of stones for first player's stones. Both subsets are
+ * ranked with the combinatorial number system and positions are grouped by number of stones:
+ * {@code index = layerOffset(k) + rank(stones) * C(k, ceil(k / 2)) + rank(first player's stones among stones)}.
+ * <p>
+ * Every move adds a stone, so all successors of a layer are in the next layer. Ranking and unranking walk set bits
+ * once and need no tables but binomial coefficients.
+ */
+final class TablebaseIndex {
+
+    private final int size;
+
+    private final int winLength;
+
+    private final int cellCount;
+
+    private final long[][] binomials;
+
+    private final long[] layerOffsets;
+
+    private final int[] lineMasks;
+
+    TablebaseIndex(int size, int winLength) throws InvalidBoardSizeException, InvalidWinLengthException {
+        if (size < 3 || size * size > Integer.SIZE - 1) {
+            throw new InvalidBoardSizeException("Tablebase index supports board sizes between 3 and 5");
+        }
+        if (winLength < 3 || winLength > size) {
+            throw new InvalidWinLengthException("Win length must be between 3 and board size");
+        }
+
+        this.size = size;
+        this.winLength = winLength;
+        this.cellCount = size * size;
+        this.binomials = new long[cellCount + 1][cellCount + 1];
+        for (int n = 0; n <= cellCount; n++) {
+            binomials[n][0] = 1;
+            for (int k = 1; k <= n; k++) {
+                binomials[n][k] = binomials[n - 1][k - 1] + binomials[n - 1][k];
+            }
+        }
+
+        this.layerOffsets = new long[cellCount + 2];
+        for (int k = 0; k <= cellCount; k++) {
+            layerOffsets[k + 1] = layerOffsets[k] + binomials[cellCount][k] * binomials[k][firstPlayerStones(k)];
+        }
+
+        BoardMasks masks = BoardMasks.of(size, winLength);
+        this.lineMasks = new int[masks.getLineCount()];
+        for (int line = 0; line < lineMasks.length; line++) {
+            lineMasks[line] = (int) masks.getLineMask(line)[0];
+        }
+    }
+
+    int getSize() {
+        return size;
+    }
+
+    int getWinLength() {
+        return winLength;
+    }
+
+    int getCellCount() {
+        return cellCount;
+    }
+
+    /**
+     * @return number of ranked positions
+     */
+    long getPositionCount() {
+        return layerOffsets[cellCount + 1];
+    }
+
+    /**
+     * @param stones
+     * @return index of first position with given number of stones
+     */
+    long getLayerOffset(int stones) {
+        return layerOffsets[stones];
+    }
+
+    static int firstPlayerStones(int stones) {
+        return (stones + 1) >>> 1;
+    }
+
+    /**
+     * Returns index of given position. Stone counts must be legal.
+     *
+     * @param first  cell bits of first player
+     * @param second cell bits of second player
+     * @return index
+     */
+    long rank(int first, int second) {
+        int stones = first | second;
+        int k = Integer.bitCount(stones);
+        long stonesRank = 0;
+        long firstRank = 0;
+        int i = 0;
+        int f = 0;
+
+        for (int bits = stones; bits != 0; bits &= bits - 1) {
+            int cell = Integer.numberOfTrailingZeros(bits);
+            stonesRank += binomials[cell][++i];
+            if ((first & (1 << cell)) != 0) {
+                firstRank += binomials[i - 1][++f];
+            }
+        }
+        return layerOffsets[k] + stonesRank * binomials[k][firstPlayerStones(k)] + firstRank;
+    }
+
+    /**
+     * Writes position of given index in given layer into given holder.
+     *
+     * @param stones   number of stones, layer of index
+     * @param index
+     * @param position first player's bits at 0, second player's bits at 1
+     */
+    void unrank(int stones, long index, int[] position) {
+        long firstCount = binomials[stones][firstPlayerStones(stones)];
+        long rank = index - layerOffsets[stones];
+        int stoneBits = unrankSubset(cellCount, stones, rank / firstCount);
+        int relativeFirst = unrankSubset(stones, firstPlayerStones(stones), rank % firstCount);
+
+        int first = 0;
+        int j = 0;
+        for (int bits = stoneBits; bits != 0; bits &= bits - 1, j++) {
+            if ((relativeFirst & (1 << j)) != 0) {
+                first |= Integer.lowestOneBit(bits);
+            }
+        }
+        position[0] = first;
+        position[1] = stoneBits & ~first;
+    }
+
+    private int unrankSubset(int n, int k, long rank) {
+        int bits = 0;
+        int cell = n - 1;
+        for (int i = k; i > 0; i--) {
+            while (binomials[cell][i] > rank) {
+                cell--;
+            }
+            bits |= 1 << cell;
+            rank -= binomials[cell][i];
+            cell--;
+        }
+        return bits;
+    }
+
+    /**
+     * @param bits cell bits of a player
+     * @return true if given bits cover a line
+     */
+    boolean hasLine(int bits) {
+        for (int mask : lineMasks) {
+            if ((bits & mask) == mask) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
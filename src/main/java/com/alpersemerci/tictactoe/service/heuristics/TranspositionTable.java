@@ -0,0 +1,157 @@
+package com.alpersemerci.tictactoe.service.heuristics;
+
+import java.util.Arrays;
+
+/**
+ * TranspositionTable caches search results by Zobrist hash of position, so a position reached by a different move
+ * order is not searched again.
+ * <p>
+ * Every entry stores score, bound type (exact, lower or upper), searched depth and best move as cell index.
+ * Table is organized in buckets of two entries. First entry of bucket is depth preferred, it is only replaced by
+ * a deeper (or equally deep) search result or by a result of a newer search. Second entry is always replaced.
+ * <p>
+ * Entries are kept in primitive arrays, so probing and storing allocates nothing. Table is shared by parallel
+ * search threads without locking. Key of an entry is stored XOR-ed with its score and data words, a torn entry
+ * written concurrently by two threads doesn't match its key and is simply treated as a miss.
+ * <p>
+ * https://en.wikipedia.org/wiki/Transposition_table
+ */
+public class TranspositionTable {
+
+    public static final int EXACT = 0;
+
+    public static final int LOWER_BOUND = 1;
+
+    public static final int UPPER_BOUND = 2;
+
+    public static final int NO_MOVE = -1;
+
+    private static final long VALID = 1L << 31;
+
+    private final long[] checks;
+
+    private final long[] scores;
+
+    //valid (1 bit) | generation (8 bits) | move + 1 (8 bits) | bound (2 bits) | depth (8 bits)
+    private final long[] data;
+
+    private final int mask;
+
+    private volatile int generation;
+
+    /**
+     * Creates a table with given number of entries. Size is rounded down to a power of two.
+     *
+     * @param size
+     */
+    public TranspositionTable(int size) {
+        int capacity = Integer.highestOneBit(Math.max(2, size));
+        this.checks = new long[capacity];
+        this.scores = new long[capacity];
+        this.data = new long[capacity];
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * Marks start of a new search. Entries of previous searches become replaceable.
+     */
+    public void newSearch() {
+        generation = (generation + 1) & 0xFF;
+    }
+
+    /**
+     * Removes all entries.
+     */
+    public void clear() {
+        Arrays.fill(checks, 0L);
+        Arrays.fill(scores, 0L);
+        Arrays.fill(data, 0L);
+    }
+
+    public int getCapacity() {
+        return checks.length;
+    }
+
+    /**
+     * Finds entry for given key and copies it into given holder.
+     *
+     * @param key
+     * @param entry holder of found entry
+     * @return true if there is an entry for key
+     */
+    public boolean probe(long key, Entry entry) {
+        int bucket = (int) key & mask & ~1;
+        return read(bucket, key, entry) || read(bucket + 1, key, entry);
+    }
+
+    private boolean read(int index, long key, Entry entry) {
+        long score = scores[index];
+        long word = data[index];
+        if ((word & VALID) == 0 || (checks[index] ^ score ^ word) != key) {
+            return false;
+        }
+        entry.score = score;
+        entry.depth = (int) (word & 0xFF);
+        entry.bound = (int) (word >>> 8) & 0x3;
+        entry.move = (int) ((word >>> 10) & 0xFF) - 1;
+        return true;
+    }
+
+    /**
+     * Stores a search result.
+     *
+     * @param key
+     * @param score
+     * @param bound
+     * @param depth
+     * @param move  cell index of best move or NO_MOVE
+     */
+    public void store(long key, long score, int bound, int depth, int move) {
+        int bucket = (int) key & mask & ~1;
+        int index = bucket + 1;
+        int currentGeneration = generation;
+
+        long preferred = data[bucket];
+        if ((preferred & VALID) == 0
+                || (checks[bucket] ^ scores[bucket] ^ preferred) == key
+                || ((preferred >>> 18) & 0xFF) != currentGeneration
+                || depth >= (preferred & 0xFF)) {
+            index = bucket;
+        }
+
+        long word = VALID | (long) currentGeneration << 18 | (long) (move + 1) << 10 | (long) bound << 8 | depth;
+        scores[index] = score;
+        data[index] = word;
+        checks[index] = key ^ score ^ word;
+    }
+
+    /**
+     * Mutable holder of a probed entry. Search keeps one holder per thread, so probing allocates nothing.
+     */
+    public static class Entry {
+
+        private long score;
+
+        private int bound;
+
+        private int depth;
+
+        private int move;
+
+        public long getScore() {
+            return score;
+        }
+
+        public int getBound() {
+            return bound;
+        }
+
+        public int getDepth() {
+            return depth;
+        }
+
+        public int getMove() {
+            return move;
+        }
+    }
+}
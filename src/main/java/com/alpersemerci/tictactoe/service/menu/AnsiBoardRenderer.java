@@ -0,0 +1,321 @@
+package com.alpersemerci.tictactoe.service.menu;
+
+import com.alpersemerci.tictactoe.model.Board;
+import com.alpersemerci.tictactoe.model.Player;
+import com.alpersemerci.tictactoe.service.game.BoardMasks;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * AnsiBoardRenderer draws boards on a terminal with ANSI escape sequences, in layout of
+ * {@link com.alpersemerci.tictactoe.service.game.BoardService#printBoard(Board)}.
+ * <p>
+ * Every board is drawn in a {@link View}, a fixed area of screen. First draw of a view writes the whole board, later
+ * draws compare player bitboards with the ones drawn last time and write only changed cells, a cursor position and a
+ * symbol each. Output of all views goes into one reusable byte buffer and reaches output stream in a single write
+ * per frame on {@link #flush()}, so a dashboard of hundreds of live boards costs a few bytes per move.
+ * <p>
+ * A renderer is not thread safe, one thread draws frames of an output stream.
+ */
+public class AnsiBoardRenderer {
+
+    private static final byte ESC = 0x1B;
+
+    private static final int INITIAL_BUFFER_SIZE = 1 << 14;
+
+    private final OutputStream output;
+
+    private byte[] buffer = new byte[INITIAL_BUFFER_SIZE];
+
+    private int position;
+
+    public AnsiBoardRenderer(OutputStream output) {
+        this.output = output;
+    }
+
+    /**
+     * Returns number of screen lines a board of given size takes.
+     *
+     * @param size
+     * @return height
+     */
+    public static int getHeight(int size) {
+        return 2 + 2 * size;
+    }
+
+    /**
+     * Returns number of screen columns a board of given size takes.
+     *
+     * @param size
+     * @return width
+     */
+    public static int getWidth(int size) {
+        return 3 + 4 * size;
+    }
+
+    /**
+     * Creates a view of a board of given size whose top left corner is at given screen position.
+     *
+     * @param top  0 based screen line
+     * @param left 0 based screen column
+     * @param size board size
+     * @return view
+     */
+    public View createView(int top, int left, int size) {
+        return new View(top, left, size);
+    }
+
+    /**
+     * Appends changes of given board since last draw of given view to frame. Nothing is appended if board didn't
+     * change.
+     *
+     * @param view
+     * @param board
+     */
+    public void draw(View view, Board board) {
+        if (board.getSize() != view.size) {
+            throw new IllegalArgumentException("Board size " + board.getSize() + " doesn't match view size " + view.size);
+        }
+
+        if (!view.drawn) {
+            drawFrame(view);
+            view.drawn = true;
+        }
+
+        long[][] playerBits = board.getPlayerBits();
+        long[] changed = view.changed;
+        Arrays.fill(changed, 0L);
+        for (int slot = 0; slot < Math.max(playerBits.length, view.playerBits.length); slot++) {
+            for (int w = 0; w < changed.length; w++) {
+                long current = slot < playerBits.length ? playerBits[slot][w] : 0L;
+                long drawn = slot < view.playerBits.length ? view.playerBits[slot][w] : 0L;
+                changed[w] |= current ^ drawn;
+            }
+        }
+
+        List<Player> players = board.getPlayers();
+        for (int w = 0; w < changed.length; w++) {
+            for (long bits = changed[w]; bits != 0; bits &= bits - 1) {
+                int index = (w << 6) + Long.numberOfTrailingZeros(bits);
+                char symbol = ' ';
+                for (int slot = 0; slot < playerBits.length; slot++) {
+                    if (BoardMasks.isSet(playerBits[slot], index)) {
+                        symbol = players.get(slot).getSymbol();
+                        break;
+                    }
+                }
+                drawCell(view, index, symbol);
+            }
+        }
+
+        if (view.playerBits.length != playerBits.length) {
+            view.playerBits = new long[playerBits.length][changed.length];
+        }
+        for (int slot = 0; slot < playerBits.length; slot++) {
+            System.arraycopy(playerBits[slot], 0, view.playerBits[slot], 0, changed.length);
+        }
+    }
+
+    /**
+     * Appends a clear screen sequence to frame. Views are drawn in full on their next draw.
+     *
+     * @param views views on screen
+     */
+    public void clearScreen(View... views) {
+        appendEscape().append('2').append('J');
+        for (View view : views) {
+            view.invalidate();
+        }
+    }
+
+    /**
+     * Appends a cursor move to frame.
+     *
+     * @param line   0 based screen line
+     * @param column 0 based screen column
+     */
+    public void moveCursor(int line, int column) {
+        appendEscape().appendInt(line + 1).append(';').appendInt(column + 1).append('H');
+    }
+
+    /**
+     * Appends a scroll region from given line to bottom of screen, lines above it stay in place while text below
+     * scrolls. A negative line resets scroll region to whole screen.
+     *
+     * @param top 0 based screen line
+     */
+    public void setScrollRegion(int top) {
+        appendEscape();
+        if (top >= 0) {
+            appendInt(top + 1).append(';');
+        }
+        append('r');
+    }
+
+    /**
+     * Appends save cursor position sequence to frame.
+     */
+    public void saveCursor() {
+        append(ESC).append('7');
+    }
+
+    /**
+     * Appends restore cursor position sequence to frame.
+     */
+    public void restoreCursor() {
+        append(ESC).append('8');
+    }
+
+    /**
+     * Writes frame to output stream in a single write and empties buffer for next frame.
+     *
+     * @throws IOException
+     */
+    public void flush() throws IOException {
+        if (position > 0) {
+            output.write(buffer, 0, position);
+            position = 0;
+        }
+        output.flush();
+    }
+
+    /**
+     * @return number of bytes of current frame
+     */
+    public int getFrameSize() {
+        return position;
+    }
+
+    /**
+     * Draws empty board of given view: column header, borders and row numbers.
+     *
+     * @param view
+     */
+    private void drawFrame(View view) {
+        int size = view.size;
+
+        moveCursor(view.top, view.left);
+        append(' ').append(' ');
+        for (int column = 0; column < size; column++) {
+            append(' ').append(' ').appendInt(column).append(' ');
+        }
+
+        moveCursor(view.top + 1, view.left);
+        append(' ').append(' ');
+        appendRepeated('=', 4 * size);
+
+        for (int row = 0; row < size; row++) {
+            moveCursor(view.top + 2 + 2 * row, view.left);
+            appendInt(row).append(' ').append('|');
+            for (int column = 0; column < size; column++) {
+                append(' ').append(' ').append(' ').append('|');
+            }
+
+            moveCursor(view.top + 3 + 2 * row, view.left);
+            append(' ').append(' ');
+            appendRepeated(row < size - 1 ? '-' : '=', 4 * size);
+        }
+    }
+
+    private void drawCell(View view, int index, char symbol) {
+        moveCursor(view.top + 2 + 2 * (index / view.size), view.left + 4 + 4 * (index % view.size));
+        append(symbol);
+    }
+
+    private AnsiBoardRenderer appendEscape() {
+        return append(ESC).append('[');
+    }
+
+    private void appendRepeated(char c, int count) {
+        for (int i = 0; i < count; i++) {
+            append(c);
+        }
+    }
+
+    private AnsiBoardRenderer appendInt(int value) {
+        if (value >= 10) {
+            appendInt(value / 10);
+        }
+        return append((char) ('0' + value % 10));
+    }
+
+    private AnsiBoardRenderer append(byte b) {
+        ensureCapacity(1);
+        buffer[position++] = b;
+        return this;
+    }
+
+    /**
+     * Appends given char UTF-8 encoded, player symbols may be any character of basic multilingual plane.
+     */
+    private AnsiBoardRenderer append(char c) {
+        ensureCapacity(3);
+        if (c < 0x80) {
+            buffer[position++] = (byte) c;
+        } else if (c < 0x800) {
+            buffer[position++] = (byte) (0xC0 | (c >>> 6));
+            buffer[position++] = (byte) (0x80 | (c & 0x3F));
+        } else if (Character.isSurrogate(c)) {
+            buffer[position++] = '?';
+        } else {
+            buffer[position++] = (byte) (0xE0 | (c >>> 12));
+            buffer[position++] = (byte) (0x80 | ((c >>> 6) & 0x3F));
+            buffer[position++] = (byte) (0x80 | (c & 0x3F));
+        }
+        return this;
+    }
+
+    private void ensureCapacity(int bytes) {
+        if (position + bytes > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + bytes));
+        }
+    }
+
+    /**
+     * A fixed screen area showing a board, it remembers player bitboards drawn last time.
+     */
+    public static class View {
+
+        private final int top;
+
+        private final int left;
+
+        private final int size;
+
+        private final long[] changed;
+
+        private long[][] playerBits = new long[0][];
+
+        private boolean drawn;
+
+        private View(int top, int left, int size) {
+            this.top = top;
+            this.left = left;
+            this.size = size;
+            this.changed = new long[(size * size + 63) >>> 6];
+        }
+
+        /**
+         * Makes next draw write whole board, e.g. after screen is cleared or view shows another game.
+         */
+        public void invalidate() {
+            drawn = false;
+            playerBits = new long[0][];
+        }
+
+        public int getTop() {
+            return top;
+        }
+
+        public int getLeft() {
+            return left;
+        }
+
+        public int getSize() {
+            return size;
+        }
+    }
+}
@@ -2,47 +2,80 @@ package com.alpersemerci.tictactoe.service.menu;
 
 import com.alpersemerci.tictactoe.model.Board;
 import com.alpersemerci.tictactoe.service.config.ConfigService;
+import com.alpersemerci.tictactoe.service.config.MessageCatalog;
 import com.alpersemerci.tictactoe.service.game.BoardService;
 import lombok.extern.slf4j.Slf4j;
 
-import java.text.MessageFormat;
+import java.io.IOException;
+import java.util.Optional;
 import java.util.Scanner;
 import java.util.function.Function;
 import java.util.function.Predicate;
 
 /**
  * CommandLineInterfaceGameMenu is an implementation of GameMenu interface for command line user interface experience.
+ * <p>
+ * Board is printed as text by default. When {@code menu.ansi} is enabled ({@code auto} enables it on an interactive
+ * console), board stays on top of screen and only cells changed since last update are redrawn by an
+ * {@link AnsiBoardRenderer}, while messages scroll below it.
  */
 @Slf4j
 public class CommandLineInterfaceGameMenu implements GameMenu {
 
     private ConfigService configService = ConfigService.getInstance();
 
+    private MessageCatalog messageCatalog = MessageCatalog.getInstance();
+
     private BoardService boardService = new BoardService();
 
     private Scanner s = new Scanner(System.in);
 
+    private final boolean ansi;
+
+    private final StringBuilder boardBuilder = new StringBuilder();
+
+    private final StringBuilder messageBuilder = new StringBuilder();
+
+    private AnsiBoardRenderer renderer;
+
+    private AnsiBoardRenderer.View view;
+
+    public CommandLineInterfaceGameMenu() {
+        String ansiConfig = Optional.ofNullable(configService.getConfigValue("menu.ansi")).orElse("false").trim();
+        this.ansi = "auto".equalsIgnoreCase(ansiConfig) ? System.console() != null : Boolean.parseBoolean(ansiConfig);
+    }
+
+    /**
+     * @param ansi true to draw board with ANSI escape sequences
+     */
+    public CommandLineInterfaceGameMenu(boolean ansi) {
+        this.ansi = ansi;
+    }
+
     /**
-     * Displays a message to user via system out interface
+     * Displays a message to user via system out interface, rendered into a reused buffer from message catalog.
      *
      * @param propertyKey
      */
     @Override
     public void showMessage(String propertyKey) {
-        String message = configService.getConfigValue(propertyKey);
-        System.out.println(message);
+        messageBuilder.setLength(0);
+        messageCatalog.render(propertyKey, messageBuilder).append(System.lineSeparator());
+        System.out.print(messageBuilder);
     }
 
     /**
-     * Displays a message to user with parameters via system out interface
+     * Displays a message to user with parameters via system out interface, rendered into a reused buffer from a
+     * precompiled template of message catalog.
      *
      * @param propertyKey
      * @param parameters
      */
     @Override
     public void showMessage(String propertyKey, String... parameters) {
-        String message = configService.getConfigValue(propertyKey);
-        System.out.println(MessageFormat.format(message, parameters));
+        messageBuilder.setLength(0);
+        messageCatalog.render(propertyKey, messageBuilder, parameters).append(System.lineSeparator());
+        System.out.print(messageBuilder);
     }
 
     /**
@@ -93,15 +126,54 @@ public class CommandLineInterfaceGameMenu implements GameMenu {
     }
 
     /**
-     * Prints a new board via system out interface.
+     * Prints a new board via system out interface in a single write. In ANSI mode only changed cells are redrawn.
      *
      * @param board
      */
     @Override
     public void updateBoard(Board board) {
-        System.out.println();
-        System.out.println(boardService.printBoard(board));
-        System.out.println();
+        if (!ansi) {
+            boardBuilder.setLength(0);
+            boardBuilder.append(System.lineSeparator());
+            boardService.printBoard(board, boardBuilder).append(System.lineSeparator()).append(System.lineSeparator());
+            System.out.print(boardBuilder);
+            return;
+        }
+
+        if (view == null || view.getSize() != board.getSize()) {
+            //Board is pinned to top of screen, messages scroll in region below it
+            renderer = new AnsiBoardRenderer(System.out);
+            view = renderer.createView(0, 0, board.getSize());
+            renderer.clearScreen(view);
+            renderer.draw(view, board);
+            int messageLine = AnsiBoardRenderer.getHeight(board.getSize()) + 1;
+            renderer.setScrollRegion(messageLine);
+            renderer.moveCursor(messageLine, 0);
+        } else {
+            renderer.saveCursor();
+            renderer.draw(view, board);
+            renderer.restoreCursor();
+        }
+        flushRenderer();
+    }
+
+    /**
+     * Gives whole screen back to terminal in ANSI mode.
+     */
+    @Override
+    public void close() {
+        if (renderer != null) {
+            renderer.setScrollRegion(-1);
+            flushRenderer();
+        }
+    }
+
+    private void flushRenderer() {
+        try {
+            renderer.flush();
+        } catch (IOException e) {
+            log.error("[COMMAND_LINE_GAME_MENU] [UPDATE_BOARD] [FLUSH_ERROR]", e);
+        }
     }
 
 }
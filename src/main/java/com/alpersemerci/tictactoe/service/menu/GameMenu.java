@@ -64,4 +64,10 @@ public interface GameMenu {
      * @param board
      */
     void updateBoard(Board board);
+
+    /**
+     * Releases user interface when game is over.
+     */
+    default void close() {
+    }
 }
@@ -0,0 +1,123 @@
+package com.alpersemerci.tictactoe.service.record;
+
+import com.alpersemerci.tictactoe.model.Player;
+import com.alpersemerci.tictactoe.model.PlayerType;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Mutable holder of a game read from a game record file. A scan reads every game into the same holder, so scanning
+ * allocates nothing; copy what has to outlive the callback.
+ */
+public class GameRecord {
+
+    static final int MAX_PLAYERS = 255;
+
+    static final int MAX_MOVES = 255;
+
+    private long offset;
+
+    private int boardSize;
+
+    private int winLength;
+
+    private int playerCount;
+
+    private final PlayerType[] playerTypes = new PlayerType[MAX_PLAYERS];
+
+    private final char[] playerSymbols = new char[MAX_PLAYERS];
+
+    private int winner;
+
+    private int moveCount;
+
+    private final byte[] moves = new byte[MAX_MOVES];
+
+    /**
+     * @return file offset of record, it is the address of game for {@link GameRecordReader#read(long, GameRecord)}
+     */
+    public long getOffset() {
+        return offset;
+    }
+
+    public int getBoardSize() {
+        return boardSize;
+    }
+
+    public int getWinLength() {
+        return winLength;
+    }
+
+    public int getPlayerCount() {
+        return playerCount;
+    }
+
+    public PlayerType getPlayerType(int player) {
+        return playerTypes[player];
+    }
+
+    public char getPlayerSymbol(int player) {
+        return playerSymbols[player];
+    }
+
+    /**
+     * @return players in turn order, a new list on every call
+     */
+    public List<Player> getPlayers() {
+        List<Player> players = new ArrayList<>(playerCount);
+        for (int p = 0; p < playerCount; p++) {
+            players.add(new Player(playerTypes[p], playerSymbols[p]));
+        }
+        return players;
+    }
+
+    /**
+     * @return index of winner player in turn order, -1 if game has no winner
+     */
+    public int getWinner() {
+        return winner;
+    }
+
+    public int getMoveCount() {
+        return moveCount;
+    }
+
+    /**
+     * @param turn
+     * @return cell index of move played at given turn
+     */
+    public int getMove(int turn) {
+        return moves[turn];
+    }
+
+    void setOffset(long offset) {
+        this.offset = offset;
+    }
+
+    void setBoard(int boardSize, int winLength) {
+        this.boardSize = boardSize;
+        this.winLength = winLength;
+    }
+
+    void setPlayerCount(int playerCount) {
+        this.playerCount = playerCount;
+    }
+
+    void setPlayer(int player, PlayerType type, char symbol) {
+        playerTypes[player] = type;
+        playerSymbols[player] = symbol;
+    }
+
+    void setWinner(int winner) {
+        this.winner = winner;
+    }
+
+    void setMoveCount(int moveCount) {
+        this.moveCount = moveCount;
+    }
+
+    byte[] getMoves() {
+        return moves;
+    }
+}
@@ -0,0 +1,191 @@
+package com.alpersemerci.tictactoe.service.record;
+
+import com.alpersemerci.tictactoe.model.PlayerType;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+
+/**
+ * GameRecordReader reads game record files written by {@link GameRecordWriter}.
+ * <p>
+ * File layout: magic and version as big endian ints, then games back to back. A game is board size, win length and
+ * player count as unsigned bytes, type ordinal (byte) and symbol (char) of every player in turn order, winner player
+ * index as a signed byte (-1 for no winner), move count as an unsigned byte and one byte per move holding cell index
+ * ({@code row * size + column}). A 3x3 game of 2 players takes 16 to 20 bytes.
+ * <p>
+ * File is memory mapped read only in large windows, so a scan reads straight from page cache at disk bandwidth and
+ * files larger than a single mapping are supported. A reader keeps its current window, it is not thread safe; open a
+ * reader per thread, all readers share the same pages.
+ *
+ * @author Alper Semerci
+ */
+public class GameRecordReader implements Closeable {
+
+    static final int MAGIC = 0x54545452;
+
+    static final int VERSION = 1;
+
+    static final int HEADER_BYTES = 8;
+
+    static final int MAX_RECORD_BYTES = 5 + 3 * GameRecord.MAX_PLAYERS + GameRecord.MAX_MOVES;
+
+    private static final long WINDOW_BYTES = 1L << 26;
+
+    private static final PlayerType[] PLAYER_TYPES = PlayerType.values();
+
+    private final Path path;
+
+    private final FileChannel channel;
+
+    private final long size;
+
+    private MappedByteBuffer window;
+
+    private long windowStart;
+
+    private GameRecordReader(Path path, FileChannel channel, long size) {
+        this.path = path;
+        this.channel = channel;
+        this.size = size;
+    }
+
+    /**
+     * Opens given game record file for reading. Games appended afterwards are not seen by reader.
+     *
+     * @param path
+     * @return reader
+     * @throws IOException if file can't be read or it is not a game record file
+     */
+    public static GameRecordReader open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            GameRecordReader reader = new GameRecordReader(path, channel, channel.size());
+            if (reader.size < HEADER_BYTES) {
+                throw new IOException(path + " is not a game record file");
+            }
+            reader.map(0L, HEADER_BYTES);
+            if (reader.window.getInt(0) != MAGIC || reader.window.getInt(4) != VERSION) {
+                throw new IOException(path + " is not a game record file");
+            }
+            return reader;
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * @return size of file in bytes when it was opened
+     */
+    public long getSize() {
+        return size;
+    }
+
+    /**
+     * @return offset of first game
+     */
+    public long getFirstOffset() {
+        return HEADER_BYTES;
+    }
+
+    /**
+     * Reads game at given offset into given holder.
+     *
+     * @param offset offset of a game, first offset or an offset returned by previous read
+     * @param record
+     * @return offset of next game, -1 if there are no more games
+     * @throws IOException if game is truncated or malformed
+     */
+    public long read(long offset, GameRecord record) throws IOException {
+        if (offset >= size) {
+            return -1L;
+        }
+
+        //Window is always at least a full record long unless file ends earlier
+        map(offset, (int) Math.min(MAX_RECORD_BYTES, size - offset));
+        int limit = window.limit();
+        int position = (int) (offset - windowStart);
+
+        if (position + 3 > limit) {
+            throw truncated(offset);
+        }
+        int boardSize = window.get(position) & 0xFF;
+        int winLength = window.get(position + 1) & 0xFF;
+        int playerCount = window.get(position + 2) & 0xFF;
+        position += 3;
+
+        if (position + 3 * playerCount + 2 > limit) {
+            throw truncated(offset);
+        }
+        record.setOffset(offset);
+        record.setBoard(boardSize, winLength);
+        record.setPlayerCount(playerCount);
+        for (int p = 0; p < playerCount; p++) {
+            int type = window.get(position);
+            if (type < 0 || type >= PLAYER_TYPES.length) {
+                throw new IOException(path + " has a malformed game at offset " + offset);
+            }
+            record.setPlayer(p, PLAYER_TYPES[type], window.getChar(position + 1));
+            position += 3;
+        }
+        record.setWinner(window.get(position));
+        int moveCount = window.get(position + 1) & 0xFF;
+        position += 2;
+
+        if (position + moveCount > limit) {
+            throw truncated(offset);
+        }
+        record.setMoveCount(moveCount);
+        for (int turn = 0; turn < moveCount; turn++) {
+            record.getMoves()[turn] = window.get(position + turn);
+        }
+        position += moveCount;
+
+        return windowStart + position;
+    }
+
+    /**
+     * Reads every game of file into a single holder and passes it to given consumer.
+     *
+     * @param consumer
+     * @return number of games
+     * @throws IOException if a game is truncated or malformed
+     */
+    public long scan(Consumer<GameRecord> consumer) throws IOException {
+        GameRecord record = new GameRecord();
+        long games = 0;
+        for (long offset = read(getFirstOffset(), record); offset > -1; offset = read(offset, record)) {
+            consumer.accept(record);
+            games++;
+        }
+        return games;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Makes sure given range is inside current window, maps a new window starting at offset otherwise.
+     *
+     * @param offset
+     * @param length
+     * @throws IOException
+     */
+    private void map(long offset, int length) throws IOException {
+        if (window == null || offset < windowStart || offset + length > windowStart + window.limit()) {
+            window = channel.map(FileChannel.MapMode.READ_ONLY, offset, Math.min(WINDOW_BYTES, size - offset));
+            windowStart = offset;
+        }
+    }
+
+    private IOException truncated(long offset) {
+        return new IOException(path + " has a truncated game at offset " + offset);
+    }
+}
@@ -0,0 +1,128 @@
+package com.alpersemerci.tictactoe.service.record;
+
+import com.alpersemerci.tictactoe.model.Game;
+import com.alpersemerci.tictactoe.model.Player;
+import com.alpersemerci.tictactoe.service.game.GameService;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * GameRecordWriter appends finished games to a game record file, see {@link GameRecordReader} for file layout.
+ * <p>
+ * Games are encoded into a direct buffer and buffer is written to file channel when it is full, so appending a game
+ * is a few puts and a write of 64 KB happens every few thousand games. Buffer always holds whole games, a crash loses
+ * buffered games but never leaves half a game behind a full write. Appends are synchronized, a single writer may be
+ * shared by many threads.
+ *
+ * @author Alper Semerci
+ */
+public class GameRecordWriter implements Closeable {
+
+    private static final int BUFFER_BYTES = 1 << 16;
+
+    private final GameService gameService;
+
+    private final FileChannel channel;
+
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+
+    private long games;
+
+    /**
+     * Opens given file for appending, file and header are created if file doesn't exist.
+     *
+     * @param path
+     * @param gameService
+     * @throws IOException if file can't be opened or it is not a game record file
+     */
+    public GameRecordWriter(Path path, GameService gameService) throws IOException {
+        this.gameService = gameService;
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        try {
+            long size = channel.size();
+            if (size == 0) {
+                buffer.putInt(GameRecordReader.MAGIC).putInt(GameRecordReader.VERSION);
+            } else {
+                ByteBuffer header = ByteBuffer.allocate(GameRecordReader.HEADER_BYTES);
+                if (channel.read(header, 0L) < GameRecordReader.HEADER_BYTES || header.getInt(0) != GameRecordReader.MAGIC || header.getInt(4) != GameRecordReader.VERSION) {
+                    throw new IOException(path + " is not a game record file");
+                }
+            }
+            channel.position(size);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Appends moves, players and winner of given game. Game doesn't need to be over, moves played so far are written.
+     *
+     * @param game
+     * @throws IOException
+     */
+    public synchronized void append(Game game) throws IOException {
+        List<Player> players = game.getPlayerList();
+        int playerCount = players.size();
+        int moveCount = game.getCurrentTurn();
+        if (playerCount > GameRecord.MAX_PLAYERS || moveCount > GameRecord.MAX_MOVES) {
+            throw new IllegalArgumentException("Game is too large for a game record");
+        }
+
+        if (buffer.remaining() < 5 + 3 * playerCount + moveCount) {
+            flushBuffer();
+        }
+
+        buffer.put(game.getBoard().getSize().byteValue())
+                .put(game.getBoard().getWinLength().byteValue())
+                .put((byte) playerCount);
+        for (Player player : players) {
+            buffer.put((byte) player.getType().ordinal()).putChar(player.getSymbol());
+        }
+        Player winner = gameService.getWinner(game);
+        buffer.put((byte) (winner == null ? -1 : players.indexOf(winner)))
+                .put((byte) moveCount)
+                .put(game.getMoves(), 0, moveCount);
+        games++;
+    }
+
+    /**
+     * @return number of games appended by this writer
+     */
+    public synchronized long getGames() {
+        return games;
+    }
+
+    /**
+     * Writes buffered games to file.
+     *
+     * @throws IOException
+     */
+    public synchronized void flush() throws IOException {
+        flushBuffer();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            flushBuffer();
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void flushBuffer() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
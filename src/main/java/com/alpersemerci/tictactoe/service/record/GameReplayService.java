@@ -0,0 +1,59 @@
+package com.alpersemerci.tictactoe.service.record;
+
+import com.alpersemerci.tictactoe.exception.GameAlreadyStartedException;
+import com.alpersemerci.tictactoe.exception.InvalidBoardSizeException;
+import com.alpersemerci.tictactoe.exception.InvalidMoveException;
+import com.alpersemerci.tictactoe.exception.InvalidWinLengthException;
+import com.alpersemerci.tictactoe.exception.NoPlayerInGameException;
+import com.alpersemerci.tictactoe.model.Game;
+import com.alpersemerci.tictactoe.model.Player;
+import com.alpersemerci.tictactoe.service.game.GameService;
+
+/**
+ * Game Replay Service rebuilds recorded games. Moves are played through {@link GameService}, so a replayed game is
+ * validated move by move and is the same game state a live game has at that turn.
+ *
+ * @author Alper Semerci
+ */
+public class GameReplayService {
+
+    private GameService gameService;
+
+    public GameReplayService(GameService gameService) {
+        this.gameService = gameService;
+    }
+
+    /**
+     * Rebuilds given recorded game with all of its moves.
+     *
+     * @param record
+     * @return game
+     */
+    public Game replay(GameRecord record) throws InvalidBoardSizeException, InvalidWinLengthException, GameAlreadyStartedException,
+            InvalidMoveException, NoPlayerInGameException {
+        return replay(record, record.getMoveCount());
+    }
+
+    /**
+     * Rebuilds given recorded game as it was before given turn, turn 0 is the empty board.
+     *
+     * @param record
+     * @param turn   number of moves to play, between 0 and move count of record
+     * @return game
+     */
+    public Game replay(GameRecord record, int turn) throws InvalidBoardSizeException, InvalidWinLengthException, GameAlreadyStartedException,
+            InvalidMoveException, NoPlayerInGameException {
+        if (turn < 0 || turn > record.getMoveCount()) {
+            throw new IllegalArgumentException("Turn must be between 0 and " + record.getMoveCount());
+        }
+
+        Game game = gameService.createGame(record.getBoardSize(), record.getWinLength());
+        for (Player player : record.getPlayers()) {
+            gameService.addPlayerToGame(game, player);
+        }
+        for (int t = 0; t < turn; t++) {
+            gameService.play(game, record.getMove(t));
+        }
+        return game;
+    }
+}
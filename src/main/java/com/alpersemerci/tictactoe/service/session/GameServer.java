@@ -0,0 +1,342 @@
+package com.alpersemerci.tictactoe.service.session;
+
+import com.alpersemerci.tictactoe.exception.InvalidBoardSizeException;
+import com.alpersemerci.tictactoe.exception.InvalidMoveException;
+import com.alpersemerci.tictactoe.exception.InvalidWinLengthException;
+import com.alpersemerci.tictactoe.exception.SessionNotFoundException;
+import com.alpersemerci.tictactoe.model.Board;
+import com.alpersemerci.tictactoe.model.Game;
+import com.alpersemerci.tictactoe.model.Player;
+import com.alpersemerci.tictactoe.model.PlayerType;
+import com.alpersemerci.tictactoe.service.config.ConfigService;
+import com.alpersemerci.tictactoe.service.game.BoardMasks;
+import com.alpersemerci.tictactoe.service.game.BoardService;
+import com.alpersemerci.tictactoe.service.game.CellPool;
+import com.alpersemerci.tictactoe.service.game.GameService;
+import com.alpersemerci.tictactoe.service.heuristics.MoveCache;
+import com.alpersemerci.tictactoe.service.simulation.SimulationStrategy;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * GameServer is a local HTTP/JSON front end of {@link GameSessionService}:
+ * <ul>
+ * <li>{@code POST /sessions?size=3&win=3&players=HUMAN,AI&strategy=ALPHA_BETA} creates a session, all parameters
+ * are optional</li>
+ * <li>{@code GET /sessions/{id}} returns state of a session</li>
+ * <li>{@code POST /sessions/{id}/moves?row=1&column=1} plays a human move, AI replies are played in the same
+ * request</li>
+ * <li>{@code DELETE /sessions/{id}} removes a session</li>
+ * <li>{@code GET /stats} returns number of sessions and hit, miss and eviction counts of shared move cache</li>
+ * </ul>
+ * Every request runs on a worker of a fixed thread pool. AI moves are CPU bound, so a pool sized to processors
+ * keeps cores busy without oversubscribing them; requests of different sessions never wait for each other's locks.
+ * Sessions idle longer than configured timeout are evicted periodically. AI replies of a request are bounded by
+ * {@code server.ai.request.timeout}; deleting a session frees a worker searching for it.
+ *
+ * @author Alper Semerci
+ */
+@Slf4j
+public class GameServer {
+
+    private static final int DEFAULT_PORT = 8080;
+
+    private static final long DEFAULT_IDLE_TIMEOUT_MILLIS = 600_000L;
+
+    private static final int DEFAULT_BACKLOG = 1024;
+
+    private final GameSessionService sessionService;
+
+    private final int port;
+
+    private final int threads;
+
+    private long idleTimeoutMillis;
+
+    private SimulationStrategy defaultStrategy;
+
+    private HttpServer server;
+
+    private ExecutorService executor;
+
+    private ScheduledExecutorService evictor;
+
+    public GameServer(GameSessionService sessionService, int port, int threads) {
+        this.sessionService = sessionService;
+        this.port = port;
+        this.threads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+
+        ConfigService config = ConfigService.getInstance();
+        this.idleTimeoutMillis = config.getConfigValue("server.session.idle.timeout", DEFAULT_IDLE_TIMEOUT_MILLIS);
+        this.defaultStrategy = SimulationStrategy.valueOf(Optional.ofNullable(config.getConfigValue("server.session.strategy"))
+                .orElse(SimulationStrategy.ALPHA_BETA.name()).trim());
+    }
+
+    public static void main(String[] args) throws IOException {
+        ConfigService config = ConfigService.getInstance();
+        BoardService boardService = new BoardService();
+        GameServer server = new GameServer(new GameSessionService(boardService, new GameService(boardService)),
+                (int) config.getConfigValue("server.port", DEFAULT_PORT), (int) config.getConfigValue("server.threads", 0L));
+
+        server.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(server::stop));
+    }
+
+    /**
+     * Sets idle time after which a session is evicted, 0 means sessions are kept until removed. Takes effect on start.
+     *
+     * @param idleTimeoutMillis
+     */
+    public void setIdleTimeoutMillis(long idleTimeoutMillis) {
+        this.idleTimeoutMillis = idleTimeoutMillis;
+    }
+
+    /**
+     * Sets strategy of AI players for sessions created without a strategy parameter.
+     *
+     * @param defaultStrategy
+     */
+    public void setDefaultStrategy(SimulationStrategy defaultStrategy) {
+        this.defaultStrategy = defaultStrategy;
+    }
+
+    /**
+     * Starts listening. Port 0 picks a free port, see {@link #getPort()}.
+     *
+     * @throws IOException
+     */
+    public void start() throws IOException {
+        //Responses are small, don't let Nagle's algorithm hold them back waiting for delayed acks
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+
+        executor = Executors.newFixedThreadPool(threads);
+        server = HttpServer.create(new InetSocketAddress(port), (int) ConfigService.getInstance().getConfigValue("server.backlog", DEFAULT_BACKLOG));
+        server.createContext("/sessions", this::handle);
+        server.createContext("/stats", this::handleStats);
+        server.setExecutor(executor);
+        server.start();
+
+        if (idleTimeoutMillis > 0) {
+            evictor = Executors.newSingleThreadScheduledExecutor();
+            evictor.scheduleWithFixedDelay(() -> sessionService.removeIdleSessions(idleTimeoutMillis),
+                    idleTimeoutMillis, idleTimeoutMillis, TimeUnit.MILLISECONDS);
+        }
+
+        log.info("[GAME_SERVER] [STARTED] [PORT={}] [THREADS={}]", getPort(), threads);
+    }
+
+    /**
+     * Stops listening and shuts down worker threads.
+     */
+    public void stop() {
+        //Searching workers return best moves found so far instead of running until their budgets end
+        sessionService.cancelSearches();
+        if (sessionService.getMoveCache() != null) {
+            log.info("[GAME_SERVER] [MOVE_CACHE] [STATS={}]", sessionService.getMoveCache());
+        }
+        if (server != null) {
+            server.stop(0);
+            executor.shutdownNow();
+        }
+        if (evictor != null) {
+            evictor.shutdownNow();
+        }
+        log.info("[GAME_SERVER] [STOPPED] [SESSIONS={}]", sessionService.getSessionCount());
+    }
+
+    public int getPort() {
+        return server != null ? server.getAddress().getPort() : port;
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            String method = exchange.getRequestMethod();
+            String[] path = exchange.getRequestURI().getPath().split("/");
+            Map<String, String> parameters = parseQuery(exchange.getRequestURI().getRawQuery());
+
+            if (path.length == 2 && "POST".equals(method)) {
+                GameSession session = sessionService.createSession(
+                        Integer.valueOf(parameters.getOrDefault("size", "3")),
+                        parameters.containsKey("win") ? Integer.valueOf(parameters.get("win")) : Integer.valueOf(parameters.getOrDefault("size", "3")),
+                        parsePlayerTypes(parameters.getOrDefault("players", "HUMAN,AI")),
+                        parameters.containsKey("strategy") ? SimulationStrategy.valueOf(parameters.get("strategy")) : defaultStrategy);
+                respond(exchange, 201, toJson(session));
+            } else if (path.length == 3 && "GET".equals(method)) {
+                respond(exchange, 200, toJson(sessionService.getSession(path[2])));
+            } else if (path.length == 3 && "DELETE".equals(method)) {
+                if (!sessionService.removeSession(path[2])) {
+                    throw new SessionNotFoundException("There is no game session with id " + path[2]);
+                }
+                respond(exchange, 204, null);
+            } else if (path.length == 4 && "moves".equals(path[3]) && "POST".equals(method)) {
+                int row = parseCoordinate(parameters, "row");
+                int column = parseCoordinate(parameters, "column");
+                int size = sessionService.getSession(path[2]).getGame().getBoard().getSize();
+                respond(exchange, 200, toJson(sessionService.play(path[2], CellPool.of(size).get(row, column))));
+            } else {
+                respond(exchange, 404, toErrorJson("Unknown resource " + method + " " + exchange.getRequestURI().getPath()));
+            }
+        } catch (SessionNotFoundException e) {
+            respond(exchange, 404, toErrorJson(e.getMessage()));
+        } catch (InvalidMoveException | InvalidBoardSizeException | InvalidWinLengthException | IllegalArgumentException e) {
+            //NumberFormatException is an IllegalArgumentException, it covers malformed parameters as well
+            respond(exchange, 400, toErrorJson(e.getMessage()));
+        } catch (Exception e) {
+            log.error("[GAME_SERVER] [REQUEST_FAILED] [URI={}]", exchange.getRequestURI(), e);
+            respond(exchange, 500, toErrorJson("Internal server error"));
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void handleStats(HttpExchange exchange) throws IOException {
+        try {
+            StringBuilder json = new StringBuilder("{\"sessions\":").append(sessionService.getSessionCount());
+            MoveCache moveCache = sessionService.getMoveCache();
+            if (moveCache != null) {
+                json.append(",\"moveCache\":{\"capacity\":").append(moveCache.getCapacity())
+                        .append(",\"size\":").append(moveCache.getSize())
+                        .append(",\"hits\":").append(moveCache.getHits())
+                        .append(",\"misses\":").append(moveCache.getMisses())
+                        .append(",\"evictions\":").append(moveCache.getEvictions())
+                        .append(",\"rejections\":").append(moveCache.getRejections())
+                        .append('}');
+            }
+            respond(exchange, 200, json.append('}').toString());
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private static Map<String, String> parseQuery(String query) throws UnsupportedEncodingException {
+        Map<String, String> parameters = new HashMap<>();
+        if (query != null) {
+            for (String parameter : query.split("&")) {
+                String[] pair = parameter.split("=", 2);
+                if (!pair[0].isEmpty()) {
+                    parameters.put(URLDecoder.decode(pair[0], "UTF-8"), pair.length > 1 ? URLDecoder.decode(pair[1], "UTF-8") : "");
+                }
+            }
+        }
+        return parameters;
+    }
+
+    /**
+     * Returns numeric value of given move parameter.
+     *
+     * @param parameters
+     * @param name
+     * @return value
+     * @throws IllegalArgumentException if parameter is missing or not a number
+     */
+    private static int parseCoordinate(Map<String, String> parameters, String name) {
+        String value = parameters.get(name);
+        if (value == null || value.isEmpty()) {
+            throw new IllegalArgumentException("Missing " + name + " parameter");
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + name + " parameter: " + value);
+        }
+    }
+
+    private static List<PlayerType> parsePlayerTypes(String players) {
+        return Arrays.stream(players.split(",")).map(String::trim).map(PlayerType::valueOf).collect(Collectors.toList());
+    }
+
+    private static void respond(HttpExchange exchange, int status, String json) throws IOException {
+        if (json == null) {
+            exchange.sendResponseHeaders(status, -1);
+            return;
+        }
+
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(body);
+        }
+    }
+
+    /**
+     * Renders state of given session, board rows use '.' for empty cells. Holds session monitor while reading game.
+     *
+     * @param session
+     * @return json
+     */
+    static String toJson(GameSession session) {
+        synchronized (session) {
+            Game game = session.getGame();
+            Board board = game.getBoard();
+            int size = board.getSize();
+            long[] occupiedBits = board.getOccupiedBits();
+            long[][] playerBits = board.getPlayerBits();
+            List<Player> players = game.getPlayerList();
+            Player winner = null;
+            for (int slot = 0; slot < playerBits.length; slot++) {
+                if (board.getCompletedLines()[slot] > 0) {
+                    winner = board.getPlayers().get(slot);
+                }
+            }
+            boolean gameOver = winner != null || board.getEmptyCells() == 0;
+
+            StringBuilder json = new StringBuilder(160 + size * (size + 3));
+            json.append("{\"id\":\"").append(session.getId())
+                    .append("\",\"size\":").append(size)
+                    .append(",\"winLength\":").append(board.getWinLength())
+                    .append(",\"turn\":").append(game.getCurrentTurn())
+                    .append(",\"status\":\"").append(winner != null ? "WON" : gameOver ? "DRAW" : "IN_PROGRESS")
+                    .append("\",\"winner\":").append(winner != null ? "\"" + winner.getSymbol() + "\"" : "null")
+                    .append(",\"next\":").append(gameOver ? "null" : "\"" + players.get(game.getCurrentTurn() % players.size()).getSymbol() + "\"")
+                    .append(",\"players\":[");
+            for (int p = 0; p < players.size(); p++) {
+                json.append(p > 0 ? "," : "").append("{\"symbol\":\"").append(players.get(p).getSymbol())
+                        .append("\",\"type\":\"").append(players.get(p).getType()).append("\"}");
+            }
+            json.append("],\"board\":[");
+            for (int row = 0; row < size; row++) {
+                json.append(row > 0 ? ",\"" : "\"");
+                for (int column = 0; column < size; column++) {
+                    int index = row * size + column;
+                    char symbol = '.';
+                    if (BoardMasks.isSet(occupiedBits, index)) {
+                        for (int slot = 0; slot < playerBits.length; slot++) {
+                            if (BoardMasks.isSet(playerBits[slot], index)) {
+                                symbol = board.getPlayers().get(slot).getSymbol();
+                            }
+                        }
+                    }
+                    json.append(symbol);
+                }
+                json.append('"');
+            }
+            return json.append("]}").toString();
+        }
+    }
+
+    private static String toErrorJson(String message) {
+        String escaped = String.valueOf(message).replace("\\", "\\\\").replace("\"", "\\\"");
+        return "{\"error\":\"" + escaped + "\"}";
+    }
+}
@@ -0,0 +1,69 @@
+package com.alpersemerci.tictactoe.service.session;
+
+import com.alpersemerci.tictactoe.model.Game;
+import com.alpersemerci.tictactoe.service.heuristics.CancellationToken;
+import com.alpersemerci.tictactoe.service.heuristics.HeuristicStrategy;
+
+/**
+ * GameSession is a single game hosted by {@link GameSessionService}: the game itself, strategy of its AI players,
+ * last access time for idle session eviction and cancellation token of AI search in progress.
+ * <p>
+ * Game of a session is not thread safe. Every read or write of game must hold monitor of session, so requests of
+ * the same session are serialized while requests of different sessions run in parallel.
+ *
+ * @author Alper Semerci
+ */
+public class GameSession {
+
+    private final String id;
+
+    private final Game game;
+
+    private final HeuristicStrategy strategy;
+
+    private volatile long lastAccessMillis;
+
+    private volatile CancellationToken searchToken;
+
+    GameSession(String id, Game game, HeuristicStrategy strategy) {
+        this.id = id;
+        this.game = game;
+        this.strategy = strategy;
+        this.lastAccessMillis = System.currentTimeMillis();
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public Game getGame() {
+        return game;
+    }
+
+    public HeuristicStrategy getStrategy() {
+        return strategy;
+    }
+
+    public long getLastAccessMillis() {
+        return lastAccessMillis;
+    }
+
+    void touch() {
+        lastAccessMillis = System.currentTimeMillis();
+    }
+
+    void setSearchToken(CancellationToken searchToken) {
+        this.searchToken = searchToken;
+    }
+
+    /**
+     * Cancels AI search in progress, if any. Searching AI plays best move found so far. It doesn't need session
+     * monitor, which is held by searching request.
+     */
+    void cancelSearch() {
+        CancellationToken token = searchToken;
+        if (token != null) {
+            token.cancel();
+        }
+    }
+}
@@ -0,0 +1,256 @@
+package com.alpersemerci.tictactoe.service.session;
+
+import com.alpersemerci.tictactoe.exception.*;
+import com.alpersemerci.tictactoe.model.Cell;
+import com.alpersemerci.tictactoe.model.Game;
+import com.alpersemerci.tictactoe.model.Player;
+import com.alpersemerci.tictactoe.model.PlayerType;
+import com.alpersemerci.tictactoe.service.config.ConfigService;
+import com.alpersemerci.tictactoe.service.game.BoardService;
+import com.alpersemerci.tictactoe.service.game.GameService;
+import com.alpersemerci.tictactoe.service.heuristics.CachingHeuristicStrategy;
+import com.alpersemerci.tictactoe.service.heuristics.CancellationToken;
+import com.alpersemerci.tictactoe.service.heuristics.HeuristicStrategy;
+import com.alpersemerci.tictactoe.service.heuristics.MoveCache;
+import com.alpersemerci.tictactoe.service.simulation.SimulationStrategy;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Game Session Service hosts many games in a single JVM. Every session owns its game, sessions are kept in a
+ * concurrent map and a request locks only its own session, so thousands of games are played in parallel.
+ * <p>
+ * Board and game services are stateless and shared by all sessions. Strategies are shared per strategy type as well:
+ * a strategy keeps no per game state between moves (alpha beta shares only its transposition table, which is safe
+ * for concurrent searches), so sessions don't pay for a strategy instance each. Deterministic strategies (all but
+ * random and Monte Carlo) are wrapped with a {@link CachingHeuristicStrategy} on a move cache shared by all sessions,
+ * so positions reached by many games (openings above all) are searched once. Moves of searches stopped by a budget
+ * aren't cached.
+ * <p>
+ * When a human plays a move, AI players reply within the same request until it is a human's turn again or game is
+ * over. Games without human players are played to the end on creation. AI searches of a request share a deadline
+ * ({@code server.ai.request.timeout}), so latency of a request is bounded whatever strategy budgets are; searches of
+ * a removed session are cancelled and its request returns at once.
+ *
+ * @author Alper Semerci
+ */
+@Slf4j
+public class GameSessionService {
+
+    private static final char[] SYMBOLS = {'X', 'O', 'C'};
+
+    private static final long DEFAULT_MOVE_CACHE_SIZE = 1 << 16;
+
+    private static final long DEFAULT_AI_REQUEST_TIMEOUT_MILLIS = 0L;
+
+    private BoardService boardService;
+
+    private GameService gameService;
+
+    private final ConcurrentMap<String, GameSession> sessions = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<SimulationStrategy, HeuristicStrategy> strategies = new ConcurrentHashMap<>();
+
+    private final MoveCache moveCache;
+
+    private long aiRequestTimeoutMillis;
+
+    public GameSessionService(BoardService boardService, GameService gameService) {
+        this(boardService, gameService, (int) ConfigService.getInstance().getConfigValue("server.move.cache.size", DEFAULT_MOVE_CACHE_SIZE));
+    }
+
+    /**
+     * @param boardService
+     * @param gameService
+     * @param moveCacheSize number of cached moves shared by all sessions, 0 disables cache
+     */
+    public GameSessionService(BoardService boardService, GameService gameService, int moveCacheSize) {
+        this.boardService = boardService;
+        this.gameService = gameService;
+        this.moveCache = moveCacheSize > 0 ? new MoveCache(moveCacheSize) : null;
+        this.aiRequestTimeoutMillis = ConfigService.getInstance().getConfigValue("server.ai.request.timeout", DEFAULT_AI_REQUEST_TIMEOUT_MILLIS);
+    }
+
+    /**
+     * Sets time AI players of a request may search in total, 0 means only budgets of strategies apply.
+     *
+     * @param aiRequestTimeoutMillis
+     */
+    public void setAiRequestTimeoutMillis(long aiRequestTimeoutMillis) {
+        this.aiRequestTimeoutMillis = aiRequestTimeoutMillis;
+    }
+
+    /**
+     * Creates and registers a new session. Players get symbols X, O and C in order. If first players are AI, their
+     * moves are played before session is returned.
+     *
+     * @param boardSize
+     * @param winLength
+     * @param playerTypes  types of players in turn order, 2 or 3 players
+     * @param strategyType strategy of AI players
+     * @return session
+     * @throws InvalidBoardSizeException
+     * @throws InvalidWinLengthException
+     */
+    public GameSession createSession(Integer boardSize, Integer winLength, List<PlayerType> playerTypes, SimulationStrategy strategyType)
+            throws InvalidBoardSizeException, InvalidWinLengthException, GameAlreadyStartedException, NoPlayerInGameException,
+            InvalidMoveException, NoPossibleMovesLeftException {
+        if (playerTypes.size() < 2 || playerTypes.size() > SYMBOLS.length) {
+            throw new IllegalArgumentException("Number of players must be between 2 and " + SYMBOLS.length);
+        }
+
+        Game game = gameService.createGame(boardSize, winLength);
+        for (int i = 0; i < playerTypes.size(); i++) {
+            gameService.addPlayerToGame(game, new Player(playerTypes.get(i), SYMBOLS[i]));
+        }
+
+        HeuristicStrategy strategy = strategies.computeIfAbsent(strategyType, this::createStrategy);
+        GameSession session = new GameSession(UUID.randomUUID().toString(), game, strategy);
+
+        synchronized (session) {
+            sessions.put(session.getId(), session);
+            playAiMoves(session);
+        }
+
+        log.debug("[GAME_SESSION] [CREATED] [ID={}] [BOARD_SIZE={}] [WIN_LENGTH={}] [PLAYERS={}] [STRATEGY={}]",
+                session.getId(), boardSize, winLength, playerTypes, strategyType);
+        return session;
+    }
+
+    /**
+     * Returns session with given id.
+     *
+     * @param id
+     * @return session
+     * @throws SessionNotFoundException if there is no such session
+     */
+    public GameSession getSession(String id) throws SessionNotFoundException {
+        GameSession session = id == null ? null : sessions.get(id);
+        if (session == null) {
+            throw new SessionNotFoundException("There is no game session with id " + id);
+        }
+        session.touch();
+        return session;
+    }
+
+    /**
+     * Plays given cell for human player to move in given session, then AI players reply until it is a human's turn
+     * again or game is over.
+     *
+     * @param id
+     * @param cell
+     * @return session
+     * @throws SessionNotFoundException
+     * @throws InvalidMoveException if game is over, it is not a human's turn or cell is not available
+     */
+    public GameSession play(String id, Cell cell) throws SessionNotFoundException, InvalidMoveException,
+            NoPlayerInGameException, NoPossibleMovesLeftException {
+        GameSession session = getSession(id);
+
+        synchronized (session) {
+            Game game = session.getGame();
+            if (gameService.isGameOver(game)) {
+                throw new InvalidMoveException("Game is over");
+            }
+            if (!PlayerType.HUMAN.equals(gameService.getCurrentPlayer(game).getType())) {
+                throw new InvalidMoveException("It is not a human player's turn");
+            }
+
+            gameService.play(game, cell);
+            playAiMoves(session);
+        }
+        return session;
+    }
+
+    /**
+     * Removes session with given id and cancels its AI search in progress.
+     *
+     * @param id
+     * @return true if session existed
+     */
+    public boolean removeSession(String id) {
+        GameSession session = id == null ? null : sessions.remove(id);
+        if (session == null) {
+            return false;
+        }
+        session.cancelSearch();
+        return true;
+    }
+
+    /**
+     * Cancels AI searches in progress of all sessions, e.g. on shutdown.
+     */
+    public void cancelSearches() {
+        sessions.values().forEach(GameSession::cancelSearch);
+    }
+
+    /**
+     * Removes sessions which are not accessed for given time.
+     *
+     * @param idleMillis
+     * @return number of removed sessions
+     */
+    public int removeIdleSessions(long idleMillis) {
+        long threshold = System.currentTimeMillis() - idleMillis;
+        int removed = 0;
+
+        for (Iterator<GameSession> iterator = sessions.values().iterator(); iterator.hasNext(); ) {
+            GameSession session = iterator.next();
+            if (session.getLastAccessMillis() < threshold) {
+                iterator.remove();
+                session.cancelSearch();
+                removed++;
+            }
+        }
+
+        if (removed > 0) {
+            log.info("[GAME_SESSION] [IDLE_SESSIONS_REMOVED] [COUNT={}] [REMAINING={}]", removed, sessions.size());
+        }
+        return removed;
+    }
+
+    public int getSessionCount() {
+        return sessions.size();
+    }
+
+    /**
+     * @return move cache shared by all sessions, null if disabled
+     */
+    public MoveCache getMoveCache() {
+        return moveCache;
+    }
+
+    private HeuristicStrategy createStrategy(SimulationStrategy type) {
+        HeuristicStrategy strategy = type.create(boardService, gameService);
+        //Caching a random or time bound Monte Carlo move would make it the only move of position
+        boolean deterministic = type != SimulationStrategy.RANDOM && type != SimulationStrategy.MONTE_CARLO;
+        return moveCache != null && deterministic ? new CachingHeuristicStrategy(strategy, moveCache) : strategy;
+    }
+
+    /**
+     * Plays moves of AI players while game is not over and player to move is an AI. Caller holds session monitor.
+     * Once request deadline passes or session is removed, remaining AI moves are best moves of first search
+     * iterations, so game stays consistent and request returns quickly.
+     *
+     * @param session
+     */
+    private void playAiMoves(GameSession session) throws NoPlayerInGameException, InvalidMoveException, NoPossibleMovesLeftException {
+        Game game = session.getGame();
+        CancellationToken token = new CancellationToken().withTimeout(aiRequestTimeoutMillis);
+        session.setSearchToken(token);
+
+        try {
+            while (!gameService.isGameOver(game) && PlayerType.AI.equals(gameService.getCurrentPlayer(game).getType())) {
+                gameService.play(game, session.getStrategy().getMoveIndex(game, token));
+            }
+        } finally {
+            session.setSearchToken(null);
+        }
+        session.touch();
+    }
+}
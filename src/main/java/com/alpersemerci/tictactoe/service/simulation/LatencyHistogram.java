@@ -0,0 +1,95 @@
+package com.alpersemerci.tictactoe.service.simulation;
+
+/**
+ * LatencyHistogram records latencies in nanoseconds into log linear buckets: values below 32 have a bucket each,
+ * every power of two above is split into 16 buckets. Percentiles are accurate to about 6 percent with a fixed
+ * memory footprint, so millions of moves are recorded without keeping samples.
+ * <p>
+ * A histogram is not thread safe, every worker records into its own histogram and histograms are merged.
+ */
+public class LatencyHistogram {
+
+    private static final int LINEAR_BUCKETS = 32;
+
+    private static final int SUB_BUCKETS = 16;
+
+    private static final int BUCKET_COUNT = LINEAR_BUCKETS + 58 * SUB_BUCKETS;
+
+    private final long[] counts = new long[BUCKET_COUNT];
+
+    private long count;
+
+    private long max;
+
+    /**
+     * Records a latency.
+     *
+     * @param nanos
+     */
+    public void record(long nanos) {
+        long value = Math.max(0L, nanos);
+        counts[bucketOf(value)]++;
+        count++;
+        max = Math.max(max, value);
+    }
+
+    /**
+     * Adds all recorded latencies of given histogram to this histogram.
+     *
+     * @param other
+     */
+    public void merge(LatencyHistogram other) {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] += other.counts[i];
+        }
+        count += other.count;
+        max = Math.max(max, other.max);
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getMax() {
+        return max;
+    }
+
+    /**
+     * Returns latency at given percentile, highest value of the bucket containing percentile.
+     *
+     * @param percentile between 0 and 100
+     * @return latency in nanoseconds, 0 if histogram is empty
+     */
+    public long getPercentile(double percentile) {
+        if (count == 0) {
+            return 0L;
+        }
+
+        long rank = Math.max(1L, (long) Math.ceil(percentile / 100.0 * count));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(max, upperBoundOf(i));
+            }
+        }
+        return max;
+    }
+
+    static int bucketOf(long value) {
+        if (value < LINEAR_BUCKETS) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - 4;
+        return LINEAR_BUCKETS + (shift - 1) * SUB_BUCKETS + (int) ((value >>> shift) & (SUB_BUCKETS - 1));
+    }
+
+    static long upperBoundOf(int bucket) {
+        if (bucket < LINEAR_BUCKETS) {
+            return bucket;
+        }
+        int shift = (bucket - LINEAR_BUCKETS) / SUB_BUCKETS + 1;
+        long subBucket = (bucket - LINEAR_BUCKETS) % SUB_BUCKETS;
+        return ((SUB_BUCKETS + subBucket) << shift) + (1L << shift) - 1;
+    }
+}
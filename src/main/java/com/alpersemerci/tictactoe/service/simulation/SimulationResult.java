@@ -0,0 +1,134 @@
+package com.alpersemerci.tictactoe.service.simulation;
+
+import java.util.Arrays;
+
+/**
+ * SimulationResult aggregates played games of a scenario: wins per lineup strategy, draws, game lengths and per move
+ * latencies of strategies. Workers fill their own result and results are merged, so a result itself is not
+ * thread safe.
+ */
+public class SimulationResult {
+
+    private final SimulationScenario scenario;
+
+    private final long[] wins;
+
+    private long games;
+
+    private long draws;
+
+    private long moves;
+
+    private long elapsedNanos;
+
+    private final LatencyHistogram latencies = new LatencyHistogram();
+
+    public SimulationResult(SimulationScenario scenario) {
+        this.scenario = scenario;
+        this.wins = new long[scenario.getLineup().size()];
+    }
+
+    /**
+     * Records a finished game.
+     *
+     * @param winner lineup index of winner strategy, -1 for a draw
+     * @param moves  number of moves of game
+     */
+    void recordGame(int winner, int moves) {
+        games++;
+        this.moves += moves;
+        if (winner < 0) {
+            draws++;
+        } else {
+            wins[winner]++;
+        }
+    }
+
+    /**
+     * Records latency of a single move.
+     *
+     * @param nanos
+     */
+    void recordMove(long nanos) {
+        latencies.record(nanos);
+    }
+
+    void setElapsedNanos(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Adds games of given result to this result.
+     *
+     * @param other
+     */
+    void merge(SimulationResult other) {
+        games += other.games;
+        draws += other.draws;
+        moves += other.moves;
+        for (int i = 0; i < wins.length; i++) {
+            wins[i] += other.wins[i];
+        }
+        latencies.merge(other.latencies);
+    }
+
+    public SimulationScenario getScenario() {
+        return scenario;
+    }
+
+    public long getGames() {
+        return games;
+    }
+
+    public long getDraws() {
+        return draws;
+    }
+
+    public long getWins(int lineupIndex) {
+        return wins[lineupIndex];
+    }
+
+    public double getWinRate(int lineupIndex) {
+        return games == 0 ? 0.0 : (double) wins[lineupIndex] / games;
+    }
+
+    public double getDrawRate() {
+        return games == 0 ? 0.0 : (double) draws / games;
+    }
+
+    public long getMoves() {
+        return moves;
+    }
+
+    public double getAverageGameLength() {
+        return games == 0 ? 0.0 : (double) moves / games;
+    }
+
+    /**
+     * @return wall clock time from start of simulation run to completion of scenario
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public double getMovesPerSecond() {
+        return elapsedNanos == 0 ? 0.0 : moves * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    public LatencyHistogram getLatencies() {
+        return latencies;
+    }
+
+    @Override
+    public String toString() {
+        double[] winRates = new double[wins.length];
+        for (int i = 0; i < wins.length; i++) {
+            winRates[i] = Math.round(getWinRate(i) * 10000) / 10000.0;
+        }
+        return String.format("[SIMULATION] [SCENARIO=%s] [GAMES=%d] [WIN_RATES=%s] [DRAW_RATE=%.4f] [AVG_MOVES=%.2f] "
+                        + "[MOVES_PER_SEC=%.0f] [P50_US=%d] [P90_US=%d] [P99_US=%d] [MAX_US=%d]",
+                scenario.getName(), games, Arrays.toString(winRates), getDrawRate(), getAverageGameLength(),
+                getMovesPerSecond(), latencies.getPercentile(50) / 1000, latencies.getPercentile(90) / 1000,
+                latencies.getPercentile(99) / 1000, latencies.getMax() / 1000);
+    }
+}
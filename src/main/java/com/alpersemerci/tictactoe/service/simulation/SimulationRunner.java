@@ -0,0 +1,233 @@
+package com.alpersemerci.tictactoe.service.simulation;
+
+import com.alpersemerci.tictactoe.exception.*;
+import com.alpersemerci.tictactoe.model.Game;
+import com.alpersemerci.tictactoe.model.Player;
+import com.alpersemerci.tictactoe.model.PlayerType;
+import com.alpersemerci.tictactoe.service.game.BoardService;
+import com.alpersemerci.tictactoe.service.game.GameService;
+import com.alpersemerci.tictactoe.service.heuristics.AlphaBetaPruningHeuristicStrategy;
+import com.alpersemerci.tictactoe.service.heuristics.HeuristicStrategy;
+import com.alpersemerci.tictactoe.service.heuristics.TranspositionTable;
+import com.alpersemerci.tictactoe.service.record.GameRecordWriter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * SimulationRunner plays headless AI vs AI games of simulation scenarios on a thread pool.
+ * <p>
+ * Games of a scenario are split into batches. A batch is played by a single worker with its own services and
+ * strategy instances and its own result, so workers share nothing while playing. Strategies search on worker thread
+ * without fork join pools and alpha beta strategies reuse a transposition table per worker thread, so a batch doesn't
+ * allocate a table. Batch results of a scenario are
+ * merged when all of them are finished and merged result is streamed to listener right away, while other scenarios
+ * are still running.
+ * <p>
+ * Usage: {@code SimulationRunner sizes=3,4 lineups=RANDOM:ALPHA_BETA,MONTE_CARLO:RANDOM:RANDOM games=1000 threads=8},
+ * every board size is played with every lineup. With {@code record=games.rec} every played game is appended to a
+ * game record file.
+ *
+ * @author Alper Semerci
+ */
+@Slf4j
+public class SimulationRunner {
+
+    private static final int MAX_BATCH_SIZE = 250;
+
+    private final int threads;
+
+    private GameRecordWriter gameRecordWriter;
+
+    private final ThreadLocal<TranspositionTable> transpositionTables = ThreadLocal.withInitial(AlphaBetaPruningHeuristicStrategy::newTranspositionTable);
+
+    public SimulationRunner(int threads) {
+        this.threads = Math.max(1, threads);
+    }
+
+    /**
+     * Sets writer every played game is appended to, null means games aren't recorded.
+     *
+     * @param gameRecordWriter
+     */
+    public void setGameRecordWriter(GameRecordWriter gameRecordWriter) {
+        this.gameRecordWriter = gameRecordWriter;
+    }
+
+    public static void main(String[] args) throws InterruptedException, ExecutionException, IOException {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            String[] option = arg.split("=", 2);
+            options.put(option[0], option.length > 1 ? option[1] : "");
+        }
+
+        List<Integer> boardSizes = Arrays.stream(options.getOrDefault("sizes", "3").split(","))
+                .map(String::trim).map(Integer::valueOf).collect(Collectors.toList());
+        List<List<SimulationStrategy>> lineups = Arrays.stream(options.getOrDefault("lineups", "RANDOM:RANDOM").split(","))
+                .map(lineup -> Arrays.stream(lineup.split(":")).map(String::trim).map(SimulationStrategy::valueOf).collect(Collectors.toList()))
+                .collect(Collectors.toList());
+        int games = Integer.parseInt(options.getOrDefault("games", "1000"));
+        int threads = Integer.parseInt(options.getOrDefault("threads", String.valueOf(Runtime.getRuntime().availableProcessors())));
+
+        SimulationRunner runner = new SimulationRunner(threads);
+        List<SimulationScenario> scenarios = createScenarios(boardSizes, lineups, games);
+        if (options.containsKey("record")) {
+            try (GameRecordWriter writer = new GameRecordWriter(Paths.get(options.get("record")), new GameService(new BoardService()))) {
+                runner.setGameRecordWriter(writer);
+                runner.run(scenarios, result -> log.info(result.toString()));
+            }
+        } else {
+            runner.run(scenarios, result -> log.info(result.toString()));
+        }
+    }
+
+    /**
+     * Creates a scenario for every board size and lineup pair.
+     *
+     * @param boardSizes
+     * @param lineups    strategies of players, number of players is size of lineup
+     * @param games      number of games per scenario
+     * @return scenarios
+     */
+    public static List<SimulationScenario> createScenarios(List<Integer> boardSizes, List<List<SimulationStrategy>> lineups, int games) {
+        List<SimulationScenario> scenarios = new ArrayList<>();
+        for (Integer boardSize : boardSizes) {
+            for (List<SimulationStrategy> lineup : lineups) {
+                scenarios.add(new SimulationScenario(boardSize, lineup, games));
+            }
+        }
+        return scenarios;
+    }
+
+    /**
+     * Plays all games of given scenarios. Listener is called once per scenario as soon as its games are finished,
+     * calls are serialized but they come from worker threads.
+     *
+     * @param scenarios
+     * @param listener
+     * @return results in order of scenarios
+     * @throws InterruptedException
+     * @throws ExecutionException   if a game fails
+     */
+    public List<SimulationResult> run(List<SimulationScenario> scenarios, Consumer<SimulationResult> listener)
+            throws InterruptedException, ExecutionException {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        long start = System.nanoTime();
+
+        try {
+            List<CompletableFuture<SimulationResult>> futures = new ArrayList<>(scenarios.size());
+            for (SimulationScenario scenario : scenarios) {
+                int games = scenario.getGames();
+                int batchSize = Math.max(1, Math.min(MAX_BATCH_SIZE, games / (threads * 4)));
+
+                List<CompletableFuture<SimulationResult>> batches = new ArrayList<>();
+                for (int first = 0; first < games; first += batchSize) {
+                    int firstGame = first;
+                    int count = Math.min(batchSize, games - first);
+                    batches.add(CompletableFuture.supplyAsync(() -> playBatch(scenario, firstGame, count), executor));
+                }
+
+                futures.add(CompletableFuture.allOf(batches.toArray(new CompletableFuture<?>[0])).thenApply(done -> {
+                    SimulationResult result = new SimulationResult(scenario);
+                    batches.forEach(batch -> result.merge(batch.join()));
+                    result.setElapsedNanos(System.nanoTime() - start);
+                    synchronized (listener) {
+                        listener.accept(result);
+                    }
+                    return result;
+                }));
+            }
+
+            List<SimulationResult> results = new ArrayList<>(futures.size());
+            for (CompletableFuture<SimulationResult> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Plays a batch of games of given scenario.
+     *
+     * @param scenario
+     * @param firstGame number of first game in scenario, it decides seat rotation
+     * @param count     number of games
+     * @return result of batch
+     */
+    private SimulationResult playBatch(SimulationScenario scenario, int firstGame, int count) {
+        BoardService boardService = new BoardService();
+        GameService gameService = new GameService(boardService);
+        List<SimulationStrategy> lineup = scenario.getLineup();
+        int playerCount = lineup.size();
+
+        TranspositionTable transpositionTable = lineup.contains(SimulationStrategy.ALPHA_BETA) ? transpositionTables.get() : null;
+        HeuristicStrategy[] strategies = new HeuristicStrategy[playerCount];
+        for (int i = 0; i < playerCount; i++) {
+            strategies[i] = lineup.get(i).create(boardService, gameService, transpositionTable);
+        }
+
+        SimulationResult result = new SimulationResult(scenario);
+        try {
+            for (int gameNumber = firstGame; gameNumber < firstGame + count; gameNumber++) {
+                playGame(gameService, scenario.getBoardSize(), strategies, gameNumber % playerCount, result);
+            }
+        } catch (Exception e) {
+            log.error("[SIMULATION] [GAME_ERROR] [SCENARIO={}]", scenario.getName(), e);
+            throw new CompletionException(e);
+        }
+        return result;
+    }
+
+    /**
+     * Plays a single game. Player on seat s is played by strategy (s + rotation) % players of lineup.
+     *
+     * @param gameService
+     * @param boardSize
+     * @param strategies strategies in lineup order
+     * @param rotation
+     * @param result
+     */
+    private void playGame(GameService gameService, int boardSize, HeuristicStrategy[] strategies, int rotation, SimulationResult result)
+            throws InvalidBoardSizeException, GameAlreadyStartedException, NoPossibleMovesLeftException, InvalidMoveException, NoPlayerInGameException, IOException {
+        int playerCount = strategies.length;
+        Game game = gameService.createGame(boardSize);
+        for (int seat = 0; seat < playerCount; seat++) {
+            gameService.addPlayerToGame(game, new Player(PlayerType.AI, (char) ('A' + seat)));
+        }
+
+        int moves = 0;
+        while (!gameService.isGameOver(game)) {
+            int lineupIndex = (game.getCurrentTurn() % playerCount + rotation) % playerCount;
+
+            long start = System.nanoTime();
+            int move = strategies[lineupIndex].getMoveIndex(game);
+            result.recordMove(System.nanoTime() - start);
+
+            gameService.play(game, move);
+            moves++;
+        }
+
+        Player winner = gameService.getWinner(game);
+        int winnerLineupIndex = winner == null ? -1 : (game.getPlayerList().indexOf(winner) + rotation) % playerCount;
+        result.recordGame(winnerLineupIndex, moves);
+
+        if (gameRecordWriter != null) {
+            gameRecordWriter.append(game);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.alpersemerci.tictactoe.service.simulation;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Defines a simulation scenario: board size, strategies of players (number of players is size of lineup) and number
+ * of games to play. Seats rotate from game to game, so every strategy moves first equally often.
+ *
+ * @author Alper Semerci
+ */
+@Data
+@AllArgsConstructor
+public class SimulationScenario {
+
+    private Integer boardSize;
+
+    private List<SimulationStrategy> lineup;
+
+    private Integer games;
+
+    /**
+     * @return short scenario name like 3x3:RANDOM-ALPHA_BETA
+     */
+    public String getName() {
+        return boardSize + "x" + boardSize + ":" + lineup.stream().map(SimulationStrategy::name).collect(Collectors.joining("-"));
+    }
+}
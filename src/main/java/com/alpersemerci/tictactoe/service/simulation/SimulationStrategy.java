@@ -0,0 +1,69 @@
+package com.alpersemerci.tictactoe.service.simulation;
+
+import com.alpersemerci.tictactoe.service.game.BoardService;
+import com.alpersemerci.tictactoe.service.game.GameService;
+import com.alpersemerci.tictactoe.service.heuristics.AlphaBetaPruningHeuristicStrategy;
+import com.alpersemerci.tictactoe.service.heuristics.HeuristicStrategy;
+import com.alpersemerci.tictactoe.service.heuristics.MonteCarloTreeSearchHeuristicStrategy;
+import com.alpersemerci.tictactoe.service.heuristics.RandomHeuristicStrategy;
+import com.alpersemerci.tictactoe.service.heuristics.StayCloseToCenterHeuristicStrategy;
+import com.alpersemerci.tictactoe.service.heuristics.TranspositionTable;
+
+/**
+ * Heuristic strategies available to simulations and game sessions. Every simulation worker creates its own strategy
+ * instances and game sessions share an instance per strategy type. Search budgets are read from configuration like
+ * in interactive games.
+ */
+public enum SimulationStrategy {
+
+    RANDOM {
+        @Override
+        public HeuristicStrategy create(BoardService boardService, GameService gameService, TranspositionTable transpositionTable) {
+            return new RandomHeuristicStrategy(boardService);
+        }
+    },
+
+    STAY_CLOSE_TO_CENTER {
+        @Override
+        public HeuristicStrategy create(BoardService boardService, GameService gameService, TranspositionTable transpositionTable) {
+            return new StayCloseToCenterHeuristicStrategy(boardService);
+        }
+    },
+
+    ALPHA_BETA {
+        @Override
+        public HeuristicStrategy create(BoardService boardService, GameService gameService, TranspositionTable transpositionTable) {
+            //Simulation workers and server workers already use every core
+            return new AlphaBetaPruningHeuristicStrategy(boardService, gameService,
+                    transpositionTable != null ? transpositionTable : AlphaBetaPruningHeuristicStrategy.newTranspositionTable(), null);
+        }
+    },
+
+    MONTE_CARLO {
+        @Override
+        public HeuristicStrategy create(BoardService boardService, GameService gameService, TranspositionTable transpositionTable) {
+            return new MonteCarloTreeSearchHeuristicStrategy(boardService, null);
+        }
+    };
+
+    /**
+     * Creates a new strategy instance, alpha beta gets a new transposition table of configured size.
+     *
+     * @param boardService
+     * @param gameService
+     * @return strategy
+     */
+    public HeuristicStrategy create(BoardService boardService, GameService gameService) {
+        return create(boardService, gameService, null);
+    }
+
+    /**
+     * Creates a new strategy instance. Strategies search on calling thread, no fork join pool is created.
+     *
+     * @param boardService
+     * @param gameService
+     * @param transpositionTable table of alpha beta search, e.g. one reused by a worker thread; null for a new one
+     * @return strategy
+     */
+    public abstract HeuristicStrategy create(BoardService boardService, GameService gameService, TranspositionTable transpositionTable);
+}
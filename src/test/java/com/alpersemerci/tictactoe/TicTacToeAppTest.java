@@ -3,6 +3,7 @@ package com.alpersemerci.tictactoe;
 import com.alpersemerci.tictactoe.exception.GameAlreadyStartedException;
 import com.alpersemerci.tictactoe.exception.InvalidBoardSizeException;
 import com.alpersemerci.tictactoe.exception.InvalidMoveException;
+import com.alpersemerci.tictactoe.exception.InvalidWinLengthException;
 import com.alpersemerci.tictactoe.exception.NoPlayerInGameException;
 import org.junit.After;
 import org.junit.Before;
@@ -37,7 +38,7 @@ public class TicTacToeAppTest {
 
 
     @Test
-    public void test_command_line_game() throws NoPlayerInGameException, GameAlreadyStartedException, InvalidMoveException, InterruptedException, InvalidBoardSizeException, FileNotFoundException {
+    public void test_command_line_game() throws NoPlayerInGameException, GameAlreadyStartedException, InvalidMoveException, InterruptedException, InvalidBoardSizeException, InvalidWinLengthException, FileNotFoundException {
         String[] args = new String[0];
         TicTacToeApp.main(args);
     }
@@ -0,0 +1,74 @@
+package com.alpersemerci.tictactoe.service.config;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.InputStream;
+import java.text.MessageFormat;
+import java.util.Properties;
+
+public class MessageCatalogTest {
+
+    private MessageCatalog messageCatalog = MessageCatalog.getInstance();
+
+    @Test
+    public void test_every_message_renders_like_MessageFormat() throws Exception {
+        Properties properties = new Properties();
+        try (InputStream inputStream = getClass().getClassLoader().getResourceAsStream("config.properties")) {
+            properties.load(inputStream);
+        }
+
+        for (String name : properties.stringPropertyNames()) {
+            String key = name.substring("tictactoe.".length());
+            String pattern = properties.getProperty(name);
+            Assert.assertTrue("Catalog should contain " + key, messageCatalog.contains(key));
+            Assert.assertEquals("Raw message should be config value", pattern, messageCatalog.render(key, new StringBuilder()).toString());
+            Assert.assertEquals("Message should be rendered like MessageFormat",
+                    MessageFormat.format(pattern, "Keyser Söze"), messageCatalog.format(key, "Keyser Söze"));
+        }
+    }
+
+    @Test
+    public void test_render_appends_to_buffer() {
+        StringBuilder out = new StringBuilder("> ");
+        messageCatalog.render("player.wins", out, "X");
+        Assert.assertEquals("Message should be appended", "> Player X wins the game!", out.toString());
+    }
+
+    @Test
+    public void test_missing_key_renders_null() {
+        Assert.assertFalse("Catalog shouldn't contain missing key", messageCatalog.contains("non_existing_"));
+        Assert.assertEquals("Missing message should be null", "null", messageCatalog.format("non_existing_"));
+    }
+
+    @Test
+    public void test_compile_follows_MessageFormat_syntax() {
+        String[] patterns = {"It''s {0}", "'{0}' is {1}", "{1} before {0}", "missing {2}", "{0}{0}", "}{0}", "'quoted ''text'' {0}'"};
+        for (String pattern : patterns) {
+            MessageCatalog.Template template = MessageCatalog.compile(pattern);
+            Assert.assertTrue("Simple pattern should be compiled: " + pattern, template.isCompiled());
+
+            StringBuilder out = new StringBuilder();
+            template.render(out, "a", "b");
+            Assert.assertEquals("Pattern should be rendered like MessageFormat", MessageFormat.format(pattern, "a", "b"), out.toString());
+        }
+    }
+
+    @Test
+    public void test_compile_falls_back_for_format_types() {
+        MessageCatalog.Template template = MessageCatalog.compile("{0,date} ''{1}''");
+        Assert.assertFalse("Format type should fall back to MessageFormat", template.isCompiled());
+
+        StringBuilder out = new StringBuilder();
+        template.render(out, null, "x");
+        Assert.assertEquals("Fallback should render like MessageFormat", MessageFormat.format("{0,date} ''{1}''", null, "x"), out.toString());
+
+        out.setLength(0);
+        template.render(out, "x");
+        Assert.assertEquals("Pattern which can't be formatted should be rendered as it is", "{0,date} ''{1}''", out.toString());
+
+        out.setLength(0);
+        MessageCatalog.compile("unmatched {0").render(out, "x");
+        Assert.assertEquals("Invalid pattern should be rendered as it is", "unmatched {0", out.toString());
+    }
+}
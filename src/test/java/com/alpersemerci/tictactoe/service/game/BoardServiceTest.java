@@ -60,6 +60,64 @@ public class BoardServiceTest {
         });
     }
 
+    @Test
+    public void test_available_cells_and_player_after_play() {
+        IntStream.range(3, 11).forEach(boardSize -> {
+            Board board = new Board(boardSize);
+            Player player = new Player(PlayerType.HUMAN, 'X');
+            Cell lastCell = new Cell(boardSize - 1, boardSize - 1);
+
+            Assert.assertEquals("All cells should be available on empty board", boardSize * boardSize, boardService.getAvailableCells(board).size());
+
+            boardService.play(board, lastCell, player);
+            boardService.play(board, new Cell(0, 1), player);
+
+            Assert.assertEquals("Played cells shouldn't be available", boardSize * boardSize - 2, boardService.getAvailableCells(board).size());
+            Assert.assertEquals("First available cell should be 0,0", new Cell(0, 0), boardService.getAvailableCells(board).get(0));
+            Assert.assertEquals("Cell should be occupied by player", player, boardService.getPlayer(board, boardSize - 1, boardSize - 1));
+            Assert.assertNull("Cell should be empty", boardService.getPlayer(board, 0, 0));
+        });
+    }
+
+    @Test
+    public void test_cell_index_api_matches_cell_api() {
+        IntStream.range(3, 11).forEach(boardSize -> {
+            Board board = new Board(boardSize);
+            Player player = new Player(PlayerType.HUMAN, 'X');
+            int lastIndex = boardSize * boardSize - 1;
+
+            Assert.assertTrue("Index play should succeed", boardService.play(board, lastIndex, player));
+            Assert.assertTrue("Index play on occupied cell should fail", !boardService.play(board, lastIndex, player));
+            Assert.assertTrue("Index out of board shouldn't be available", !boardService.isCellAvailableForPlay(board, lastIndex + 1));
+            Assert.assertTrue("Cell of index shouldn't be available", !boardService.isCellAvailableForPlay(board, new Cell(boardSize - 1, boardSize - 1)));
+            Assert.assertEquals("Cell should be occupied by player", player, boardService.getPlayer(board, lastIndex));
+
+            int count = 0;
+            for (int index = boardService.nextAvailableCell(board, 0); index > -1; index = boardService.nextAvailableCell(board, index + 1)) {
+                Assert.assertSame("Available cells should be pooled in row major order", CellPool.of(boardSize).get(index), boardService.getAvailableCells(board).get(count));
+                count++;
+            }
+            Assert.assertEquals("Walk should visit every empty cell", boardSize * boardSize - 1, count);
+        });
+    }
+
+    @Test
+    public void test_make_and_unmake_move_restores_board() {
+        IntStream.range(3, 11).forEach(boardSize -> {
+            Board board = new Board(boardSize);
+            boardService.play(board, new Cell(1, 1), new Player(PlayerType.HUMAN, 'X'));
+            int slot = boardService.getPlayerSlot(board, new Player(PlayerType.AI, 'O'));
+            Board copy = boardService.copyBoard(board);
+
+            IntStream.range(0, boardSize * boardSize).filter(index -> index != boardSize + 1).forEach(index -> {
+                boardService.makeMove(board, index, slot);
+                Assert.assertNotEquals("Board should change after move", copy, board);
+                boardService.unmakeMove(board, index, slot);
+                Assert.assertEquals("Board should be restored after unmake", copy, board);
+            });
+        });
+    }
+
     @Test
     public void test_print_empty_board() {
         IntStream.range(3, 11).forEach(i -> {
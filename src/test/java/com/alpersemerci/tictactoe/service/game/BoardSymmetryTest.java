@@ -0,0 +1,87 @@
+package com.alpersemerci.tictactoe.service.game;
+
+import com.alpersemerci.tictactoe.model.Board;
+import com.alpersemerci.tictactoe.model.Player;
+import com.alpersemerci.tictactoe.model.PlayerType;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.stream.IntStream;
+
+public class BoardSymmetryTest {
+
+    private BoardService boardService;
+
+    private Player human;
+
+    private Player ai;
+
+    @Before
+    public void setUp() throws Exception {
+        boardService = new BoardService();
+        human = new Player(PlayerType.HUMAN, 'X');
+        ai = new Player(PlayerType.AI, 'O');
+    }
+
+    @Test
+    public void test_transforms_are_permutations() {
+        IntStream.range(1, 11).forEach(size -> {
+            BoardSymmetry symmetry = BoardSymmetry.of(size);
+            for (int t = 0; t < BoardSymmetry.COUNT; t++) {
+                for (int index = 0; index < size * size; index++) {
+                    Assert.assertEquals("Inverse should revert transform", index,
+                            symmetry.getInverse(t)[symmetry.getTransform(t)[index]]);
+                }
+            }
+        });
+    }
+
+    @Test
+    public void test_symmetric_boards_share_canonical_hash() {
+        int size = 4;
+        BoardSymmetry symmetry = BoardSymmetry.of(size);
+        int[] humanMoves = {0, 6, 13};
+        int[] aiMoves = {1, 11};
+
+        long canonicalHash = 0L;
+        for (int t = 0; t < BoardSymmetry.COUNT; t++) {
+            Board board = new Board(size);
+            int humanSlot = boardService.getPlayerSlot(board, human);
+            int aiSlot = boardService.getPlayerSlot(board, ai);
+            for (int move : humanMoves) {
+                boardService.makeMove(board, symmetry.getTransform(t)[move], humanSlot);
+            }
+            for (int move : aiMoves) {
+                boardService.makeMove(board, symmetry.getTransform(t)[move], aiSlot);
+            }
+
+            if (t == 0) {
+                canonicalHash = symmetry.getCanonicalHash(board);
+            }
+            Assert.assertEquals("Symmetric boards should have same canonical hash", canonicalHash, symmetry.getCanonicalHash(board));
+            Assert.assertEquals("Symmetry hash 0 should be board hash", board.getHash(), board.getSymmetryHashes()[0]);
+        }
+    }
+
+    @Test
+    public void test_symmetries_of_board() {
+        Board board = new Board(3);
+        BoardSymmetry symmetry = BoardSymmetry.of(3);
+        int humanSlot = boardService.getPlayerSlot(board, human);
+
+        Assert.assertEquals("Empty board should have all symmetries", 0xFF, symmetry.getSymmetries(board));
+
+        boardService.makeMove(board, 4, humanSlot);
+        Assert.assertEquals("Center should keep all symmetries", 0xFF, symmetry.getSymmetries(board));
+
+        boardService.unmakeMove(board, 4, humanSlot);
+        boardService.makeMove(board, 0, humanSlot);
+        Assert.assertEquals("Corner should only keep identity and transposition", 1 | 1 << 6, symmetry.getSymmetries(board));
+
+        boardService.unmakeMove(board, 0, humanSlot);
+        for (long hash : board.getSymmetryHashes()) {
+            Assert.assertEquals("Undo should restore symmetry hashes", 0L, hash);
+        }
+    }
+}
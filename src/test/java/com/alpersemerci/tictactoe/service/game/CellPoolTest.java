@@ -0,0 +1,33 @@
+package com.alpersemerci.tictactoe.service.game;
+
+import com.alpersemerci.tictactoe.model.Board;
+import com.alpersemerci.tictactoe.model.Cell;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.stream.IntStream;
+
+public class CellPoolTest {
+
+    @Test
+    public void test_cells_are_shared_and_match_index() {
+        IntStream.range(3, 11).forEach(boardSize -> {
+            CellPool cellPool = CellPool.of(boardSize);
+            Assert.assertSame("Pool should be shared per board size", cellPool, CellPool.of(boardSize));
+
+            IntStream.range(0, boardSize * boardSize).forEach(index -> {
+                Cell cell = cellPool.get(index);
+                Assert.assertEquals("Cell should match index", new Cell(index / boardSize, index % boardSize), cell);
+                Assert.assertSame("Row and column lookup should return pooled cell", cell, cellPool.get(cell.getRow(), cell.getColumn()));
+                Assert.assertEquals("Index of cell should round trip", index, cellPool.indexOf(cell));
+            });
+        });
+    }
+
+    @Test
+    public void test_cells_out_of_board_are_not_pooled() {
+        Cell cell = CellPool.of(3).get(0, 3);
+        Assert.assertEquals("Out of board cell should keep its coordinates", new Cell(0, 3), cell);
+        Assert.assertTrue("Out of board cell should stay invalid", !new BoardService().isCellAvailableForPlay(new Board(3), cell));
+    }
+}
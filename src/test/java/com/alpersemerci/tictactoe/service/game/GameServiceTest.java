@@ -3,6 +3,7 @@ package com.alpersemerci.tictactoe.service.game;
 import com.alpersemerci.tictactoe.exception.GameAlreadyStartedException;
 import com.alpersemerci.tictactoe.exception.InvalidBoardSizeException;
 import com.alpersemerci.tictactoe.exception.InvalidMoveException;
+import com.alpersemerci.tictactoe.exception.InvalidWinLengthException;
 import com.alpersemerci.tictactoe.exception.NoPlayerInGameException;
 import com.alpersemerci.tictactoe.model.*;
 import com.alpersemerci.tictactoe.service.game.BoardService;
@@ -16,7 +17,6 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 
-import java.util.Arrays;
 import java.util.stream.IntStream;
 
 import static org.mockito.ArgumentMatchers.any;
@@ -126,7 +126,7 @@ public class GameServiceTest {
 
         IntStream.range(0, game.getBoard().getSize()).forEach(i -> {
             try {
-                game.getBoard().getCells()[5][i] = player;
+                new BoardService().play(game.getBoard(), new Cell(5, i), player);
             } catch (Exception e) {
                 log.error(e.getMessage(), e);
             }
@@ -154,7 +154,7 @@ public class GameServiceTest {
 
                     IntStream.range(0, boardSize).forEach(i -> {
                         try {
-                            game.getBoard().getCells()[i][targetColumn] = player;
+                            new BoardService().play(game.getBoard(), new Cell(i, targetColumn), player);
                         } catch (Exception e) {
                             log.error(e.getMessage(), e);
                         }
@@ -190,7 +190,7 @@ public class GameServiceTest {
 
                     IntStream.range(0, boardSize).forEach(i -> {
                         try {
-                            game.getBoard().getCells()[targetRow][i] = player;
+                            new BoardService().play(game.getBoard(), new Cell(targetRow, i), player);
                         } catch (Exception e) {
                             log.error(e.getMessage(), e);
                         }
@@ -219,7 +219,7 @@ public class GameServiceTest {
 
         IntStream.range(0, game.getBoard().getSize()).forEach(i -> {
             try {
-                game.getBoard().getCells()[i][10 - i - 1] = player;
+                new BoardService().play(game.getBoard(), new Cell(i, 10 - i - 1), player);
             } catch (Exception e) {
                 log.error(e.getMessage(), e);
             }
@@ -229,16 +229,51 @@ public class GameServiceTest {
 
 
         IntStream.range(0, game.getBoard().getSize()).forEach(i -> {
-            Assert.assertTrue("It should be winning move.", gameService.isWinnerMove(game, new Cell(i, i), player));
+            Assert.assertTrue("It should be winning move.", gameService.isWinnerMove(game, new Cell(i, 10 - i - 1), player));
         });
 
+        Assert.assertFalse("Cell off reverse diagonal shouldn't be winning move.", gameService.isWinnerMove(game, new Cell(0, 0), player));
+
         log.info(new BoardService().printBoard(game.getBoard()));
     }
 
     @Test
-    public void test_isGameOver_on_empty_board() throws InvalidBoardSizeException, GameAlreadyStartedException {
-        when(boardService.getAvailableCells(any(Board.class))).thenReturn(Arrays.asList(new Cell(0,0)));
+    public void test_isWinnerMove_win_length_windows() throws GameAlreadyStartedException, InvalidBoardSizeException, InvalidWinLengthException {
+        Player player = new Player(PlayerType.HUMAN, 'X');
+        Player opponent = new Player(PlayerType.HUMAN, 'O');
+        Game game = gameService.createGame(10, 5);
+        gameService.addPlayerToGame(game, player);
+        gameService.addPlayerToGame(game, opponent);
+        BoardService boardService = new BoardService();
+
+        //Off main reverse diagonal from 2,8 to 6,4
+        IntStream.range(0, 4).forEach(i -> boardService.play(game.getBoard(), new Cell(2 + i, 8 - i), player));
+        Assert.assertFalse("4 in a row shouldn't win", gameService.isWinnerMove(game, new Cell(5, 5), player));
+        Assert.assertNull("There shouldn't be a winner", gameService.getWinner(game));
+
+        boardService.play(game.getBoard(), new Cell(6, 4), player);
+        log.info(boardService.printBoard(game.getBoard()));
+
+        IntStream.range(0, 5).forEach(i ->
+                Assert.assertTrue("It should be winning move.", gameService.isWinnerMove(game, new Cell(2 + i, 8 - i), player)));
+        Assert.assertEquals("Player should win with 5 in a row", player, gameService.getWinner(game));
+
+        //Row broken by opponent
+        gameService.clearBoard(game);
+        IntStream.range(0, 4).forEach(i -> boardService.play(game.getBoard(), new Cell(9, i), player));
+        boardService.play(game.getBoard(), new Cell(9, 4), opponent);
+        IntStream.range(5, 8).forEach(i -> boardService.play(game.getBoard(), new Cell(9, i), player));
+        Assert.assertFalse("Broken row shouldn't win", gameService.isWinnerMove(game, new Cell(9, 7), player));
+        Assert.assertTrue("Game shouldn't be over", !gameService.isGameOver(game));
+    }
+
+    @Test(expected = InvalidWinLengthException.class)
+    public void test_createGame_with_win_length_longer_than_board() throws InvalidBoardSizeException, InvalidWinLengthException {
+        gameService.createGame(4, 5);
+    }
 
+    @Test
+    public void test_isGameOver_on_empty_board() throws InvalidBoardSizeException, GameAlreadyStartedException {
         Player player = new Player(PlayerType.HUMAN, 'X');
         Game game = gameService.createGame(10);
         gameService.addPlayerToGame(game, player);
@@ -254,7 +289,7 @@ public class GameServiceTest {
 
         IntStream.range(0, game.getBoard().getSize()).forEach(i -> {
             try {
-                game.getBoard().getCells()[i][10 - i - 1] = player;
+                new BoardService().play(game.getBoard(), new Cell(i, 10 - i - 1), player);
             } catch (Exception e) {
                 log.error(e.getMessage(), e);
             }
@@ -272,7 +307,7 @@ public class GameServiceTest {
         IntStream.range(0, game.getBoard().getSize()).forEach(i -> {
             try {
                 Player newPlayer = new Player(PlayerType.HUMAN, 'O');
-                game.getBoard().getCells()[i][10 - i - 1] = newPlayer;
+                new BoardService().play(game.getBoard(), new Cell(i, 10 - i - 1), newPlayer);
             } catch (Exception e) {
                 log.error(e.getMessage(), e);
             }
@@ -281,4 +316,49 @@ public class GameServiceTest {
         Assert.assertTrue("Game should be over", gameService.isGameOver(game));
     }
 
-}
\ No newline at end of file
+    @Test
+    public void test_isGameOver_after_winner_move_and_undo() throws InvalidBoardSizeException, GameAlreadyStartedException, InvalidMoveException, NoPlayerInGameException {
+        GameService gameService = new GameService(new BoardService());
+        Player player1 = new Player(PlayerType.HUMAN, 'X');
+        Player player2 = new Player(PlayerType.HUMAN, 'O');
+        Game game = gameService.createGame(3);
+        gameService.addPlayerToGame(game, player1);
+        gameService.addPlayerToGame(game, player2);
+
+        gameService.play(game, new Cell(0, 0));
+        gameService.play(game, new Cell(1, 0));
+        gameService.play(game, new Cell(0, 1));
+        gameService.play(game, new Cell(1, 1));
+        Assert.assertTrue("Game shouldn't be over", !gameService.isGameOver(game));
+
+        Assert.assertTrue("It should be winning move.", gameService.play(game, new Cell(0, 2)));
+        Assert.assertTrue("Game should be over", gameService.isGameOver(game));
+        Assert.assertEquals("Unexpected winner", player1, gameService.getWinner(game));
+
+        Assert.assertTrue("Undo should be successful", gameService.undo(game, new Cell(0, 2)));
+        Assert.assertTrue("Game shouldn't be over after undo", !gameService.isGameOver(game));
+        Assert.assertNull("There shouldn't be a winner after undo", gameService.getWinner(game));
+        Assert.assertEquals("Unexpected current player", player1, gameService.getCurrentPlayer(game));
+        Assert.assertTrue("Cell should be available after undo", gameService.isCellAvailableForPlay(game, new Cell(0, 2)));
+    }
+
+    @Test
+    public void test_isDraw_on_full_board_without_winner() throws InvalidBoardSizeException, GameAlreadyStartedException, InvalidMoveException, NoPlayerInGameException {
+        GameService gameService = new GameService(new BoardService());
+        Game game = gameService.createGame(3);
+        gameService.addPlayerToGame(game, new Player(PlayerType.HUMAN, 'X'));
+        gameService.addPlayerToGame(game, new Player(PlayerType.HUMAN, 'O'));
+
+        //X O X / X O O / O X X
+        int[][] moves = {{0, 0}, {0, 1}, {0, 2}, {1, 1}, {1, 0}, {1, 2}, {2, 1}, {2, 0}, {2, 2}};
+        for (int[] move : moves) {
+            Assert.assertTrue("Game shouldn't be over", !gameService.isGameOver(game));
+            gameService.play(game, new Cell(move[0], move[1]));
+        }
+
+        Assert.assertTrue("Game should be over", gameService.isGameOver(game));
+        Assert.assertTrue("Game should be draw", gameService.isDraw(game));
+        Assert.assertNull("There shouldn't be a winner", gameService.getWinner(game));
+    }
+
+}
@@ -10,6 +10,13 @@ import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
 
 @Slf4j
 public class AlphaBetaPruningHeuristicStrategyTest extends AbstractHeuristicStrategyTest {
@@ -65,4 +72,282 @@ public class AlphaBetaPruningHeuristicStrategyTest extends AbstractHeuristicStra
 
        Assert.assertTrue("Next move should be 0,2", cell.getRow() == 0 && cell.getColumn() == 2);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void test_getMove_prevent_opponent_on_4x4() throws InvalidBoardSizeException, GameAlreadyStartedException, InvalidMoveException, NoPlayerInGameException, NoPossibleMovesLeftException {
+        Game game = gameService.createGame(4);
+        gameService.addPlayerToGame(game, new Player(PlayerType.HUMAN, 'H'));
+        gameService.addPlayerToGame(game, new Player(PlayerType.AI, 'R'));
+
+        gameService.play(game, new Cell(0, 0));
+        gameService.play(game, new Cell(3, 3));
+        gameService.play(game, new Cell(0, 1));
+        gameService.play(game, new Cell(2, 2));
+        gameService.play(game, new Cell(0, 2));
+
+        long start = System.currentTimeMillis();
+        Cell cell = strategy.getMove(game);
+        log.info("4x4 move {} found in {} ms", cell, System.currentTimeMillis() - start);
+
+        Assert.assertTrue("Next move should be 0,3", cell.getRow() == 0 && cell.getColumn() == 3);
+    }
+
+    @Test
+    public void test_getMove_prevent_opponent_five_in_a_row() throws InvalidBoardSizeException, InvalidWinLengthException, GameAlreadyStartedException, InvalidMoveException, NoPlayerInGameException, NoPossibleMovesLeftException {
+        Game game = gameService.createGame(10, 5);
+        gameService.addPlayerToGame(game, new Player(PlayerType.HUMAN, 'H'));
+        gameService.addPlayerToGame(game, new Player(PlayerType.AI, 'R'));
+
+        gameService.play(game, new Cell(1, 7));
+        gameService.play(game, new Cell(9, 0));
+        gameService.play(game, new Cell(2, 6));
+        gameService.play(game, new Cell(9, 9));
+        gameService.play(game, new Cell(3, 5));
+        gameService.play(game, new Cell(0, 8));
+        gameService.play(game, new Cell(4, 4));
+
+        AlphaBetaPruningHeuristicStrategy strategy = new AlphaBetaPruningHeuristicStrategy(boardService, gameService);
+        strategy.setTimeBudgetMillis(200);
+        Cell cell = strategy.getMove(game);
+        log.info("5 in a row block {} {}", cell, boardService.printBoard(game.getBoard()));
+
+        Assert.assertTrue("Next move should be 5,3", cell.getRow() == 5 && cell.getColumn() == 3);
+    }
+
+    @Test
+    public void test_getMove_three_players_blocks_every_opponent() throws InvalidBoardSizeException, GameAlreadyStartedException, InvalidMoveException, NoPlayerInGameException, NoPossibleMovesLeftException {
+        Game game = gameService.createGame(4);
+        gameService.addPlayerToGame(game, new Player(PlayerType.AI, 'A'));
+        gameService.addPlayerToGame(game, new Player(PlayerType.AI, 'B'));
+        gameService.addPlayerToGame(game, new Player(PlayerType.AI, 'C'));
+
+        gameService.play(game, new Cell(3, 0));
+        gameService.play(game, new Cell(0, 0));
+        gameService.play(game, new Cell(3, 3));
+        gameService.play(game, new Cell(1, 2));
+        gameService.play(game, new Cell(0, 1));
+        gameService.play(game, new Cell(2, 1));
+        gameService.play(game, new Cell(3, 1));
+        gameService.play(game, new Cell(0, 2));
+
+        log.info(boardService.printBoard(game.getBoard()));
+
+        Cell cell = strategy.getMove(game);
+
+        Assert.assertTrue("AI should block another AI as well, next move should be 0,3", cell.getRow() == 0 && cell.getColumn() == 3);
+    }
+
+    @Test
+    public void test_three_player_games_within_time_budget() throws InvalidBoardSizeException, GameAlreadyStartedException, InvalidMoveException, NoPlayerInGameException, NoPossibleMovesLeftException {
+        for (int size = 4; size <= 5; size++) {
+            Game game = gameService.createGame(size);
+            gameService.addPlayerToGame(game, new Player(PlayerType.AI, 'A'));
+            gameService.addPlayerToGame(game, new Player(PlayerType.HUMAN, 'B'));
+            gameService.addPlayerToGame(game, new Player(PlayerType.AI, 'C'));
+
+            AlphaBetaPruningHeuristicStrategy strategy = new AlphaBetaPruningHeuristicStrategy(boardService, gameService);
+            strategy.setTimeBudgetMillis(100);
+
+            long slowest = 0;
+            while (!gameService.isGameOver(game)) {
+                long start = System.currentTimeMillis();
+                Cell cell = strategy.getMove(game);
+                slowest = Math.max(slowest, System.currentTimeMillis() - start);
+                gameService.play(game, cell);
+            }
+
+            log.info("[THREE_PLAYERS] [SIZE={}] [MOVES={}] [WINNER={}] [SLOWEST_MOVE_MS={}]", size, game.getCurrentTurn(), gameService.getWinner(game), slowest);
+            Assert.assertTrue("Every move should be found close to time budget", slowest < 1000);
+        }
+    }
+
+    @Test
+    public void test_getMove_on_10x10_within_time_budget() throws NoPossibleMovesLeftException {
+        AlphaBetaPruningHeuristicStrategy strategy = new AlphaBetaPruningHeuristicStrategy(boardService, gameService);
+        strategy.setTimeBudgetMillis(200);
+
+        long start = System.currentTimeMillis();
+        Cell cell = strategy.getMove(game);
+        long elapsed = System.currentTimeMillis() - start;
+        log.info("10x10 move {} found in {} ms", cell, elapsed);
+
+        Assert.assertTrue("Move should be available", gameService.isCellAvailableForPlay(game, cell));
+        Assert.assertTrue("Move should be found close to time budget", elapsed < 1000);
+    }
+
+    @Test
+    public void test_getMove_within_node_budget() throws NoPossibleMovesLeftException {
+        AlphaBetaPruningHeuristicStrategy strategy = new AlphaBetaPruningHeuristicStrategy(boardService, gameService);
+        strategy.setTimeBudgetMillis(0);
+        strategy.setNodeBudget(10000);
+
+        Cell cell = strategy.getMove(game);
+
+        Assert.assertTrue("Move should be available", gameService.isCellAvailableForPlay(game, cell));
+    }
+
+    @Test
+    public void test_search_stopped_on_budget_marks_token_incomplete() throws NoPossibleMovesLeftException {
+        AlphaBetaPruningHeuristicStrategy strategy = new AlphaBetaPruningHeuristicStrategy(boardService, gameService);
+        strategy.setTimeBudgetMillis(0);
+        strategy.setNodeBudget(10000);
+        CancellationToken token = new CancellationToken();
+
+        strategy.getMoveIndex(game, token);
+
+        Assert.assertTrue("Search stopped by node budget should be incomplete", token.isIncomplete());
+        Assert.assertFalse("Budget shouldn't cancel token", token.isCancelled());
+    }
+
+    @Test
+    public void test_getMoveIndex_stops_when_cancelled() throws NoPossibleMovesLeftException {
+        AlphaBetaPruningHeuristicStrategy strategy = new AlphaBetaPruningHeuristicStrategy(boardService, gameService);
+        strategy.setTimeBudgetMillis(0);
+        CancellationToken token = new CancellationToken();
+        token.cancel();
+
+        int move = strategy.getMoveIndex(game, token);
+
+        Assert.assertTrue("Move of cancelled search should be available", gameService.isCellAvailableForPlay(game, move));
+        //Without cancellation 10x10 search has no limit, first iterations end before first budget check
+        Assert.assertTrue("Cancelled search should stop after first iterations", strategy.getLastSearchMetrics().getDepth() <= 2);
+    }
+
+    @Test
+    public void test_getMoveAsync_completes_at_deadline() throws Exception {
+        AlphaBetaPruningHeuristicStrategy strategy = new AlphaBetaPruningHeuristicStrategy(boardService, gameService);
+        strategy.setTimeBudgetMillis(0);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        long start = System.currentTimeMillis();
+        Cell cell = strategy.getMoveAsync(game, 200, CancellationToken.NONE, executor).get(5, TimeUnit.SECONDS);
+        long elapsed = System.currentTimeMillis() - start;
+        executor.shutdown();
+
+        Assert.assertTrue("Move should be available", gameService.isCellAvailableForPlay(game, cell));
+        Assert.assertTrue("Move should be found close to deadline", elapsed < 1000);
+    }
+
+    @Test
+    public void test_getMoveAsync_cancel_frees_search_thread() throws Exception {
+        AlphaBetaPruningHeuristicStrategy strategy = new AlphaBetaPruningHeuristicStrategy(boardService, gameService);
+        strategy.setTimeBudgetMillis(0);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        CompletableFuture<Cell> move = strategy.getMoveAsync(game, 0, CancellationToken.NONE, executor);
+        Thread.sleep(50);
+        Assert.assertTrue("Search without deadline shouldn't be over", !move.isDone());
+
+        move.cancel(true);
+        executor.shutdown();
+
+        Assert.assertTrue("Search thread should be freed", executor.awaitTermination(1, TimeUnit.SECONDS));
+        Assert.assertTrue("Cancelled future shouldn't give a move", move.isCancelled());
+    }
+
+    @Test
+    public void test_getMoveAsync_token_cancel_completes_with_move() throws Exception {
+        AlphaBetaPruningHeuristicStrategy strategy = new AlphaBetaPruningHeuristicStrategy(boardService, gameService);
+        strategy.setTimeBudgetMillis(0);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        CancellationToken token = new CancellationToken();
+
+        CompletableFuture<Cell> move = strategy.getMoveAsync(game, 0, token, executor);
+        Thread.sleep(50);
+        token.cancel();
+        Cell cell = move.get(5, TimeUnit.SECONDS);
+        executor.shutdown();
+
+        Assert.assertTrue("Best move so far should be available", gameService.isCellAvailableForPlay(game, cell));
+    }
+
+    @Test
+    public void test_getMoveAsync_searches_game_of_call() throws Exception {
+        Game game = gameService.createGame(3);
+        gameService.addPlayerToGame(game, new Player(PlayerType.HUMAN, 'H'));
+        gameService.addPlayerToGame(game, new Player(PlayerType.AI, 'R'));
+        for (int index : new int[]{0, 1, 2, 4, 3, 5, 7, 6}) {
+            gameService.play(game, new Cell(index / 3, index % 3));
+        }
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        CountDownLatch started = new CountDownLatch(1);
+        executor.execute(() -> {
+            try {
+                started.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        CompletableFuture<Cell> move = strategy.getMoveAsync(game, 0, CancellationToken.NONE, executor);
+        //Game goes on before search starts
+        gameService.play(game, new Cell(2, 2));
+        started.countDown();
+        Cell cell = move.get(5, TimeUnit.SECONDS);
+        executor.shutdown();
+
+        Assert.assertEquals("Search should play last empty cell of game it was called with", new Cell(2, 2), cell);
+    }
+
+    @Test
+    public void test_parallel_getMove_equals_sequential_getMove() throws InvalidBoardSizeException, GameAlreadyStartedException, InvalidMoveException, NoPlayerInGameException, NoPossibleMovesLeftException {
+        Game game = gameService.createGame(5);
+        gameService.addPlayerToGame(game, new Player(PlayerType.HUMAN, 'H'));
+        gameService.addPlayerToGame(game, new Player(PlayerType.AI, 'R'));
+        gameService.play(game, new Cell(2, 2));
+
+        Cell sequentialMove = null;
+        long sequentialElapsed = 0;
+
+        for (int parallelism : new int[]{1, 2, 4, 8, 16}) {
+            AlphaBetaPruningHeuristicStrategy strategy = new AlphaBetaPruningHeuristicStrategy(boardService, gameService);
+            strategy.setTimeBudgetMillis(0);
+            strategy.setMaxDepth(5);
+            ForkJoinPool pool = parallelism > 1 ? new ForkJoinPool(parallelism) : null;
+            strategy.setForkJoinPool(pool);
+
+            long start = System.nanoTime();
+            Cell cell = strategy.getMove(game);
+            long elapsed = Math.max(1, System.nanoTime() - start);
+
+            if (pool != null) {
+                pool.shutdown();
+            } else {
+                sequentialMove = cell;
+                sequentialElapsed = elapsed;
+            }
+
+            log.info("[PARALLEL_SEARCH] [THREADS={}] [MOVE={}] [ELAPSED_MS={}] [SPEEDUP={}]", parallelism, cell,
+                    elapsed / 1_000_000L, String.format("%.2f", (double) sequentialElapsed / elapsed));
+            Assert.assertEquals("Parallel search should play same move as sequential search", sequentialMove, cell);
+        }
+    }
+
+    @Test
+    public void test_move_ordering_reduces_branching_factor() throws InvalidBoardSizeException, GameAlreadyStartedException, InvalidMoveException, NoPlayerInGameException, NoPossibleMovesLeftException {
+        for (int size = 4; size <= 6; size++) {
+            Game game = gameService.createGame(size);
+            gameService.addPlayerToGame(game, new Player(PlayerType.HUMAN, 'H'));
+            gameService.addPlayerToGame(game, new Player(PlayerType.AI, 'R'));
+            gameService.play(game, new Cell(1, 1));
+
+            MoveOrderingStats rowMajorStats = searchWithMoveOrdering(game, (boardSize, slots, maxPly) -> new RowMajorMoveOrdering());
+            MoveOrderingStats heuristicStats = searchWithMoveOrdering(game, HeuristicMoveOrdering::new);
+
+            log.info("[MOVE_ORDERING] [SIZE={}] [ROW_MAJOR={}] [HEURISTIC={}]", size, rowMajorStats, heuristicStats);
+            Assert.assertTrue("Heuristic move ordering should search less moves per node",
+                    heuristicStats.getBranchingFactor() < rowMajorStats.getBranchingFactor());
+            Assert.assertTrue("Heuristic move ordering should expand less nodes",
+                    heuristicStats.getNodes() < rowMajorStats.getNodes());
+        }
+    }
+
+    private MoveOrderingStats searchWithMoveOrdering(Game game, MoveOrdering.Factory factory) throws NoPossibleMovesLeftException {
+        AlphaBetaPruningHeuristicStrategy strategy = new AlphaBetaPruningHeuristicStrategy(boardService, gameService, new TranspositionTable(1 << 16));
+        strategy.setTimeBudgetMillis(0);
+        strategy.setMaxDepth(4);
+        strategy.setMoveOrderingFactory(factory);
+        strategy.getMove(game);
+        return strategy.getMoveOrderingStats();
+    }
+}
@@ -0,0 +1,115 @@
+package com.alpersemerci.tictactoe.service.heuristics;
+
+import com.alpersemerci.tictactoe.model.Board;
+import com.alpersemerci.tictactoe.model.Cell;
+import com.alpersemerci.tictactoe.model.Player;
+import com.alpersemerci.tictactoe.model.PlayerType;
+import com.alpersemerci.tictactoe.service.game.BoardService;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Random;
+
+public class BoardEvaluatorTest {
+
+    private BoardService boardService;
+
+    private Board board;
+
+    private int[] slots;
+
+    @Before
+    public void setUp() {
+        boardService = new BoardService();
+        board = new Board(3);
+        slots = new int[]{
+                boardService.getPlayerSlot(board, new Player(PlayerType.HUMAN, 'X')),
+                boardService.getPlayerSlot(board, new Player(PlayerType.AI, 'O'))
+        };
+    }
+
+    @Test
+    public void test_every_line_counted_once() {
+        boardService.makeMove(board, 0, slots[0]);
+        BoardEvaluator evaluator = new BoardEvaluator(board, slots);
+
+        Assert.assertEquals("Corner should score its row, column and diagonal once", 30L, evaluator.getScore(0));
+        Assert.assertFalse("Second player shouldn't have a score", evaluator.hasScore(1));
+    }
+
+    @Test
+    public void test_shared_line_not_scored() {
+        boardService.makeMove(board, 0, slots[0]);
+        boardService.makeMove(board, 1, slots[1]);
+        BoardEvaluator evaluator = new BoardEvaluator(board, slots);
+
+        //X: column 0 and diagonal, O: column 1
+        Assert.assertEquals("Unexpected score of first player", 20L, evaluator.getScore(0));
+        Assert.assertEquals("Unexpected score of second player", 10L, evaluator.getScore(1));
+    }
+
+    @Test
+    public void test_completed_line_outweighs_open_lines() {
+        boardService.makeMove(board, 0, slots[0]);
+        boardService.makeMove(board, 1, slots[0]);
+        boardService.makeMove(board, 2, slots[0]);
+        BoardEvaluator evaluator = new BoardEvaluator(board, slots);
+
+        Assert.assertTrue("Completed line should score as a win", evaluator.getScore(0) >= BoardEvaluator.WIN_SCORE);
+    }
+
+    @Test
+    public void test_many_completed_lines_score_one_win() {
+        Board bigBoard = new Board(7, 3);
+        int[] bigSlots = {boardService.getPlayerSlot(bigBoard, new Player(PlayerType.HUMAN, 'X'))};
+        for (int index = 0; index < 49; index++) {
+            boardService.makeMove(bigBoard, index, bigSlots[0]);
+        }
+        BoardEvaluator evaluator = new BoardEvaluator(bigBoard, bigSlots);
+
+        Assert.assertEquals("Completed lines should score a single win", BoardEvaluator.WIN_SCORE, evaluator.getScore(0));
+    }
+
+    @Test
+    public void test_incremental_evaluation_equals_full_evaluation() {
+        Board bigBoard = new Board(7);
+        int[] bigSlots = {
+                boardService.getPlayerSlot(bigBoard, new Player(PlayerType.HUMAN, 'X')),
+                boardService.getPlayerSlot(bigBoard, new Player(PlayerType.AI, 'O')),
+                boardService.getPlayerSlot(bigBoard, new Player(PlayerType.AI, 'A'))
+        };
+        BoardEvaluator evaluator = new BoardEvaluator(bigBoard, bigSlots);
+        Random random = new Random(42);
+        int[] played = new int[49];
+
+        for (int i = 0; i < played.length; i++) {
+            int move;
+            do {
+                move = random.nextInt(49);
+            } while (!boardService.isCellAvailableForPlay(bigBoard, new Cell(move / 7, move % 7)));
+            played[i] = move;
+
+            evaluator.removeLines(move);
+            boardService.makeMove(bigBoard, move, bigSlots[i % 3]);
+            evaluator.addLines(move);
+            assertSameScores(new BoardEvaluator(bigBoard, bigSlots), evaluator, 3);
+        }
+
+        for (int i = played.length - 1; i >= 0; i--) {
+            evaluator.removeLines(played[i]);
+            boardService.unmakeMove(bigBoard, played[i], bigSlots[i % 3]);
+            evaluator.addLines(played[i]);
+            assertSameScores(new BoardEvaluator(bigBoard, bigSlots), evaluator, 3);
+        }
+
+        Assert.assertFalse("Empty board shouldn't have a score", evaluator.hasScore(0));
+    }
+
+    private void assertSameScores(BoardEvaluator expected, BoardEvaluator actual, int playerCount) {
+        for (int p = 0; p < playerCount; p++) {
+            Assert.assertEquals("Incremental score differs", expected.getScore(p), actual.getScore(p));
+            Assert.assertEquals("Incremental scored player differs", expected.hasScore(p), actual.hasScore(p));
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.alpersemerci.tictactoe.service.heuristics;
+
+import com.alpersemerci.tictactoe.exception.NoPossibleMovesLeftException;
+import com.alpersemerci.tictactoe.model.Cell;
+import com.alpersemerci.tictactoe.model.Game;
+import com.alpersemerci.tictactoe.model.Player;
+import com.alpersemerci.tictactoe.model.PlayerType;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class CachingHeuristicStrategyTest extends AbstractHeuristicStrategyTest {
+
+    private AtomicInteger searches;
+
+    private MoveCache moveCache;
+
+    @Before
+    public void setUp() throws Exception {
+        super.setUp();
+        searches = new AtomicInteger();
+        moveCache = new MoveCache(1024);
+        StayCloseToCenterHeuristicStrategy center = new StayCloseToCenterHeuristicStrategy(boardService);
+        strategy = new CachingHeuristicStrategy(game -> {
+            searches.incrementAndGet();
+            return center.getMove(game);
+        }, moveCache);
+    }
+
+    @Test
+    public void test_repeated_position_is_not_searched_again() throws Exception {
+        Cell first = strategy.getMove(newGame(new Cell(0, 0)));
+        Cell second = strategy.getMove(newGame(new Cell(0, 0)));
+
+        Assert.assertEquals("Cached move should be played", first, second);
+        Assert.assertEquals("Position should be searched once", 1, searches.get());
+        Assert.assertEquals("Second lookup should hit", 1, moveCache.getHits());
+    }
+
+    @Test
+    public void test_symmetric_position_is_mapped_onto_board() throws Exception {
+        Game game = newGame(new Cell(0, 1));
+        Cell move = strategy.getMove(game);
+
+        //Same position reflected on main diagonal
+        Game reflected = newGame(new Cell(1, 0));
+        Cell reflectedMove = strategy.getMove(reflected);
+
+        Assert.assertEquals("Symmetric position should be searched once", 1, searches.get());
+        Assert.assertEquals("Move should be reflected", new Cell(move.getColumn(), move.getRow()), reflectedMove);
+        Assert.assertTrue("Move should be available", gameService.isCellAvailableForPlay(reflected, reflectedMove));
+    }
+
+    @Test
+    public void test_side_to_move_is_part_of_key() throws Exception {
+        Game game = newGame(new Cell(0, 0));
+        Game threePlayers = gameService.createGame(3);
+        gameService.addPlayerToGame(threePlayers, new Player(PlayerType.AI, 'X'));
+        gameService.addPlayerToGame(threePlayers, new Player(PlayerType.AI, 'O'));
+        gameService.addPlayerToGame(threePlayers, new Player(PlayerType.AI, 'C'));
+        gameService.play(threePlayers, new Cell(0, 0));
+
+        strategy.getMove(game);
+        strategy.getMove(threePlayers);
+
+        Assert.assertEquals("Different player counts shouldn't share an entry", 2, searches.get());
+    }
+
+    @Test
+    public void test_move_of_incomplete_search_is_not_cached() throws Exception {
+        StayCloseToCenterHeuristicStrategy center = new StayCloseToCenterHeuristicStrategy(boardService);
+        HeuristicStrategy budgeted = new HeuristicStrategy() {
+            @Override
+            public Cell getMove(Game game) throws NoPossibleMovesLeftException {
+                return center.getMove(game);
+            }
+
+            @Override
+            public int getMoveIndex(Game game, CancellationToken token) throws NoPossibleMovesLeftException {
+                searches.incrementAndGet();
+                token.markIncomplete();
+                return getMoveIndex(game);
+            }
+        };
+        strategy = new CachingHeuristicStrategy(budgeted, moveCache);
+        CancellationToken token = new CancellationToken();
+
+        ((CachingHeuristicStrategy) strategy).getMoveIndex(newGame(new Cell(0, 0)), token);
+        ((CachingHeuristicStrategy) strategy).getMoveIndex(newGame(new Cell(0, 0)), token);
+
+        Assert.assertEquals("Incomplete search should be repeated", 2, searches.get());
+        Assert.assertFalse("Caller's token shouldn't be marked", token.isIncomplete());
+    }
+
+    private Game newGame(Cell firstMove) throws Exception {
+        Game game = gameService.createGame(3);
+        gameService.addPlayerToGame(game, new Player(PlayerType.HUMAN, 'X'));
+        gameService.addPlayerToGame(game, new Player(PlayerType.AI, 'O'));
+        gameService.play(game, firstMove);
+        return game;
+    }
+}
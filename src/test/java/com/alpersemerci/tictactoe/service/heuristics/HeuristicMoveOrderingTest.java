@@ -0,0 +1,73 @@
+package com.alpersemerci.tictactoe.service.heuristics;
+
+import com.alpersemerci.tictactoe.model.Board;
+import com.alpersemerci.tictactoe.model.Player;
+import com.alpersemerci.tictactoe.model.PlayerType;
+import com.alpersemerci.tictactoe.service.game.BoardService;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class HeuristicMoveOrderingTest {
+
+    private BoardService boardService;
+
+    private Board board;
+
+    private int[] slots;
+
+    private HeuristicMoveOrdering moveOrdering;
+
+    @Before
+    public void setUp() throws Exception {
+        boardService = new BoardService();
+        board = new Board(4);
+        slots = new int[]{
+                boardService.getPlayerSlot(board, new Player(PlayerType.HUMAN, 'X')),
+                boardService.getPlayerSlot(board, new Player(PlayerType.AI, 'O'))
+        };
+        moveOrdering = new HeuristicMoveOrdering(4, slots, 16);
+    }
+
+    @Test
+    public void test_center_first_on_empty_board() {
+        int[] moves = {0, 3, 5, 10, 15};
+        moveOrdering.orderMoves(board, moves, moves.length, TranspositionTable.NO_MOVE, 1, 0);
+
+        Assert.assertEquals("Center cell should be first", 10, moves[0]);
+        Assert.assertEquals("Cell next to center should be second", 5, moves[1]);
+    }
+
+    @Test
+    public void test_hash_move_then_win_then_block() {
+        //X: 0, 1, 2 (wins at 3) - O: 4, 5, 6 (wins at 7)
+        for (int index : new int[]{0, 1, 2}) {
+            boardService.makeMove(board, index, slots[0]);
+        }
+        for (int index : new int[]{4, 5, 6}) {
+            boardService.makeMove(board, index, slots[1]);
+        }
+
+        int[] moves = {3, 7, 10, 15};
+        moveOrdering.orderMoves(board, moves, moves.length, 15, 1, 0);
+
+        Assert.assertArrayEquals("Unexpected move order", new int[]{15, 3, 7, 10}, moves);
+    }
+
+    @Test
+    public void test_killer_and_history_moves_below_root() {
+        moveOrdering.recordCutoff(15, 2, 0, 3);
+
+        int[] moves = {0, 10, 15};
+        moveOrdering.orderMoves(board, moves, moves.length, TranspositionTable.NO_MOVE, 2, 0);
+        Assert.assertEquals("Killer move should be first", 15, moves[0]);
+
+        moves = new int[]{0, 10, 15};
+        moveOrdering.orderMoves(board, moves, moves.length, TranspositionTable.NO_MOVE, 3, 0);
+        Assert.assertEquals("History move should be first", 15, moves[0]);
+
+        moves = new int[]{0, 10, 15};
+        moveOrdering.orderMoves(board, moves, moves.length, TranspositionTable.NO_MOVE, 0, 0);
+        Assert.assertEquals("Root should ignore killers and history", 10, moves[0]);
+    }
+}
@@ -0,0 +1,138 @@
+package com.alpersemerci.tictactoe.service.heuristics;
+
+import com.alpersemerci.tictactoe.exception.*;
+import com.alpersemerci.tictactoe.model.Cell;
+import com.alpersemerci.tictactoe.model.Game;
+import com.alpersemerci.tictactoe.model.Player;
+import com.alpersemerci.tictactoe.model.PlayerType;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+@Slf4j
+public class MonteCarloTreeSearchHeuristicStrategyTest extends AbstractHeuristicStrategyTest {
+
+    private MonteCarloTreeSearchHeuristicStrategy mctsStrategy;
+
+    @Before
+    public void setUp() throws Exception {
+        super.setUp();
+        mctsStrategy = new MonteCarloTreeSearchHeuristicStrategy(boardService);
+        mctsStrategy.setForkJoinPool(null);
+        mctsStrategy.setTimeBudgetMillis(0);
+        mctsStrategy.setIterationBudget(20000);
+        mctsStrategy.setSeed(42L);
+        strategy = mctsStrategy;
+    }
+
+    @Test
+    public void test_getMove_prevent_opponent_horizontal() throws InvalidBoardSizeException, GameAlreadyStartedException, InvalidMoveException, NoPlayerInGameException, NoPossibleMovesLeftException {
+        Game game = createTwoPlayerGame(3);
+        gameService.play(game, new Cell(0, 0));
+        gameService.play(game, new Cell(2, 2));
+        gameService.play(game, new Cell(1, 0));
+
+        Cell cell = strategy.getMove(game);
+        log.info(cell.toString());
+
+        Assert.assertTrue("Next move should be 2,0", cell.getRow() == 2 && cell.getColumn() == 0);
+    }
+
+    @Test
+    public void test_getMove_takes_win() throws InvalidBoardSizeException, GameAlreadyStartedException, InvalidMoveException, NoPlayerInGameException, NoPossibleMovesLeftException {
+        Game game = createTwoPlayerGame(4);
+        gameService.play(game, new Cell(0, 0));
+        gameService.play(game, new Cell(1, 0));
+        gameService.play(game, new Cell(0, 1));
+        gameService.play(game, new Cell(1, 1));
+        gameService.play(game, new Cell(3, 3));
+        gameService.play(game, new Cell(1, 2));
+        gameService.play(game, new Cell(2, 0));
+
+        Cell cell = strategy.getMove(game);
+
+        Assert.assertTrue("Next move should be winning move 1,3", cell.getRow() == 1 && cell.getColumn() == 3);
+    }
+
+    @Test
+    public void test_getMove_on_10x10_within_time_budget() throws NoPossibleMovesLeftException {
+        mctsStrategy.setIterationBudget(0);
+        mctsStrategy.setTimeBudgetMillis(200);
+
+        long start = System.currentTimeMillis();
+        Cell cell = strategy.getMove(game);
+        long elapsed = System.currentTimeMillis() - start;
+        log.info("10x10 move {} found in {} ms", cell, elapsed);
+
+        Assert.assertTrue("Move should be available", gameService.isCellAvailableForPlay(game, cell));
+        Assert.assertTrue("Move should be found close to time budget", elapsed < 1000);
+    }
+
+    @Test
+    public void test_parallel_getMove() throws InvalidBoardSizeException, GameAlreadyStartedException, InvalidMoveException, NoPlayerInGameException, NoPossibleMovesLeftException {
+        Game game = createTwoPlayerGame(3);
+        gameService.play(game, new Cell(0, 0));
+        gameService.play(game, new Cell(2, 2));
+        gameService.play(game, new Cell(0, 1));
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            mctsStrategy.setForkJoinPool(pool);
+            Cell cell = strategy.getMove(game);
+
+            Assert.assertTrue("Next move should be 0,2", cell.getRow() == 0 && cell.getColumn() == 2);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void test_getMove_on_empty_board() throws NoPossibleMovesLeftException, InvalidMoveException, NoPlayerInGameException {
+        mctsStrategy.setIterationBudget(200);
+        while (!gameService.isGameOver(game)) {
+            gameService.play(game, strategy.getMove(game));
+        }
+
+        log.info("test_getMove_on_empty_board \n " + boardService.printBoard(game.getBoard()));
+    }
+
+    @Test
+    public void test_searches_without_seed_use_different_random_games() throws Exception {
+        MonteCarloTreeSearchHeuristicStrategy unseeded = new MonteCarloTreeSearchHeuristicStrategy(boardService);
+        unseeded.setForkJoinPool(null);
+        unseeded.setTimeBudgetMillis(0);
+        //A few iterations more than moves of empty 3x3 board, most visited move depends on random games
+        unseeded.setIterationBudget(20);
+        Game game = createTwoPlayerGame(3);
+
+        Set<Integer> moves = new HashSet<>();
+        for (int i = 0; i < 10; i++) {
+            moves.add(unseeded.getMoveIndex(game));
+        }
+
+        Assert.assertTrue("Repeated searches shouldn't replay the same random games", moves.size() > 1);
+    }
+
+    @Test(expected = NoPossibleMovesLeftException.class)
+    public void test_getMove_on_full_board() throws InvalidBoardSizeException, GameAlreadyStartedException, NoPossibleMovesLeftException, InvalidMoveException, NoPlayerInGameException {
+        Game game = createTwoPlayerGame(3);
+        int[] moves = {0, 1, 2, 4, 3, 5, 7, 6, 8};
+        for (int move : moves) {
+            gameService.play(game, new Cell(move / 3, move % 3));
+        }
+
+        strategy.getMove(game);
+    }
+
+    private Game createTwoPlayerGame(int size) throws InvalidBoardSizeException, GameAlreadyStartedException {
+        Game game = gameService.createGame(size);
+        gameService.addPlayerToGame(game, new Player(PlayerType.HUMAN, 'H'));
+        gameService.addPlayerToGame(game, new Player(PlayerType.AI, 'R'));
+        return game;
+    }
+}
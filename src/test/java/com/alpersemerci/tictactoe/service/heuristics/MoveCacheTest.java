@@ -0,0 +1,94 @@
+package com.alpersemerci.tictactoe.service.heuristics;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+public class MoveCacheTest {
+
+    @Test
+    public void test_get_after_put() {
+        MoveCache cache = new MoveCache(16);
+
+        Assert.assertEquals("Unknown key should miss", MoveCache.NO_MOVE, cache.get(42L));
+        cache.put(42L, 7);
+        Assert.assertEquals("Cached move should be returned", 7, cache.get(42L));
+        cache.put(0L, 3);
+        Assert.assertEquals("Key 0 should be cached as well", 3, cache.get(0L));
+
+        Assert.assertEquals("Hits should be counted", 2, cache.getHits());
+        Assert.assertEquals("Misses should be counted", 1, cache.getMisses());
+        Assert.assertEquals("Size should be counted", 2, cache.getSize());
+    }
+
+    @Test
+    public void test_frequent_keys_survive_one_off_keys() {
+        MoveCache cache = new MoveCache(64);
+
+        //Popular keys are looked up many times
+        for (int round = 0; round < 10; round++) {
+            for (long key = 1; key <= 16; key++) {
+                if (cache.get(key * 0x9E3779B97F4A7C15L) == MoveCache.NO_MOVE) {
+                    cache.put(key * 0x9E3779B97F4A7C15L, (int) key);
+                }
+            }
+        }
+
+        //A scan of keys seen once, 4 times as many as capacity
+        for (long key = 1000; key < 1256; key++) {
+            if (cache.get(key * 0x9E3779B97F4A7C15L) == MoveCache.NO_MOVE) {
+                cache.put(key * 0x9E3779B97F4A7C15L, (int) key);
+            }
+        }
+
+        int cached = 0;
+        for (long key = 1; key <= 16; key++) {
+            cached += cache.get(key * 0x9E3779B97F4A7C15L) == key ? 1 : 0;
+        }
+        Assert.assertEquals("Scan shouldn't evict popular keys", 16, cached);
+        Assert.assertTrue("One-off keys should be rejected", cache.getRejections() > 0);
+        Assert.assertTrue("Cache should stay bounded", cache.getSize() <= cache.getCapacity());
+    }
+
+    @Test
+    public void test_frequency_sketch() {
+        FrequencySketch sketch = new FrequencySketch(64);
+        for (int i = 0; i < 5; i++) {
+            sketch.increment(123L);
+        }
+        sketch.increment(456L);
+
+        Assert.assertTrue("Frequency should never be underestimated", sketch.frequency(123L) >= 5);
+        Assert.assertTrue("Frequent key should be estimated higher", sketch.frequency(123L) > sketch.frequency(456L));
+
+        for (long key = 0; key < 10 * 64; key++) {
+            sketch.increment(key * 0x9E3779B97F4A7C15L + 1);
+        }
+        Assert.assertTrue("Counters should age", sketch.frequency(123L) < 5);
+    }
+
+    @Test
+    public void test_concurrent_increments_saturate_counters() throws Exception {
+        FrequencySketch sketch = new FrequencySketch(1 << 12);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int thread = 0; thread < 8; thread++) {
+            executor.execute(() -> {
+                for (int i = 0; i < 100000; i++) {
+                    sketch.increment(123L);
+                }
+            });
+        }
+        executor.shutdown();
+        Assert.assertTrue("Increments should finish", executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        Assert.assertEquals("Counters should saturate", 15, sketch.frequency(123L));
+        int others = 0;
+        for (long key = 1; key <= 1000; key++) {
+            others += sketch.frequency(key * 0x9E3779B97F4A7C15L);
+        }
+        Assert.assertEquals("Saturated counters shouldn't carry into other counters", 0, others);
+    }
+}
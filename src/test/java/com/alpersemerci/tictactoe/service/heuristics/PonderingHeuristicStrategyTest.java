@@ -0,0 +1,105 @@
+package com.alpersemerci.tictactoe.service.heuristics;
+
+import com.alpersemerci.tictactoe.model.Cell;
+import com.alpersemerci.tictactoe.model.Game;
+import com.alpersemerci.tictactoe.model.Player;
+import com.alpersemerci.tictactoe.model.PlayerType;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class PonderingHeuristicStrategyTest extends AbstractHeuristicStrategyTest {
+
+    private PonderingHeuristicStrategy pondering;
+
+    @Before
+    public void setUp() throws Exception {
+        super.setUp();
+        game = gameService.createGame(4);
+        gameService.addPlayerToGame(game, new Player(PlayerType.AI, 'X'));
+        gameService.addPlayerToGame(game, new Player(PlayerType.HUMAN, 'O'));
+        gameService.play(game, new Cell(1, 1));
+    }
+
+    @After
+    public void tearDown() {
+        if (pondering != null) {
+            pondering.shutdown();
+        }
+    }
+
+    @Test
+    public void test_getMove_answers_every_pondered_reply() throws Exception {
+        HeuristicStrategy center = new StayCloseToCenterHeuristicStrategy(boardService);
+        pondering = new PonderingHeuristicStrategy(center, boardService, gameService);
+        pondering.ponder(game);
+        pondering.awaitPondering();
+
+        for (Cell reply : boardService.getAvailableCells(game.getBoard())) {
+            gameService.play(game, reply);
+
+            int expected = center.getMoveIndex(game);
+            Assert.assertEquals("Pondered answer should be move of wrapped strategy", expected, pondering.getMoveIndex(game));
+
+            gameService.undo(game, reply);
+        }
+
+        Assert.assertEquals("Every reply should be answered from pondering",
+                game.getBoard().getEmptyCells(), pondering.getPonderHits());
+        Assert.assertEquals("No reply should be searched again", 0L, pondering.getPonderMisses());
+    }
+
+    @Test
+    public void test_getMove_searches_after_cancelled_pondering() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        HeuristicStrategy blocking = new HeuristicStrategy() {
+            @Override
+            public Cell getMove(Game game) {
+                return new Cell(0, 0);
+            }
+
+            @Override
+            public int getMoveIndex(Game game, CancellationToken token) {
+                started.countDown();
+                while (token != CancellationToken.NONE && !token.isCancelled()) {
+                    Thread.yield();
+                }
+                return 0;
+            }
+        };
+        pondering = new PonderingHeuristicStrategy(blocking, boardService, gameService);
+
+        pondering.ponder(game);
+        Assert.assertTrue("Pondering should start", started.await(10, TimeUnit.SECONDS));
+        gameService.play(game, new Cell(2, 2));
+
+        Assert.assertEquals("Move should be searched after pondering is cancelled", 0, pondering.getMoveIndex(game));
+        Assert.assertEquals("Move shouldn't come from pondering", 0L, pondering.getPonderHits());
+        Assert.assertEquals("Move should be searched", 1L, pondering.getPonderMisses());
+    }
+
+    @Test
+    public void test_ponder_ignores_finished_game() throws Exception {
+        AtomicInteger searches = new AtomicInteger();
+        pondering = new PonderingHeuristicStrategy(g -> {
+            searches.incrementAndGet();
+            return new Cell(0, 0);
+        }, boardService, gameService);
+
+        Game finished = gameService.createGame(3);
+        finished.getPlayerList().addAll(game.getPlayerList());
+        for (int index : new int[]{0, 3, 1, 4, 2}) {
+            gameService.play(finished, index);
+        }
+
+        pondering.ponder(finished);
+        pondering.awaitPondering();
+
+        Assert.assertEquals("Nothing should be pondered", 0, searches.get());
+    }
+}
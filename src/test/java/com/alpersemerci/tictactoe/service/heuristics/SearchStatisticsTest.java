@@ -0,0 +1,76 @@
+package com.alpersemerci.tictactoe.service.heuristics;
+
+import com.alpersemerci.tictactoe.model.Cell;
+import com.alpersemerci.tictactoe.model.Game;
+import com.alpersemerci.tictactoe.model.Player;
+import com.alpersemerci.tictactoe.model.PlayerType;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.Assert;
+import org.junit.Test;
+
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+
+@Slf4j
+public class SearchStatisticsTest extends AbstractHeuristicStrategyTest {
+
+    @Test
+    public void test_alpha_beta_search_is_recorded_and_published() throws Exception {
+        AlphaBetaPruningHeuristicStrategy alphaBeta = new AlphaBetaPruningHeuristicStrategy(boardService, gameService);
+        SearchStatistics statistics = alphaBeta.getSearchStatistics();
+        long moves = statistics.getMoves();
+        long nodes = statistics.getNodes();
+
+        Game game = createTwoPlayerGame(3);
+        gameService.play(game, new Cell(0, 0));
+        alphaBeta.getMove(game);
+        log.info(statistics.toString());
+
+        Assert.assertEquals("Search should be recorded", moves + 1, statistics.getMoves());
+        Assert.assertTrue("Search should visit nodes", statistics.getNodes() > nodes);
+        Assert.assertTrue("Search should evaluate leaves", statistics.getEvaluations() > 0);
+        Assert.assertTrue("Search should cut off", statistics.getCutoffs() > 0);
+        Assert.assertTrue("Search should probe transposition table", statistics.getTableProbes() >= statistics.getTableHits());
+        Assert.assertEquals("Search of 8 empty cells should be complete", 8, alphaBeta.getLastSearchMetrics().getDepth());
+
+        Object published = ManagementFactory.getPlatformMBeanServer()
+                .getAttribute(new ObjectName("com.alpersemerci.tictactoe:type=SearchStatistics,strategy=ALPHA_BETA"), "Moves");
+        Assert.assertEquals("Statistics should be published as MBean", statistics.getMoves(), published);
+    }
+
+    @Test
+    public void test_monte_carlo_search_is_recorded() throws Exception {
+        MonteCarloTreeSearchHeuristicStrategy monteCarlo = new MonteCarloTreeSearchHeuristicStrategy(boardService);
+        monteCarlo.setIterationBudget(2000);
+        monteCarlo.setTimeBudgetMillis(0);
+        SearchStatistics statistics = monteCarlo.getSearchStatistics();
+        long moves = statistics.getMoves();
+        long evaluations = statistics.getEvaluations();
+
+        monteCarlo.getMove(createTwoPlayerGame(3));
+
+        Assert.assertEquals("Search should be recorded", moves + 1, statistics.getMoves());
+        Assert.assertTrue("Every iteration should be evaluated", statistics.getEvaluations() - evaluations >= 2000);
+        Assert.assertTrue("Tree should grow deeper than root", monteCarlo.getLastSearchMetrics().getDepth() > 1);
+    }
+
+    @Test
+    public void test_metrics_of_search_threads_are_merged() {
+        SearchMetrics metrics = new SearchMetrics("TEST", 3);
+        metrics.add(100, 60, 10, 40, 10);
+        metrics.add(50, 30, 5, 10, 5);
+        metrics.setElapsedNanos(1_000_000L);
+
+        Assert.assertEquals("Nodes should be summed", 150, metrics.getNodes());
+        Assert.assertEquals("Threads should be counted", 2, metrics.getThreads());
+        Assert.assertEquals("Hit rate should be computed from sums", 0.3, metrics.getTableHitRate(), 1e-9);
+        Assert.assertEquals("Nodes per second should be computed from elapsed time", 150_000.0, metrics.getNodesPerSecond(), 1e-6);
+    }
+
+    private Game createTwoPlayerGame(int boardSize) throws Exception {
+        Game game = gameService.createGame(boardSize);
+        gameService.addPlayerToGame(game, new Player(PlayerType.HUMAN, 'X'));
+        gameService.addPlayerToGame(game, new Player(PlayerType.AI, 'O'));
+        return game;
+    }
+}
@@ -0,0 +1,117 @@
+package com.alpersemerci.tictactoe.service.heuristics;
+
+import com.alpersemerci.tictactoe.exception.*;
+import com.alpersemerci.tictactoe.model.Cell;
+import com.alpersemerci.tictactoe.model.Game;
+import com.alpersemerci.tictactoe.model.Player;
+import com.alpersemerci.tictactoe.model.PlayerType;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.file.Path;
+
+@Slf4j
+public class SolvedPositionHeuristicStrategyTest extends AbstractHeuristicStrategyTest {
+
+    private static final Cell FALLBACK_MOVE = new Cell(9, 9);
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Path databasePath;
+
+    @Before
+    public void setUp() throws Exception {
+        super.setUp();
+        databasePath = folder.getRoot().toPath().resolve(SolvedPositionDatabase.getFileName(3));
+        new SolvedPositionDatabaseGenerator(3).generate(databasePath);
+        strategy = new SolvedPositionHeuristicStrategy(boardService, g -> FALLBACK_MOVE, folder.getRoot().toPath());
+    }
+
+    @Test
+    public void test_database_of_3x3() throws Exception {
+        SolvedPositionDatabase database = SolvedPositionDatabase.open(databasePath);
+        Game game = createTwoPlayerGame(3);
+        SolvedPositionDatabase.Entry entry = new SolvedPositionDatabase.Entry();
+
+        Assert.assertEquals("Unexpected board size", 3, database.getSize());
+        Assert.assertTrue("Empty board should be solved", database.lookup(game.getBoard(), 0, 1, entry));
+        Assert.assertEquals("Empty 3x3 board should be a draw", 0, entry.getScore());
+    }
+
+    @Test
+    public void test_getMove_prevent_opponent_horizontal() throws Exception {
+        Game game = createTwoPlayerGame(3);
+        gameService.play(game, new Cell(0, 0));
+        gameService.play(game, new Cell(2, 2));
+        gameService.play(game, new Cell(1, 0));
+
+        Cell cell = strategy.getMove(game);
+
+        Assert.assertTrue("Next move should be 2,0", cell.getRow() == 2 && cell.getColumn() == 0);
+    }
+
+    @Test
+    public void test_getMove_never_loses() throws Exception {
+        Game game = createTwoPlayerGame(3);
+        Assert.assertTrue("AI moving first shouldn't lose", neverLoses(game, 0));
+
+        game = createTwoPlayerGame(3);
+        Assert.assertTrue("AI moving second shouldn't lose", neverLoses(game, 1));
+    }
+
+    @Test
+    public void test_getMove_falls_back_for_uncovered_games() throws Exception {
+        Assert.assertEquals("Three player game should use fallback", FALLBACK_MOVE, strategy.getMove(game));
+        Assert.assertEquals("Missing database should use fallback", FALLBACK_MOVE, strategy.getMove(createTwoPlayerGame(4)));
+    }
+
+    @Test(expected = InvalidBoardSizeException.class)
+    public void test_generator_rejects_large_board() throws InvalidBoardSizeException {
+        new SolvedPositionDatabaseGenerator(5);
+    }
+
+    /**
+     * Plays every possible opponent move against strategy.
+     *
+     * @param game
+     * @param aiTurn turn parity of player moved by strategy
+     * @return true if opponent never wins
+     */
+    private boolean neverLoses(Game game, int aiTurn) throws Exception {
+        if (gameService.isGameOver(game)) {
+            Player winner = gameService.getWinner(game);
+            return winner == null || winner.equals(game.getPlayerList().get(aiTurn));
+        }
+
+        if (game.getCurrentTurn() % 2 == aiTurn) {
+            Cell cell = strategy.getMove(game);
+            gameService.play(game, cell);
+            boolean result = neverLoses(game, aiTurn);
+            gameService.undo(game, cell);
+            return result;
+        }
+
+        for (Cell cell : boardService.getAvailableCells(game.getBoard())) {
+            gameService.play(game, cell);
+            boolean result = neverLoses(game, aiTurn);
+            gameService.undo(game, cell);
+            if (!result) {
+                log.info(boardService.printBoard(game.getBoard()));
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Game createTwoPlayerGame(int size) throws InvalidBoardSizeException, GameAlreadyStartedException {
+        Game game = gameService.createGame(size);
+        gameService.addPlayerToGame(game, new Player(PlayerType.HUMAN, 'H'));
+        gameService.addPlayerToGame(game, new Player(PlayerType.AI, 'R'));
+        return game;
+    }
+}
@@ -0,0 +1,136 @@
+package com.alpersemerci.tictactoe.service.heuristics;
+
+import com.alpersemerci.tictactoe.exception.*;
+import com.alpersemerci.tictactoe.model.Cell;
+import com.alpersemerci.tictactoe.model.Game;
+import com.alpersemerci.tictactoe.model.Player;
+import com.alpersemerci.tictactoe.model.PlayerType;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+
+@Slf4j
+public class TablebaseHeuristicStrategyTest extends AbstractHeuristicStrategyTest {
+
+    private static final Cell FALLBACK_MOVE = new Cell(9, 9);
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Path tablebasePath;
+
+    private int rootValue;
+
+    @Before
+    public void setUp() throws Exception {
+        super.setUp();
+        tablebasePath = folder.getRoot().toPath().resolve(Tablebase.getFileName(3, 3));
+        rootValue = new TablebaseGenerator(3, 3, ForkJoinPool.commonPool()).generate(tablebasePath);
+        strategy = new TablebaseHeuristicStrategy(boardService, g -> FALLBACK_MOVE, folder.getRoot().toPath());
+    }
+
+    @Test
+    public void test_tablebase_of_3x3() throws Exception {
+        Tablebase tablebase = Tablebase.open(tablebasePath);
+
+        Assert.assertEquals("Empty 3x3 board should be a draw", Tablebase.DRAW, rootValue);
+        Assert.assertEquals("Empty 3x3 board should be a draw", Tablebase.DRAW, tablebase.getValue(0, 0));
+        Assert.assertEquals("Unexpected position count", 6046L, tablebase.getPositionCount());
+        //X on 0,0 and 1,1, O on 0,1; O to move can't stop both 2,2 and another line
+        Assert.assertEquals("X should win after O blunders", Tablebase.LOSS, tablebase.getValue(0b000_010_001, 0b000_000_010));
+        Assert.assertEquals("Position with two stones of O is illegal", Tablebase.ILLEGAL, tablebase.getValue(0, 0b11));
+    }
+
+    @Test
+    public void test_index_rank_unrank() throws Exception {
+        TablebaseIndex index = new TablebaseIndex(3, 3);
+        int[] position = new int[2];
+
+        for (int stones = 0; stones <= index.getCellCount(); stones++) {
+            for (long i = index.getLayerOffset(stones); i < index.getLayerOffset(stones + 1); i++) {
+                index.unrank(stones, i, position);
+                Assert.assertEquals("Stones of first player", TablebaseIndex.firstPlayerStones(stones), Integer.bitCount(position[0]));
+                Assert.assertEquals("Players can't share a cell", 0, position[0] & position[1]);
+                Assert.assertEquals("Rank should be inverse of unrank", i, index.rank(position[0], position[1]));
+            }
+        }
+    }
+
+    @Test
+    public void test_getMove_prevent_opponent_horizontal() throws Exception {
+        Game game = createTwoPlayerGame(3);
+        gameService.play(game, new Cell(0, 0));
+        gameService.play(game, new Cell(2, 2));
+        gameService.play(game, new Cell(1, 0));
+
+        Cell cell = strategy.getMove(game);
+
+        Assert.assertTrue("Next move should be 2,0", cell.getRow() == 2 && cell.getColumn() == 0);
+    }
+
+    @Test
+    public void test_getMove_never_loses() throws Exception {
+        Game game = createTwoPlayerGame(3);
+        Assert.assertTrue("AI moving first shouldn't lose", neverLoses(game, 0));
+
+        game = createTwoPlayerGame(3);
+        Assert.assertTrue("AI moving second shouldn't lose", neverLoses(game, 1));
+    }
+
+    @Test
+    public void test_getMove_falls_back_for_uncovered_games() throws Exception {
+        Assert.assertEquals("Three player game should use fallback", FALLBACK_MOVE, strategy.getMove(game));
+        Assert.assertEquals("Missing tablebase should use fallback", FALLBACK_MOVE, strategy.getMove(createTwoPlayerGame(4)));
+    }
+
+    @Test(expected = InvalidBoardSizeException.class)
+    public void test_generator_rejects_large_board() throws InvalidBoardSizeException, InvalidWinLengthException {
+        new TablebaseGenerator(5, 4, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Plays every possible opponent move against strategy.
+     *
+     * @param game
+     * @param aiTurn turn parity of player moved by strategy
+     * @return true if opponent never wins
+     */
+    private boolean neverLoses(Game game, int aiTurn) throws Exception {
+        if (gameService.isGameOver(game)) {
+            Player winner = gameService.getWinner(game);
+            return winner == null || winner.equals(game.getPlayerList().get(aiTurn));
+        }
+
+        if (game.getCurrentTurn() % 2 == aiTurn) {
+            Cell cell = strategy.getMove(game);
+            gameService.play(game, cell);
+            boolean result = neverLoses(game, aiTurn);
+            gameService.undo(game, cell);
+            return result;
+        }
+
+        for (Cell cell : boardService.getAvailableCells(game.getBoard())) {
+            gameService.play(game, cell);
+            boolean result = neverLoses(game, aiTurn);
+            gameService.undo(game, cell);
+            if (!result) {
+                log.info(boardService.printBoard(game.getBoard()));
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Game createTwoPlayerGame(int size) throws InvalidBoardSizeException, GameAlreadyStartedException {
+        Game game = gameService.createGame(size);
+        gameService.addPlayerToGame(game, new Player(PlayerType.HUMAN, 'H'));
+        gameService.addPlayerToGame(game, new Player(PlayerType.AI, 'R'));
+        return game;
+    }
+}
@@ -0,0 +1,86 @@
+package com.alpersemerci.tictactoe.service.heuristics;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TranspositionTableTest {
+
+    private TranspositionTable transpositionTable;
+
+    private TranspositionTable.Entry entry;
+
+    @Before
+    public void setUp() throws Exception {
+        transpositionTable = new TranspositionTable(1000);
+        entry = new TranspositionTable.Entry();
+    }
+
+    @Test
+    public void test_capacity_rounded_to_power_of_two() {
+        Assert.assertEquals("Capacity should be rounded down to power of two", 512, transpositionTable.getCapacity());
+    }
+
+    @Test
+    public void test_probe_missing_key() {
+        Assert.assertFalse("There shouldn't be an entry", transpositionTable.probe(42L, entry));
+    }
+
+    @Test
+    public void test_store_and_probe() {
+        transpositionTable.store(42L, -1234L, TranspositionTable.LOWER_BOUND, 7, 99);
+
+        Assert.assertTrue("There should be an entry", transpositionTable.probe(42L, entry));
+        Assert.assertEquals("Unexpected score", -1234L, entry.getScore());
+        Assert.assertEquals("Unexpected bound", TranspositionTable.LOWER_BOUND, entry.getBound());
+        Assert.assertEquals("Unexpected depth", 7, entry.getDepth());
+        Assert.assertEquals("Unexpected move", 99, entry.getMove());
+    }
+
+    @Test
+    public void test_store_without_move() {
+        transpositionTable.store(42L, 0L, TranspositionTable.EXACT, 0, TranspositionTable.NO_MOVE);
+        transpositionTable.probe(42L, entry);
+        Assert.assertEquals("Unexpected move", TranspositionTable.NO_MOVE, entry.getMove());
+    }
+
+    @Test
+    public void test_replacement_keeps_deeper_entry() {
+        long deepKey = 2L;
+        long shallowKey = 2L + transpositionTable.getCapacity();
+        long otherShallowKey = 2L + 2L * transpositionTable.getCapacity();
+
+        transpositionTable.store(deepKey, 1L, TranspositionTable.EXACT, 9, 1);
+        transpositionTable.store(shallowKey, 2L, TranspositionTable.EXACT, 3, 2);
+        Assert.assertTrue("Deep entry should be kept", transpositionTable.probe(deepKey, entry));
+        Assert.assertTrue("Shallow entry should be stored", transpositionTable.probe(shallowKey, entry));
+
+        transpositionTable.store(otherShallowKey, 3L, TranspositionTable.EXACT, 3, 3);
+        Assert.assertTrue("Deep entry should be kept", transpositionTable.probe(deepKey, entry));
+        Assert.assertFalse("Always replace entry should be overwritten", transpositionTable.probe(shallowKey, entry));
+        Assert.assertTrue("New entry should be stored", transpositionTable.probe(otherShallowKey, entry));
+    }
+
+    @Test
+    public void test_replacement_after_new_search() {
+        long deepKey = 2L;
+        long shallowKey = 2L + transpositionTable.getCapacity();
+        long otherShallowKey = 2L + 2L * transpositionTable.getCapacity();
+
+        transpositionTable.store(deepKey, 1L, TranspositionTable.EXACT, 9, 1);
+        transpositionTable.store(shallowKey, 2L, TranspositionTable.EXACT, 3, 2);
+        transpositionTable.newSearch();
+        transpositionTable.store(otherShallowKey, 3L, TranspositionTable.EXACT, 3, 3);
+
+        Assert.assertFalse("Old deep entry should be replaced", transpositionTable.probe(deepKey, entry));
+        Assert.assertTrue("Always replace entry should be kept", transpositionTable.probe(shallowKey, entry));
+        Assert.assertTrue("Entry of new search should be stored", transpositionTable.probe(otherShallowKey, entry));
+    }
+
+    @Test
+    public void test_clear() {
+        transpositionTable.store(42L, 1L, TranspositionTable.EXACT, 1, 1);
+        transpositionTable.clear();
+        Assert.assertFalse("There shouldn't be an entry", transpositionTable.probe(42L, entry));
+    }
+}
@@ -0,0 +1,116 @@
+package com.alpersemerci.tictactoe.service.menu;
+
+import com.alpersemerci.tictactoe.model.Cell;
+import com.alpersemerci.tictactoe.model.Game;
+import com.alpersemerci.tictactoe.model.Player;
+import com.alpersemerci.tictactoe.model.PlayerType;
+import com.alpersemerci.tictactoe.service.game.BoardService;
+import com.alpersemerci.tictactoe.service.game.GameService;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+public class AnsiBoardRendererTest {
+
+    private static final String ESC = "\u001B[";
+
+    private BoardService boardService;
+
+    private GameService gameService;
+
+    private Game game;
+
+    private ByteArrayOutputStream output;
+
+    private AnsiBoardRenderer renderer;
+
+    @Before
+    public void setUp() throws Exception {
+        boardService = new BoardService();
+        gameService = new GameService(boardService);
+        game = gameService.createGame(10);
+        gameService.addPlayerToGame(game, new Player(PlayerType.HUMAN, 'X'));
+        gameService.addPlayerToGame(game, new Player(PlayerType.AI, 'Ö'));
+
+        output = new ByteArrayOutputStream();
+        renderer = new AnsiBoardRenderer(output);
+    }
+
+    @Test
+    public void test_first_draw_writes_whole_board() throws Exception {
+        gameService.play(game, 0);
+        AnsiBoardRenderer.View view = renderer.createView(0, 0, 10);
+
+        renderer.draw(view, game.getBoard());
+        Assert.assertTrue("Frame should be buffered until flush", output.size() == 0);
+        renderer.flush();
+
+        String frame = new String(output.toByteArray(), StandardCharsets.UTF_8);
+        Assert.assertTrue("Frame should contain column header", frame.contains("    0   1   2"));
+        Assert.assertTrue("Frame should contain last row", frame.contains("9 |   |"));
+        Assert.assertTrue("Frame should contain played cell", frame.contains(ESC + "3;5HX"));
+    }
+
+    @Test
+    public void test_next_draw_writes_changed_cells_only() throws Exception {
+        AnsiBoardRenderer.View view = renderer.createView(5, 20, 10);
+        renderer.draw(view, game.getBoard());
+        renderer.flush();
+        output.reset();
+
+        renderer.draw(view, game.getBoard());
+        renderer.flush();
+        Assert.assertEquals("Unchanged board shouldn't write anything", 0, output.size());
+
+        gameService.play(game, 0);
+        gameService.play(game, 99);
+        renderer.draw(view, game.getBoard());
+        renderer.flush();
+
+        //Cell 0,0 is on screen line 5 + 2, column 20 + 4; cell 9,9 on line 5 + 20, column 20 + 40
+        String frame = new String(output.toByteArray(), StandardCharsets.UTF_8);
+        Assert.assertEquals("Only changed cells should be written", ESC + "8;25HX" + ESC + "26;61HÖ", frame);
+    }
+
+    @Test
+    public void test_undone_move_is_erased() throws Exception {
+        AnsiBoardRenderer.View view = renderer.createView(0, 0, 10);
+        gameService.play(game, 11);
+        renderer.draw(view, game.getBoard());
+        renderer.flush();
+        output.reset();
+
+        gameService.undo(game, new Cell(1, 1));
+        renderer.draw(view, game.getBoard());
+        renderer.flush();
+
+        Assert.assertEquals("Undone cell should be cleared", ESC + "5;9H ", new String(output.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void test_many_boards_are_flushed_in_one_frame() throws Exception {
+        AnsiBoardRenderer.View[] views = new AnsiBoardRenderer.View[100];
+        for (int i = 0; i < views.length; i++) {
+            views[i] = renderer.createView((i / 10) * AnsiBoardRenderer.getHeight(10), (i % 10) * AnsiBoardRenderer.getWidth(10), 10);
+            renderer.draw(views[i], game.getBoard());
+        }
+        renderer.flush();
+
+        gameService.play(game, 55);
+        for (AnsiBoardRenderer.View view : views) {
+            renderer.draw(view, game.getBoard());
+        }
+        int frameSize = renderer.getFrameSize();
+        renderer.flush();
+
+        Assert.assertTrue("A move on every board should cost a cursor move and a symbol per board", frameSize < 100 * 16);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_draw_rejects_board_of_other_size() {
+        renderer.draw(renderer.createView(0, 0, 3), game.getBoard());
+    }
+}
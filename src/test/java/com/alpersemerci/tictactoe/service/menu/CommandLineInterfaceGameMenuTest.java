@@ -99,4 +99,19 @@ public class CommandLineInterfaceGameMenuTest {
         int finalStreamSize = outputStream.size();
         Assert.assertTrue("Final stream size must be greater than initial stream size", initialStreamSize < finalStreamSize);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void test_updateBoard_in_ansi_mode_redraws_changed_cells() {
+        GameMenu ansiMenu = new CommandLineInterfaceGameMenu(true);
+        Board board = new Board(10);
+        ansiMenu.updateBoard(board);
+        int firstFrameSize = outputStream.size();
+
+        ansiMenu.updateBoard(board);
+        int secondFrameSize = outputStream.size() - firstFrameSize;
+        ansiMenu.close();
+
+        Assert.assertTrue("First frame should draw whole board", firstFrameSize > 400);
+        Assert.assertTrue("Unchanged board should cost only cursor save and restore", secondFrameSize <= 4);
+    }
+}
@@ -0,0 +1,149 @@
+package com.alpersemerci.tictactoe.service.record;
+
+import com.alpersemerci.tictactoe.model.Game;
+import com.alpersemerci.tictactoe.model.Player;
+import com.alpersemerci.tictactoe.model.PlayerType;
+import com.alpersemerci.tictactoe.service.game.BoardService;
+import com.alpersemerci.tictactoe.service.game.GameService;
+import com.alpersemerci.tictactoe.service.heuristics.RandomHeuristicStrategy;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+@Slf4j
+public class GameRecordReaderTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private GameService gameService;
+
+    private RandomHeuristicStrategy strategy;
+
+    private Path path;
+
+    @Before
+    public void setUp() throws Exception {
+        BoardService boardService = new BoardService();
+        gameService = new GameService(boardService);
+        strategy = new RandomHeuristicStrategy(boardService);
+        path = folder.getRoot().toPath().resolve("games.rec");
+    }
+
+    @Test
+    public void test_games_round_trip() throws Exception {
+        List<Game> games = new ArrayList<>();
+        try (GameRecordWriter writer = new GameRecordWriter(path, gameService)) {
+            for (int i = 0; i < 1000; i++) {
+                Game game = playRandomGame(3 + i % 8, 2 + i % 2);
+                writer.append(game);
+                games.add(game);
+            }
+        }
+
+        try (GameRecordReader reader = GameRecordReader.open(path)) {
+            List<Long> offsets = new ArrayList<>();
+            long count = reader.scan(record -> {
+                Game game = games.get(offsets.size());
+                offsets.add(record.getOffset());
+                Assert.assertEquals("Board size should round trip", (int) game.getBoard().getSize(), record.getBoardSize());
+                Assert.assertEquals("Players should round trip", game.getPlayerList(), record.getPlayers());
+                Assert.assertEquals("Move count should round trip", (int) game.getCurrentTurn(), record.getMoveCount());
+                for (int turn = 0; turn < record.getMoveCount(); turn++) {
+                    Assert.assertEquals("Move should round trip", game.getMoves()[turn], record.getMove(turn));
+                }
+                Player winner = gameService.getWinner(game);
+                Assert.assertEquals("Winner should round trip", winner == null ? -1 : game.getPlayerList().indexOf(winner), record.getWinner());
+            });
+            Assert.assertEquals("Every game should be read", games.size(), count);
+
+            GameRecord record = new GameRecord();
+            reader.read(offsets.get(500), record);
+            Assert.assertEquals("Game should be read by its offset", (int) games.get(500).getCurrentTurn(), record.getMoveCount());
+        }
+    }
+
+    @Test
+    public void test_writer_appends_to_existing_file() throws Exception {
+        try (GameRecordWriter writer = new GameRecordWriter(path, gameService)) {
+            writer.append(playRandomGame(3, 2));
+        }
+        try (GameRecordWriter writer = new GameRecordWriter(path, gameService)) {
+            writer.append(playRandomGame(4, 3));
+            writer.append(playRandomGame(5, 2));
+        }
+
+        try (GameRecordReader reader = GameRecordReader.open(path)) {
+            List<Integer> sizes = new ArrayList<>();
+            reader.scan(record -> sizes.add(record.getBoardSize()));
+            Assert.assertEquals("Games of both writers should be read in order", Arrays.asList(3, 4, 5), sizes);
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void test_truncated_game_is_detected() throws Exception {
+        try (GameRecordWriter writer = new GameRecordWriter(path, gameService)) {
+            writer.append(playRandomGame(3, 2));
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 1);
+        }
+
+        try (GameRecordReader reader = GameRecordReader.open(path)) {
+            reader.scan(record -> {
+            });
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void test_other_files_are_rejected() throws Exception {
+        Files.write(path, "not a game record".getBytes());
+        new GameRecordWriter(path, gameService).close();
+    }
+
+    @Test
+    public void test_scan_throughput() throws Exception {
+        int games = 200_000;
+        Game game = playRandomGame(3, 2);
+        try (GameRecordWriter writer = new GameRecordWriter(path, gameService)) {
+            for (int i = 0; i < games; i++) {
+                writer.append(game);
+            }
+        }
+
+        try (GameRecordReader reader = GameRecordReader.open(path)) {
+            long[] moves = new long[1];
+            long start = System.nanoTime();
+            long count = reader.scan(record -> moves[0] += record.getMoveCount());
+            long elapsed = System.nanoTime() - start;
+
+            log.info("[GAME_RECORD] [SCAN] [GAMES={}] [BYTES={}] [MB_PER_SEC={}]", count, reader.getSize(),
+                    reader.getSize() * 1000L / Math.max(1L, elapsed));
+            Assert.assertEquals("Every game should be scanned", games, count);
+            Assert.assertEquals("Every move should be scanned", (long) games * game.getCurrentTurn(), moves[0]);
+        }
+    }
+
+    private Game playRandomGame(int boardSize, int playerCount) throws Exception {
+        Game game = gameService.createGame(boardSize);
+        for (int p = 0; p < playerCount; p++) {
+            gameService.addPlayerToGame(game, new Player(p == 0 ? PlayerType.HUMAN : PlayerType.AI, (char) ('A' + p)));
+        }
+        while (!gameService.isGameOver(game)) {
+            gameService.play(game, strategy.getMoveIndex(game));
+        }
+        return game;
+    }
+}
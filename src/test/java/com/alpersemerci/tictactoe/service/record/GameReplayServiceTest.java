@@ -0,0 +1,92 @@
+package com.alpersemerci.tictactoe.service.record;
+
+import com.alpersemerci.tictactoe.exception.InvalidMoveException;
+import com.alpersemerci.tictactoe.model.Game;
+import com.alpersemerci.tictactoe.model.Player;
+import com.alpersemerci.tictactoe.model.PlayerType;
+import com.alpersemerci.tictactoe.service.game.BoardService;
+import com.alpersemerci.tictactoe.service.game.GameService;
+import com.alpersemerci.tictactoe.service.heuristics.RandomHeuristicStrategy;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.file.Path;
+
+public class GameReplayServiceTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private BoardService boardService;
+
+    private GameService gameService;
+
+    private GameReplayService gameReplayService;
+
+    private Path path;
+
+    @Before
+    public void setUp() throws Exception {
+        boardService = new BoardService();
+        gameService = new GameService(boardService);
+        gameReplayService = new GameReplayService(gameService);
+        path = folder.getRoot().toPath().resolve("games.rec");
+    }
+
+    @Test
+    public void test_replay_rebuilds_game_at_every_turn() throws Exception {
+        Game game = gameService.createGame(5, 4);
+        gameService.addPlayerToGame(game, new Player(PlayerType.HUMAN, 'X'));
+        gameService.addPlayerToGame(game, new Player(PlayerType.AI, 'O'));
+        gameService.addPlayerToGame(game, new Player(PlayerType.AI, 'C'));
+
+        RandomHeuristicStrategy strategy = new RandomHeuristicStrategy(boardService);
+        GameRecord record = new GameRecord();
+        try (GameRecordWriter writer = new GameRecordWriter(path, gameService)) {
+            while (!gameService.isGameOver(game)) {
+                gameService.play(game, strategy.getMoveIndex(game));
+                writer.append(game);
+            }
+        }
+
+        try (GameRecordReader reader = GameRecordReader.open(path)) {
+            long offset = reader.getFirstOffset();
+            for (int turn = 1; turn <= game.getCurrentTurn(); turn++) {
+                offset = reader.read(offset, record);
+                Game replayed = gameReplayService.replay(record);
+
+                Assert.assertEquals("Replayed turn should match", turn, (int) replayed.getCurrentTurn());
+                Assert.assertEquals("Win length should match", game.getBoard().getWinLength(), replayed.getBoard().getWinLength());
+                Game partial = gameReplayService.replay(record, turn - 1);
+                Assert.assertEquals("Partial replay should stop before turn", turn - 1, (int) partial.getCurrentTurn());
+            }
+        }
+
+        Game replayed = gameReplayService.replay(record);
+        Assert.assertEquals("Replayed board should match", game.getBoard(), replayed.getBoard());
+        Assert.assertEquals("Replayed winner should match", gameService.getWinner(game), gameService.getWinner(replayed));
+    }
+
+    @Test(expected = InvalidMoveException.class)
+    public void test_replay_validates_moves() throws Exception {
+        Game game = gameService.createGame(3);
+        gameService.addPlayerToGame(game, new Player(PlayerType.HUMAN, 'X'));
+        gameService.addPlayerToGame(game, new Player(PlayerType.AI, 'O'));
+        gameService.play(game, 4);
+        gameService.play(game, 0);
+        //Forge a game playing the same cell twice
+        game.getMoves()[1] = 4;
+
+        try (GameRecordWriter writer = new GameRecordWriter(path, gameService)) {
+            writer.append(game);
+        }
+        try (GameRecordReader reader = GameRecordReader.open(path)) {
+            GameRecord record = new GameRecord();
+            reader.read(reader.getFirstOffset(), record);
+            gameReplayService.replay(record);
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.alpersemerci.tictactoe.service.session;
+
+import com.alpersemerci.tictactoe.service.game.BoardService;
+import com.alpersemerci.tictactoe.service.game.GameService;
+import com.alpersemerci.tictactoe.service.simulation.LatencyHistogram;
+import com.alpersemerci.tictactoe.service.simulation.SimulationStrategy;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Plays many concurrent sessions against a local game server over HTTP and reports throughput and move latency.
+ * Default run is sized for the unit test suite, full load test is
+ * {@code mvn test -Dtest=GameServerLoadTest -Dload.sessions=10000 -Dload.clients=256}.
+ */
+@Slf4j
+public class GameServerLoadTest {
+
+    private static final Pattern ID = Pattern.compile("\"id\":\"([^\"]+)\"");
+
+    private static final Pattern STATUS = Pattern.compile("\"status\":\"([A-Z_]+)\"");
+
+    private static final Pattern BOARD = Pattern.compile("\"board\":\\[([^\\]]*)\\]");
+
+    private GameSessionService sessionService;
+
+    private GameServer server;
+
+    @Before
+    public void setUp() throws Exception {
+        BoardService boardService = new BoardService();
+        sessionService = new GameSessionService(boardService, new GameService(boardService));
+        server = new GameServer(sessionService, 0, 0);
+        server.setDefaultStrategy(SimulationStrategy.ALPHA_BETA);
+        server.start();
+    }
+
+    @After
+    public void tearDown() {
+        server.stop();
+    }
+
+    @Test
+    public void test_concurrent_sessions() throws Exception {
+        int sessions = Integer.getInteger("load.sessions", 200);
+        int clients = Integer.getInteger("load.clients", 16);
+        String baseUrl = "http://localhost:" + server.getPort() + "/sessions";
+
+        //Every session is created first, so all of them are alive while moves are played
+        List<String> ids = new ArrayList<>(sessions);
+        for (int i = 0; i < sessions; i++) {
+            ids.add(find(ID, request("POST", baseUrl + "?size=3&players=HUMAN,AI", 201)));
+        }
+        Assert.assertEquals("Every session should be alive", sessions, sessionService.getSessionCount());
+
+        ExecutorService executor = Executors.newFixedThreadPool(clients);
+        List<Future<LatencyHistogram>> futures = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int c = 0; c < clients; c++) {
+            int client = c;
+            futures.add(executor.submit(() -> playSessions(baseUrl, ids, client, clients)));
+        }
+
+        LatencyHistogram latencies = new LatencyHistogram();
+        for (Future<LatencyHistogram> future : futures) {
+            latencies.merge(future.get());
+        }
+        long elapsedNanos = System.nanoTime() - start;
+        executor.shutdown();
+
+        log.info("[LOAD_TEST] [SESSIONS={}] [CLIENTS={}] [MOVES={}] [MOVES_PER_SEC={}] [P50_US={}] [P99_US={}] [MAX_US={}]",
+                sessions, clients, latencies.getCount(), latencies.getCount() * 1_000_000_000L / elapsedNanos,
+                latencies.getPercentile(50) / 1000, latencies.getPercentile(99) / 1000, latencies.getMax() / 1000);
+
+        for (String id : ids) {
+            Assert.assertNotEquals("Every game should be finished", "IN_PROGRESS", find(STATUS, request("GET", baseUrl + "/" + id, 200)));
+        }
+        String stats = request("GET", "http://localhost:" + server.getPort() + "/stats", 200);
+        log.info("[LOAD_TEST] [STATS={}]", stats);
+        Assert.assertTrue("Repeated positions should be answered from move cache", sessionService.getMoveCache().getHits() > 0);
+
+        request("POST", baseUrl + "/" + ids.get(0) + "/moves?column=0", 400);
+        request("POST", baseUrl + "/" + ids.get(0) + "/moves?row=a&column=0", 400);
+        request("DELETE", baseUrl + "/" + ids.get(0), 204);
+        request("GET", baseUrl + "/" + ids.get(0), 404);
+        request("POST", baseUrl + "?size=11", 400);
+    }
+
+    /**
+     * Plays sessions of given client round robin, a move on every unfinished session per round, until all are over.
+     * Human plays first empty cell, AI replies within the same request.
+     */
+    private LatencyHistogram playSessions(String baseUrl, List<String> ids, int client, int clients) throws IOException {
+        List<String> open = new ArrayList<>();
+        for (int i = client; i < ids.size(); i += clients) {
+            open.add(ids.get(i));
+        }
+
+        LatencyHistogram latencies = new LatencyHistogram();
+        while (!open.isEmpty()) {
+            List<String> next = new ArrayList<>(open.size());
+            for (String id : open) {
+                String board = find(BOARD, request("GET", baseUrl + "/" + id, 200)).replace("\"", "").replace(",", "");
+                int index = board.indexOf('.');
+                int size = (int) Math.round(Math.sqrt(board.length()));
+
+                long start = System.nanoTime();
+                String state = request("POST", baseUrl + "/" + id + "/moves?row=" + index / size + "&column=" + index % size, 200);
+                latencies.record(System.nanoTime() - start);
+
+                if ("IN_PROGRESS".equals(find(STATUS, state))) {
+                    next.add(id);
+                }
+            }
+            open = next;
+        }
+        return latencies;
+    }
+
+    private static String request(String method, String url, int expectedStatus) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+        connection.setRequestMethod(method);
+        int status = connection.getResponseCode();
+        Assert.assertEquals("Unexpected status of " + method + " " + url, expectedStatus, status);
+
+        InputStream input = status < 400 ? connection.getInputStream() : connection.getErrorStream();
+        if (input == null) {
+            return "";
+        }
+        try (InputStream in = input) {
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            byte[] buffer = new byte[1024];
+            for (int n; (n = in.read(buffer)) > 0; ) {
+                output.write(buffer, 0, n);
+            }
+            return new String(output.toByteArray(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static String find(Pattern pattern, String json) {
+        Matcher matcher = pattern.matcher(json);
+        Assert.assertTrue("Unexpected response " + json, matcher.find());
+        return matcher.group(1);
+    }
+}
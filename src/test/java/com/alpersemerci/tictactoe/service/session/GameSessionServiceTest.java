@@ -0,0 +1,189 @@
+package com.alpersemerci.tictactoe.service.session;
+
+import com.alpersemerci.tictactoe.exception.InvalidMoveException;
+import com.alpersemerci.tictactoe.exception.SessionNotFoundException;
+import com.alpersemerci.tictactoe.model.Cell;
+import com.alpersemerci.tictactoe.model.Game;
+import com.alpersemerci.tictactoe.model.PlayerType;
+import com.alpersemerci.tictactoe.service.game.BoardService;
+import com.alpersemerci.tictactoe.service.game.GameService;
+import com.alpersemerci.tictactoe.service.heuristics.CachingHeuristicStrategy;
+import com.alpersemerci.tictactoe.service.simulation.SimulationStrategy;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+@Slf4j
+public class GameSessionServiceTest {
+
+    private BoardService boardService;
+
+    private GameService gameService;
+
+    private GameSessionService sessionService;
+
+    @Before
+    public void setUp() {
+        boardService = new BoardService();
+        gameService = new GameService(boardService);
+        sessionService = new GameSessionService(boardService, gameService);
+    }
+
+    @Test
+    public void test_ai_replies_to_human_move() throws Exception {
+        GameSession session = sessionService.createSession(3, 3, Arrays.asList(PlayerType.HUMAN, PlayerType.AI), SimulationStrategy.ALPHA_BETA);
+        Game game = session.getGame();
+        Assert.assertEquals("Human moves first", 0, (int) game.getCurrentTurn());
+
+        sessionService.play(session.getId(), new Cell(1, 1));
+
+        Assert.assertEquals("AI should reply in the same call", 2, (int) game.getCurrentTurn());
+        Assert.assertEquals("Human should be next", PlayerType.HUMAN, gameService.getCurrentPlayer(game).getType());
+    }
+
+    @Test
+    public void test_ai_moves_first_on_creation() throws Exception {
+        GameSession session = sessionService.createSession(4, 3, Arrays.asList(PlayerType.AI, PlayerType.AI, PlayerType.HUMAN), SimulationStrategy.STAY_CLOSE_TO_CENTER);
+
+        Assert.assertEquals("Both AI players should move before human", 2, (int) session.getGame().getCurrentTurn());
+    }
+
+    @Test
+    public void test_ai_only_session_is_played_to_the_end() throws Exception {
+        GameSession session = sessionService.createSession(3, 3, Arrays.asList(PlayerType.AI, PlayerType.AI), SimulationStrategy.ALPHA_BETA);
+
+        Assert.assertTrue("Game should be over", gameService.isGameOver(session.getGame()));
+        Assert.assertTrue("Perfect play should be a draw", gameService.isDraw(session.getGame()));
+    }
+
+    @Test(expected = InvalidMoveException.class)
+    public void test_play_occupied_cell() throws Exception {
+        GameSession session = sessionService.createSession(3, 3, Arrays.asList(PlayerType.HUMAN, PlayerType.HUMAN), SimulationStrategy.RANDOM);
+        sessionService.play(session.getId(), new Cell(0, 0));
+        sessionService.play(session.getId(), new Cell(0, 0));
+    }
+
+    @Test(expected = SessionNotFoundException.class)
+    public void test_removed_session_is_not_found() throws Exception {
+        GameSession session = sessionService.createSession(3, 3, Arrays.asList(PlayerType.HUMAN, PlayerType.AI), SimulationStrategy.RANDOM);
+        Assert.assertTrue("Session should be removed", sessionService.removeSession(session.getId()));
+        sessionService.getSession(session.getId());
+    }
+
+    @Test
+    public void test_removeIdleSessions() throws Exception {
+        sessionService.createSession(3, 3, Arrays.asList(PlayerType.HUMAN, PlayerType.AI), SimulationStrategy.RANDOM);
+        Thread.sleep(20);
+        GameSession active = sessionService.createSession(3, 3, Arrays.asList(PlayerType.HUMAN, PlayerType.AI), SimulationStrategy.RANDOM);
+
+        Assert.assertEquals("Only idle session should be removed", 1, sessionService.removeIdleSessions(10));
+        Assert.assertEquals("Active session should stay", active, sessionService.getSession(active.getId()));
+    }
+
+    @Test
+    public void test_concurrent_moves_on_same_session_are_serialized() throws Exception {
+        GameSession session = sessionService.createSession(10, 5, Arrays.asList(PlayerType.HUMAN, PlayerType.HUMAN), SimulationStrategy.RANDOM);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        List<Future<Boolean>> futures = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            Cell cell = new Cell(i / 10, i % 10);
+            //Every cell is played twice concurrently, exactly one of them must succeed
+            for (int attempt = 0; attempt < 2; attempt++) {
+                futures.add(executor.submit(() -> {
+                    try {
+                        sessionService.play(session.getId(), cell);
+                        return true;
+                    } catch (InvalidMoveException e) {
+                        return false;
+                    }
+                }));
+            }
+        }
+
+        int played = 0;
+        for (Future<Boolean> future : futures) {
+            played += future.get() ? 1 : 0;
+        }
+        executor.shutdown();
+
+        Game game = session.getGame();
+        Assert.assertEquals("Every successful move should be counted once", played, (int) game.getCurrentTurn());
+        Assert.assertEquals("Board should agree with turn count", 100 - played, game.getBoard().getEmptyCells());
+        Assert.assertTrue("Game should be over", gameService.isGameOver(game));
+    }
+
+    @Test
+    public void test_ai_moves_are_bounded_by_request_timeout() throws Exception {
+        sessionService.setAiRequestTimeoutMillis(200);
+
+        long start = System.currentTimeMillis();
+        GameSession session = sessionService.createSession(10, 5, Arrays.asList(PlayerType.AI, PlayerType.AI), SimulationStrategy.ALPHA_BETA);
+        long elapsed = System.currentTimeMillis() - start;
+        log.info("[GAME_SESSION] [AI_ONLY_10x10] [TURNS={}] [ELAPSED_MS={}]", session.getGame().getCurrentTurn(), elapsed);
+
+        Assert.assertTrue("AI only game should be played to the end", gameService.isGameOver(session.getGame()));
+        //Every move may use a second without a request timeout
+        Assert.assertTrue("Moves after deadline should be played at once", elapsed < 10_000);
+    }
+
+    @Test
+    public void test_removing_session_cancels_ai_search() throws Exception {
+        GameSession session = sessionService.createSession(10, 5, Arrays.asList(PlayerType.HUMAN, PlayerType.AI), SimulationStrategy.ALPHA_BETA);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        long start = System.currentTimeMillis();
+        Future<GameSession> request = executor.submit(() -> sessionService.play(session.getId(), new Cell(4, 4)));
+        Thread.sleep(100);
+        Assert.assertTrue("Session should be removed", sessionService.removeSession(session.getId()));
+        request.get();
+        long elapsed = System.currentTimeMillis() - start;
+        executor.shutdown();
+
+        //Time budget of a move is a second in test configuration
+        Assert.assertTrue("Request should return before time budget of AI move ends", elapsed < 1000);
+        Assert.assertEquals("AI should still reply", 2, (int) session.getGame().getCurrentTurn());
+    }
+
+    @Test
+    public void test_sessions_of_different_win_lengths_share_strategy_safely() throws Exception {
+        GameSessionService service = new GameSessionService(boardService, gameService, 0);
+        int[] moves = {2, 6, 4, 3, 5, 11, 0, 15};
+        List<PlayerType> humans = Arrays.asList(PlayerType.HUMAN, PlayerType.HUMAN);
+
+        //Same stones are searched with k=3 first, a k=4 search on shared strategy mustn't reuse its table entries
+        GameSession threeInRow = service.createSession(4, 3, humans, SimulationStrategy.ALPHA_BETA);
+        GameSession fourInRow = service.createSession(4, 4, humans, SimulationStrategy.ALPHA_BETA);
+        for (int move : moves) {
+            service.play(threeInRow.getId(), new Cell(move / 4, move % 4));
+            service.play(fourInRow.getId(), new Cell(move / 4, move % 4));
+        }
+        Assert.assertTrue("Sessions should share strategy", threeInRow.getStrategy() == fourInRow.getStrategy());
+
+        threeInRow.getStrategy().getMoveIndex(threeInRow.getGame());
+        int move = fourInRow.getStrategy().getMoveIndex(fourInRow.getGame());
+        int freshMove = SimulationStrategy.ALPHA_BETA.create(boardService, gameService).getMoveIndex(fourInRow.getGame());
+
+        Assert.assertEquals("Shared strategy should play like a fresh one", freshMove, move);
+    }
+
+    @Test
+    public void test_only_deterministic_strategies_are_cached() throws Exception {
+        List<PlayerType> humans = Arrays.asList(PlayerType.HUMAN, PlayerType.HUMAN);
+
+        Assert.assertTrue("Alpha beta should be cached", sessionService.createSession(3, 3, humans, SimulationStrategy.ALPHA_BETA)
+                .getStrategy() instanceof CachingHeuristicStrategy);
+        Assert.assertFalse("Monte Carlo shouldn't be cached", sessionService.createSession(3, 3, humans, SimulationStrategy.MONTE_CARLO)
+                .getStrategy() instanceof CachingHeuristicStrategy);
+        Assert.assertFalse("Random shouldn't be cached", sessionService.createSession(3, 3, humans, SimulationStrategy.RANDOM)
+                .getStrategy() instanceof CachingHeuristicStrategy);
+    }
+}
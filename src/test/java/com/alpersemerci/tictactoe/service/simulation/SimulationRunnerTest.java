@@ -0,0 +1,72 @@
+package com.alpersemerci.tictactoe.service.simulation;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+@Slf4j
+public class SimulationRunnerTest {
+
+    @Test
+    public void test_run_counts_every_game() throws Exception {
+        SimulationRunner runner = new SimulationRunner(4);
+        List<SimulationScenario> scenarios = SimulationRunner.createScenarios(Arrays.asList(3, 4),
+                Arrays.asList(Arrays.asList(SimulationStrategy.RANDOM, SimulationStrategy.RANDOM),
+                        Arrays.asList(SimulationStrategy.RANDOM, SimulationStrategy.STAY_CLOSE_TO_CENTER, SimulationStrategy.RANDOM)),
+                1000);
+        List<SimulationResult> streamed = Collections.synchronizedList(new ArrayList<>());
+
+        List<SimulationResult> results = runner.run(scenarios, streamed::add);
+
+        Assert.assertEquals("One result per scenario", scenarios.size(), results.size());
+        Assert.assertEquals("Every result is streamed", scenarios.size(), streamed.size());
+        for (int i = 0; i < results.size(); i++) {
+            SimulationResult result = results.get(i);
+            log.info(result.toString());
+
+            Assert.assertEquals("Results are in scenario order", scenarios.get(i), result.getScenario());
+            Assert.assertEquals("Every game is played", 1000L, result.getGames());
+
+            long wins = 0;
+            for (int j = 0; j < result.getScenario().getLineup().size(); j++) {
+                wins += result.getWins(j);
+            }
+            Assert.assertEquals("Every game is won or drawn", result.getGames(), wins + result.getDraws());
+            Assert.assertEquals("Every move is timed", result.getMoves(), result.getLatencies().getCount());
+
+            LatencyHistogram latencies = result.getLatencies();
+            Assert.assertTrue("Percentiles are ordered", latencies.getPercentile(50) <= latencies.getPercentile(99));
+            Assert.assertTrue("Percentiles do not exceed max", latencies.getPercentile(99) <= latencies.getMax());
+        }
+    }
+
+    @Test
+    public void test_alpha_beta_never_loses_3x3() throws Exception {
+        SimulationScenario scenario = new SimulationScenario(3,
+                Arrays.asList(SimulationStrategy.ALPHA_BETA, SimulationStrategy.RANDOM), 100);
+
+        SimulationResult result = new SimulationRunner(2).run(Collections.singletonList(scenario), r -> { }).get(0);
+        log.info(result.toString());
+
+        Assert.assertEquals("Alpha beta does not lose", 0L, result.getWins(1));
+        Assert.assertTrue("Alpha beta wins against random", result.getWins(0) > 0);
+    }
+
+    @Test
+    public void test_latency_histogram_buckets() {
+        for (long value = 0; value < 1_000_000L; value = value * 3 / 2 + 1) {
+            int bucket = LatencyHistogram.bucketOf(value);
+            Assert.assertTrue("Value is within its bucket " + value, value <= LatencyHistogram.upperBoundOf(bucket));
+            Assert.assertTrue("Bucket error is bounded " + value, LatencyHistogram.upperBoundOf(bucket) <= value + value / 16 + 1);
+            if (bucket > 0) {
+                Assert.assertTrue("Value is above previous bucket " + value, value > LatencyHistogram.upperBoundOf(bucket - 1));
+            }
+        }
+        Assert.assertTrue("Long values fit", LatencyHistogram.bucketOf(Long.MAX_VALUE) < 32 + 58 * 16);
+    }
+}